@@ -0,0 +1,182 @@
+package io.github.anego.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * NumberUtilsの整数パースのベンチマーク.<br>
+ * IDや金額のような12～19桁の数字列を、従来の実装(NFKC正規化、isCreatable、Long.parseLong)と比較する.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumberUtilsBenchmark {
+
+    /** 1回の計測で変換する件数. */
+    private static final int SIZE = 1024;
+
+    /** 数字列の桁数. */
+    @Param({"12", "16", "19"})
+    public int digits;
+
+    /** 対象文字列. */
+    private String[] strings;
+
+    /** 対象文字配列. */
+    private char[][] chars;
+
+    /** 対象バイト配列(UTF-8). */
+    private byte[][] bytes;
+
+    /** 対象バッファ(ダイレクト). */
+    private ByteBuffer[] buffers;
+
+    /**
+     * 対象の数字列を作る.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(this.digits);
+        this.strings = new String[SIZE];
+        this.chars = new char[SIZE][];
+        this.bytes = new byte[SIZE][];
+        this.buffers = new ByteBuffer[SIZE];
+        for (int index = 0; index < SIZE; index++) {
+            StringBuilder builder = new StringBuilder();
+            // 19桁でもlongに収まるように先頭は1～8
+            builder.append((char) ('1' + random.nextInt(8)));
+            for (int count = 1; count < this.digits; count++) {
+                builder.append((char) ('0' + random.nextInt(10)));
+            }
+            this.strings[index] = builder.toString();
+            this.chars[index] = this.strings[index].toCharArray();
+            this.bytes[index] = this.strings[index].getBytes(StandardCharsets.UTF_8);
+            this.buffers[index] = ByteBuffer.allocateDirect(this.bytes[index].length);
+            this.buffers[index].put(this.bytes[index]).flip();
+        }
+    }
+
+    /**
+     * 従来の{@link NumberUtils#toLong(String)}.
+     *
+     * @return 合計
+     */
+    @Benchmark
+    public long legacyToLong() {
+        long sum = 0;
+        for (String val : this.strings) {
+            sum += legacyToLong(val).longValue();
+        }
+        return sum;
+    }
+
+    /**
+     * 比較用の{@link Long#parseLong(String)}.
+     *
+     * @return 合計
+     */
+    @Benchmark
+    public long parseLong() {
+        long sum = 0;
+        for (String val : this.strings) {
+            sum += Long.parseLong(val);
+        }
+        return sum;
+    }
+
+    /**
+     * {@link NumberUtils#toLong(String)}.
+     *
+     * @return 合計
+     */
+    @Benchmark
+    public long toLongString() {
+        long sum = 0;
+        for (String val : this.strings) {
+            sum += NumberUtils.toLong(val).longValue();
+        }
+        return sum;
+    }
+
+    /**
+     * {@link NumberUtils#toLong(char[], int, int)}.
+     *
+     * @return 合計
+     */
+    @Benchmark
+    public long toLongCharArray() {
+        long sum = 0;
+        for (char[] val : this.chars) {
+            sum += NumberUtils.toLong(val, 0, val.length).longValue();
+        }
+        return sum;
+    }
+
+    /**
+     * {@link NumberUtils#toLong(byte[], int, int)}.
+     *
+     * @return 合計
+     */
+    @Benchmark
+    public long toLongByteArray() {
+        long sum = 0;
+        for (byte[] val : this.bytes) {
+            sum += NumberUtils.toLong(val, 0, val.length).longValue();
+        }
+        return sum;
+    }
+
+    /**
+     * {@link NumberUtils#toLong(ByteBuffer)}.
+     *
+     * @return 合計
+     */
+    @Benchmark
+    public long toLongByteBuffer() {
+        long sum = 0;
+        for (ByteBuffer val : this.buffers) {
+            sum += NumberUtils.toLong(val).longValue();
+        }
+        return sum;
+    }
+
+    /**
+     * 高速パスを入れる前の{@link NumberUtils#toLong(String)}と同じ処理.
+     *
+     * @param val 対象文字列
+     * @return 変換後
+     */
+    private static Long legacyToLong(final String val) {
+
+        if (StringUtils.isBlank(val)) {
+            return null;
+        }
+
+        String str = Normalizer.normalize(val, Normalizer.Form.NFKC);
+
+        if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(Long.parseLong(str));
+        } catch (@SuppressWarnings("unused") NumberFormatException exc) {
+            return Long.valueOf(0);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.anego.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 桁数の多い10進数文字列のBigInteger、BigDecimalへの変換.<br>
+ * {@link BigInteger#BigInteger(String)}は9桁ずつ掛け算を繰り返すので、桁数の2乗に比例する時間がかかる.
+ * ここでは文字列を下位側が10^(LEAF*2^k)桁になるように二分割して再帰的に変換し、上位×10の累乗＋下位で結合する.
+ * 10の累乗は2乗で作り、BigIntegerの大きな数の乗算(Karatsuba、Toom-Cook)が効くので2乗より速く変換できる.<br>
+ * {@link #THRESHOLD}文字以下の場合と、符号、数字、小数点、指数以外を含む場合は標準のコンストラクタで変換する.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+final class BigNumberParser {
+
+    /** これより長い文字列を分割して変換する. */
+    static final int THRESHOLD = 1024;
+
+    /** 分割の末端の桁数. */
+    private static final int LEAF = 256;
+
+    private BigNumberParser() {}
+
+    /**
+     * 10進数の文字列をBigDecimalに変換する.<br>
+     * {@link BigDecimal#BigDecimal(String)}と同じ結果で、変換できない場合は同じく
+     * {@link NumberFormatException}が発生する.
+     *
+     * @param val 対象文字列
+     * @return 変換後数値
+     */
+    static BigDecimal parseBigDecimal(final String val) {
+
+        int length = val.length();
+        if (length <= THRESHOLD) {
+            return new BigDecimal(val);
+        }
+
+        int index = 0;
+        char ch = val.charAt(0);
+        boolean negative = ch == '-';
+        if (ch == '-' || ch == '+') {
+            index++;
+        }
+
+        // 整数部と小数部の数字を詰める
+        char[] digits = new char[length];
+        int count = 0;
+        int point = -1;
+        for (; index < length; index++) {
+            ch = val.charAt(index);
+            if (ch >= '0' && ch <= '9') {
+                digits[count++] = ch;
+            } else if (ch == '.' && point < 0) {
+                point = count;
+            } else {
+                break;
+            }
+        }
+
+        long scale = point < 0 ? 0 : count - point;
+        if (index < length) {
+            ch = val.charAt(index);
+            if (ch != 'e' && ch != 'E') {
+                return new BigDecimal(val);
+            }
+            long exponent = parseExponent(val, index + 1, length);
+            if (exponent == Long.MIN_VALUE) {
+                return new BigDecimal(val);
+            }
+            scale -= exponent;
+        }
+
+        if (count == 0 || scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+            return new BigDecimal(val);
+        }
+
+        BigInteger unscaled = parse(digits, 0, count);
+        return new BigDecimal(negative ? unscaled.negate() : unscaled, (int) scale);
+    }
+
+    /**
+     * 指数部を変換する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 指数、不正な場合やintに収まらない場合はLong.MIN_VALUE
+     */
+    private static long parseExponent(final String val, final int start, final int end) {
+
+        int index = start;
+        boolean negative = false;
+        if (index < end && (val.charAt(index) == '-' || val.charAt(index) == '+')) {
+            negative = val.charAt(index) == '-';
+            index++;
+        }
+        if (index == end) {
+            return Long.MIN_VALUE;
+        }
+
+        long exponent = 0;
+        for (; index < end; index++) {
+            char ch = val.charAt(index);
+            if (ch < '0' || ch > '9') {
+                return Long.MIN_VALUE;
+            }
+            exponent = exponent * 10 + (ch - '0');
+            if (exponent > Integer.MAX_VALUE) {
+                return Long.MIN_VALUE;
+            }
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    /**
+     * 数字だけの文字配列を分割して変換する.
+     *
+     * @param digits 数字の配列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後数値
+     */
+    private static BigInteger parse(final char[] digits, final int start, final int end) {
+
+        // 下位を10^(LEAF*2^k)桁ずつに分けるので、必要な10の累乗を先に作る
+        int levels = 0;
+        while ((long) LEAF << levels < end - start) {
+            levels++;
+        }
+        BigInteger[] powers = new BigInteger[Math.max(levels, 1)];
+        powers[0] = BigInteger.TEN.pow(LEAF);
+        for (int level = 1; level < levels; level++) {
+            powers[level] = powers[level - 1].multiply(powers[level - 1]);
+        }
+
+        return parse(digits, start, end, levels, powers);
+    }
+
+    /**
+     * LEAF*2^level桁以下の数字を変換する.
+     *
+     * @param digits 数字の配列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @param level 分割の段
+     * @param powers 10^(LEAF*2^k)
+     * @return 変換後数値
+     */
+    private static BigInteger parse(final char[] digits, final int start, final int end,
+            final int level, final BigInteger[] powers) {
+
+        if (end - start <= LEAF) {
+            return new BigInteger(new String(digits, start, end - start));
+        }
+
+        int low = LEAF << (level - 1);
+        if (end - start <= low) {
+            return parse(digits, start, end, level - 1, powers);
+        }
+
+        BigInteger high = parse(digits, start, end - low, level - 1, powers);
+        BigInteger result = parse(digits, end - low, end, level - 1, powers);
+        return high.multiply(powers[level - 1]).add(result);
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.anego.utils;
+
+/**
+ * NumberUtilsが返すShort、Integer、Longのキャッシュ.<br>
+ * JDKのvalueOfは-128～127しかキャッシュしないので、コード値のような小さい数値を大量に保持すると
+ * 同じ値のインスタンスが量産される.ここでは-128～上限までを起動時に作っておき、同じインスタンスを返す.<br>
+ * 上限はシステムプロパティ{@value #HIGH_PROPERTY}で指定する(既定値{@value #DEFAULT_HIGH}、127未満は127).
+ * 配列は型ごとに最初に使われたときに作る.-128～127はvalueOfのインスタンスをそのまま使うので、
+ * valueOfで作ったインスタンスとも同一になる.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+final class BoxCache {
+
+    /** キャッシュの上限を指定するシステムプロパティ. */
+    static final String HIGH_PROPERTY = "io.github.anego.utils.NumberUtils.cacheHigh";
+
+    /** キャッシュの上限の既定値. */
+    static final int DEFAULT_HIGH = 1023;
+
+    /** キャッシュの下限. */
+    static final int LOW = -128;
+
+    /** キャッシュの上限. */
+    static final int HIGH = high();
+
+    private BoxCache() {}
+
+    /**
+     * Shortを返す.
+     *
+     * @param val 対象値
+     * @return キャッシュ範囲内ならキャッシュしたインスタンス
+     */
+    static Short shortOf(final short val) {
+        if (val >= LOW && val <= ShortHolder.HIGH) {
+            return ShortHolder.CACHE[val - LOW];
+        }
+        return Short.valueOf(val);
+    }
+
+    /**
+     * Integerを返す.
+     *
+     * @param val 対象値
+     * @return キャッシュ範囲内ならキャッシュしたインスタンス
+     */
+    static Integer integerOf(final int val) {
+        if (val >= LOW && val <= HIGH) {
+            return IntegerHolder.CACHE[val - LOW];
+        }
+        return Integer.valueOf(val);
+    }
+
+    /**
+     * Longを返す.
+     *
+     * @param val 対象値
+     * @return キャッシュ範囲内ならキャッシュしたインスタンス
+     */
+    static Long longOf(final long val) {
+        if (val >= LOW && val <= HIGH) {
+            return LongHolder.CACHE[(int) val - LOW];
+        }
+        return Long.valueOf(val);
+    }
+
+    /**
+     * キャッシュ範囲内ならキャッシュしたインスタンスに置き換える.
+     *
+     * @param val 対象値
+     * @return 置き換え後(NULLはNULL)
+     */
+    static Short canonical(final Short val) {
+        return val == null ? null : shortOf(val.shortValue());
+    }
+
+    /**
+     * キャッシュ範囲内ならキャッシュしたインスタンスに置き換える.
+     *
+     * @param val 対象値
+     * @return 置き換え後(NULLはNULL)
+     */
+    static Integer canonical(final Integer val) {
+        return val == null ? null : integerOf(val.intValue());
+    }
+
+    /**
+     * キャッシュ範囲内ならキャッシュしたインスタンスに置き換える.
+     *
+     * @param val 対象値
+     * @return 置き換え後(NULLはNULL)
+     */
+    static Long canonical(final Long val) {
+        return val == null ? null : longOf(val.longValue());
+    }
+
+    /**
+     * システムプロパティから上限を決める.
+     *
+     * @return 上限
+     */
+    private static int high() {
+        int high = DEFAULT_HIGH;
+        try {
+            high = Integer.getInteger(HIGH_PROPERTY, DEFAULT_HIGH).intValue();
+        } catch (@SuppressWarnings("unused") SecurityException exc) {
+            // 読めない場合は既定値
+        }
+        // 配列の長さがintに収まるように
+        return Math.min(Math.max(high, 127), Integer.MAX_VALUE + LOW - 1);
+    }
+
+    /** Shortのキャッシュ. */
+    private static final class ShortHolder {
+
+        /** Shortの上限. */
+        static final int HIGH = Math.min(BoxCache.HIGH, Short.MAX_VALUE);
+
+        /** キャッシュ. */
+        static final Short[] CACHE = new Short[HIGH - LOW + 1];
+
+        static {
+            for (int index = 0; index < CACHE.length; index++) {
+                CACHE[index] = Short.valueOf((short) (index + LOW));
+            }
+        }
+    }
+
+    /** Integerのキャッシュ. */
+    private static final class IntegerHolder {
+
+        /** キャッシュ. */
+        static final Integer[] CACHE = new Integer[HIGH - LOW + 1];
+
+        static {
+            for (int index = 0; index < CACHE.length; index++) {
+                CACHE[index] = Integer.valueOf(index + LOW);
+            }
+        }
+    }
+
+    /** Longのキャッシュ. */
+    private static final class LongHolder {
+
+        /** キャッシュ. */
+        static final Long[] CACHE = new Long[HIGH - LOW + 1];
+
+        static {
+            for (int index = 0; index < CACHE.length; index++) {
+                CACHE[index] = Long.valueOf(index + LOW);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.anego.utils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * 複数の日時パターンから文字列に合うものを選んで変換する.<br>
+ * パターンを指定順に試し、最初に変換できた結果を返す(パターンを1つずつ試すのと同じ結果).
+ * 固定長のパターン({@link DatePattern#isFixedLayout()})は文字数ごとに振り分けておき、
+ * 文字列の長さと記号の位置から変換できないと分かるものは試さないので、
+ * パターンを1つずつ例外で判定する必要はない.<br>
+ * インスタンスはスレッドセーフ.
+ *
+ * <pre>
+ * DateFormats formats = DateFormats.of("yyyyMMdd", "yyyy/MM/dd HH:mm:ss", "yyyy-M-d");
+ * formats.tryParse("2024/02/29 12:34:56") = 2024-02-29T12:34:56
+ * formats.tryParse("2024-2-9")            = 2024-02-09T00:00
+ * formats.tryParse("02/29/2024")          = null
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class DateFormats {
+
+    /** 空のパターン配列. */
+    private static final DatePattern[] NONE = new DatePattern[0];
+
+    /** パターン文字列(指定順). */
+    private final List<String> patterns;
+
+    /** 全てのパターン(指定順、固定長のパターンの最大文字数より長い文字列で試す). */
+    private final DatePattern[] all;
+
+    /** 文字数ごとの、その文字数で変換できる可能性があるパターン(指定順). */
+    private final DatePattern[][] byLength;
+
+    /**
+     * パターンを振り分ける.
+     *
+     * @param patterns コンパイル済みのパターン
+     */
+    private DateFormats(final DatePattern[] patterns) {
+        List<String> names = new ArrayList<>(patterns.length);
+        int max = -1;
+        for (DatePattern pattern : patterns) {
+            names.add(pattern.getPattern());
+            max = Math.max(max, pattern.fixedLength());
+        }
+
+        DatePattern[][] table = new DatePattern[max + 1][];
+        for (int length = 0; length <= max; length++) {
+            List<DatePattern> candidates = new ArrayList<>(patterns.length);
+            for (DatePattern pattern : patterns) {
+                if (pattern.mayMatchLength(length)) {
+                    candidates.add(pattern);
+                }
+            }
+            table[length] = candidates.toArray(NONE);
+        }
+
+        this.patterns = Collections.unmodifiableList(names);
+        this.all = patterns.clone();
+        this.byLength = table;
+    }
+
+    /**
+     * パターン文字列をまとめる.<br>
+     * 各パターンは{@link DatePattern#of(String)}でコンパイルする.
+     *
+     * @param patterns パターン文字列({@link DatePattern#of(String)}と同じ形式)
+     * @return 複数パターン
+     * @throws IllegalArgumentException パターンがない場合、パターン文字列が不正な場合
+     */
+    public static DateFormats of(final String... patterns) {
+        if (patterns.length == 0) {
+            throw new IllegalArgumentException("パターンがない");
+        }
+        DatePattern[] compiled = new DatePattern[patterns.length];
+        for (int index = 0; index < patterns.length; index++) {
+            compiled[index] = DatePattern.of(patterns[index]);
+        }
+        return new DateFormats(compiled);
+    }
+
+    /**
+     * パターン文字列を取得する.
+     *
+     * @return パターン文字列(指定順、変更不可)
+     */
+    public List<String> getPatterns() {
+        return this.patterns;
+    }
+
+    /**
+     * 文字列をLocalDateTimeに変換する.<br>
+     * 時刻を含まないパターンはその日の0時とする.
+     *
+     * @param val 対象文字列
+     * @return 変換後日時、NULLまたはどのパターンでも変換できない場合はNULL
+     */
+    public LocalDateTime tryParse(@Nullable final CharSequence val) {
+        if (val == null) {
+            return null;
+        }
+
+        int length = val.length();
+        DatePattern[] candidates = length < this.byLength.length ? this.byLength[length] : this.all;
+        for (DatePattern pattern : candidates) {
+            if (pattern.mayMatch(val)) {
+                LocalDateTime result = pattern.tryParse(val);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 文字列をLocalDateTimeに変換する.<br>
+     * {@link #tryParse(CharSequence)}と同じだが、変換できない場合は例外が発生する.
+     *
+     * @param val 対象文字列
+     * @return 変換後日時
+     * @throws DateTimeParseException どのパターンでも変換できない場合
+     */
+    public LocalDateTime parse(final CharSequence val) {
+        Objects.requireNonNull(val, "text");
+
+        LocalDateTime result = tryParse(val);
+        if (result == null) {
+            throw new DateTimeParseException(
+                    "Text '" + val + "' could not be parsed with " + this.patterns, val, 0);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DateFormats " + this.patterns;
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.anego.utils;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * 日時文字列の高速パース処理.<br>
+ * ISO-8601の日時(yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]])を文字の位置で直接切り出して変換し、
+ * {@link DateTimeFormatter}の解析結果のオブジェクトを作らない.<br>
+ * 年が4桁でない場合、値が範囲外の場合などは高速パスで扱わず、
+ * {@link LocalDateTime#parse(CharSequence)}に任せるので、結果と例外はJDKと同じになる.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+final class DateParser {
+
+    /** 年、月、日、時、分、秒、ナノ秒の配列の要素数. */
+    static final int FIELD_COUNT = 7;
+
+    /** 1日の秒数. */
+    static final long SECONDS_PER_DAY = 86400L;
+
+    /** 0000-03-01から1970-01-01までの日数. */
+    private static final long DAYS_0000_TO_1970 = 719468L;
+
+    /** 小数部の桁数ごとのナノ秒への倍率. */
+    private static final int[] NANO_SCALES =
+            {1_000_000_000, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100,
+                    10, 1};
+
+    private DateParser() {}
+
+    /**
+     * ISO-8601の日時文字列をLocalDateTimeに変換する.<br>
+     * {@link LocalDateTime#parse(CharSequence)}と同じ結果で、変換できない場合は同じ例外が発生する.
+     *
+     * @param val 対象文字列
+     * @return 変換後日時
+     * @throws java.time.format.DateTimeParseException 変換できない場合
+     */
+    static LocalDateTime parseLocalDateTime(final CharSequence val) {
+        if (val != null) {
+            LocalDateTime result = parseIso(val);
+            if (result != null) {
+                return result;
+            }
+        }
+        return LocalDateTime.parse(val);
+    }
+
+    /**
+     * ISO-8601の日時文字列をLocalDateTimeに変換する.<br>
+     * {@link #parseLocalDateTime(CharSequence)}と同じだが、変換できない場合は例外ではなくNULLを返す.
+     *
+     * @param val 対象文字列
+     * @return 変換後日時、変換できない場合はNULL
+     */
+    static LocalDateTime tryParseLocalDateTime(final CharSequence val) {
+        if (val == null) {
+            return null;
+        }
+        LocalDateTime result = parseIso(val);
+        if (result != null) {
+            return result;
+        }
+        TemporalAccessor parsed = tryParse(DateTimeFormatter.ISO_LOCAL_DATE_TIME, val);
+        return parsed == null ? null : LocalDateTime.from(parsed);
+    }
+
+    /**
+     * フォーマッタで文字列を解析する.<br>
+     * 書式が合わない場合は{@link DateTimeFormatter#parseUnresolved(CharSequence, ParsePosition)}で
+     * 判定するので、{@link java.time.format.DateTimeParseException}を作らない.
+     * 値が範囲外の場合だけ例外を捕捉する.
+     *
+     * @param formatter フォーマッタ
+     * @param val 対象文字列
+     * @return 解析結果、変換できない場合はNULL
+     */
+    static TemporalAccessor tryParse(final DateTimeFormatter formatter, final CharSequence val) {
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(val, position) == null
+                || position.getIndex() != val.length()) {
+            return null;
+        }
+        try {
+            return formatter.parse(val);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm[:ss[.S～SSSSSSSSS]]の文字列を変換する.<br>
+     * 区切りのTは小文字でもよい({@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}と同じ).
+     *
+     * @param val 対象文字列
+     * @return 変換後日時、高速パスで扱えない場合はNULL
+     */
+    static LocalDateTime parseIso(final CharSequence val) {
+        int[] fields = new int[FIELD_COUNT];
+        if (!parseIso(val, fields)) {
+            return null;
+        }
+        return LocalDateTime.of(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5],
+                fields[6]);
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm[:ss[.S～SSSSSSSSS]]の文字列を年、月、日、時、分、秒、ナノ秒に分解する.
+     *
+     * @param val 対象文字列
+     * @param fields 年、月、日、時、分、秒、ナノ秒を設定する配列
+     * @return true:分解できた、false:高速パスで扱えない
+     */
+    static boolean parseIso(final CharSequence val, final int[] fields) {
+
+        int length = val.length();
+        if (length != 16 && length != 19 && (length < 21 || length > 29)) {
+            return false;
+        }
+        if (val.charAt(4) != '-' || val.charAt(7) != '-' || (val.charAt(10) | 0x20) != 't'
+                || val.charAt(13) != ':') {
+            return false;
+        }
+
+        int high = digits(val, 0);
+        int low = digits(val, 2);
+        int month = digits(val, 5);
+        int day = digits(val, 8);
+        int hour = digits(val, 11);
+        int minute = digits(val, 14);
+        if ((high | low | month | day | hour | minute) < 0) {
+            return false;
+        }
+
+        int second = 0;
+        int nano = 0;
+        if (length > 16) {
+            if (val.charAt(16) != ':') {
+                return false;
+            }
+            second = digits(val, 17);
+            if (second < 0) {
+                return false;
+            }
+            if (length > 19) {
+                if (val.charAt(19) != '.') {
+                    return false;
+                }
+                for (int index = 20; index < length; index++) {
+                    int digit = val.charAt(index) - '0';
+                    if (digit < 0 || digit > 9) {
+                        return false;
+                    }
+                    nano = nano * 10 + digit;
+                }
+                nano *= NANO_SCALES[length - 20];
+            }
+        }
+
+        int year = high * 100 + low;
+        if (month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year)) || hour > 23 || minute > 59
+                || second > 59) {
+            return false;
+        }
+
+        fields[0] = year;
+        fields[1] = month;
+        fields[2] = day;
+        fields[3] = hour;
+        fields[4] = minute;
+        fields[5] = second;
+        fields[6] = nano;
+        return true;
+    }
+
+    /**
+     * 日付を1970-01-01からの日数にする({@link java.time.LocalDate#toEpochDay()}と同じ).
+     *
+     * @param year 年
+     * @param month 月
+     * @param day 日
+     * @return エポック日
+     */
+    static long toEpochDay(final int year, final int month, final int day) {
+        // 3月始まりの年にして、うるう日を年の最後に置く
+        long y = month > 2 ? year : year - 1L;
+        long era = Math.floorDiv(y, 400L);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 年、月、日、時、分、秒をUTCとしたエポック秒にする.
+     *
+     * @param fields 年、月、日、時、分、秒、ナノ秒の配列
+     * @return エポック秒
+     */
+    static long toLocalSecond(final int[] fields) {
+        return toEpochDay(fields[0], fields[1], fields[2]) * SECONDS_PER_DAY
+                + fields[3] * 3600 + fields[4] * 60 + fields[5];
+    }
+
+    /**
+     * ASCII数字2桁を変換する.
+     *
+     * @param val 対象文字列
+     * @param index 開始位置
+     * @return 変換後数値、数字でない場合は負数
+     */
+    private static int digits(final CharSequence val, final int index) {
+        int high = val.charAt(index) - '0';
+        int low = val.charAt(index + 1) - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+        return high * 10 + low;
+    }
+}
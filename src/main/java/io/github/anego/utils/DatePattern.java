@@ -0,0 +1,490 @@
+package io.github.anego.utils;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * コンパイル済みの日時パターン.<br>
+ * {@link #of(String)}はパターン文字列ごとにインスタンスをキャッシュするので、
+ * 呼び出しのたびに{@link DateTimeFormatter#ofPattern(String)}を作る必要はない.<br>
+ * yyyyMMddHHmmss、yyyy/MM/dd HH:mm:ss、uuuu-MM-ddのように、年4桁(y、u)、月日時分秒2桁(M、d、H、m、s)、
+ * 小数部(S)と記号だけのパターンは固定長として、文字の位置から直接数字を取り出して変換する.
+ * それ以外のパターンと、固定長のパターンでも長さや値が範囲外の文字列はDateTimeFormatterで変換するので、
+ * 結果と例外はDateTimeFormatterと同じになる.<br>
+ * 時刻を含まないパターンはその日の0時とする.インスタンスはスレッドセーフ.<br>
+ * 変換できない文字列が多い場合は、例外を発生させない{@link #tryParse(CharSequence)}を使う.
+ *
+ * <pre>
+ * LocalDateTime ldt = DatePattern.of("yyyy/MM/dd HH:mm:ss").parse("2024/02/29 12:34:56");
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class DatePattern {
+
+    /** キャッシュする件数の上限(超えた分はキャッシュせずにコンパイルする). */
+    static final int CACHE_LIMIT = 256;
+
+    /** パターン文字列ごとのキャッシュ. */
+    private static final ConcurrentMap<String, DatePattern> CACHE = new ConcurrentHashMap<>();
+
+    /** 年(y、紀元の年). */
+    private static final int YEAR_OF_ERA = 0;
+
+    /** 年(u). */
+    private static final int YEAR = 1;
+
+    /** 月. */
+    private static final int MONTH = 2;
+
+    /** 日. */
+    private static final int DAY = 3;
+
+    /** 時. */
+    private static final int HOUR = 4;
+
+    /** 分. */
+    private static final int MINUTE = 5;
+
+    /** 秒. */
+    private static final int SECOND = 6;
+
+    /** 小数部. */
+    private static final int FRACTION = 7;
+
+    /** 桁数ごとのナノ秒への倍率. */
+    private static final int[] NANO_SCALES =
+            {1_000_000_000, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100,
+                    10, 1};
+
+    /** パターン文字列. */
+    private final String pattern;
+
+    /** 固定長でない場合と、固定長で変換できない場合のフォーマッタ. */
+    private final DateTimeFormatter formatter;
+
+    /** 固定長の場合の記号(数字の位置は0)、固定長でない場合はNULL. */
+    private final char[] layout;
+
+    /** 項目ごとの開始位置、項目がない場合は-1. */
+    private final int[] offsets = new int[FRACTION + 1];
+
+    /** 小数部の桁数. */
+    private final int fractionWidth;
+
+    /**
+     * パターンをコンパイルする.
+     *
+     * @param pattern パターン文字列
+     */
+    private DatePattern(final String pattern) {
+        this.pattern = pattern;
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+        int[] width = new int[1];
+        this.layout = compile(pattern, this.offsets, width);
+        this.fractionWidth = width[0];
+    }
+
+    /**
+     * パターン文字列をコンパイルする.<br>
+     * 同じパターン文字列は{@value #CACHE_LIMIT}件までキャッシュしたインスタンスを返す.
+     *
+     * @param pattern パターン文字列({@link DateTimeFormatter#ofPattern(String)}の形式)
+     * @return コンパイル済みのパターン
+     * @throws IllegalArgumentException パターン文字列が不正な場合
+     */
+    public static DatePattern of(final String pattern) {
+        Objects.requireNonNull(pattern, "pattern");
+
+        DatePattern cached = CACHE.get(pattern);
+        if (cached != null) {
+            return cached;
+        }
+
+        DatePattern compiled = new DatePattern(pattern);
+        if (CACHE.size() < CACHE_LIMIT) {
+            cached = CACHE.putIfAbsent(pattern, compiled);
+        }
+        return cached == null ? compiled : cached;
+    }
+
+    /**
+     * キャッシュしている件数.
+     *
+     * @return 件数
+     */
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    /**
+     * キャッシュをクリアする.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * パターン文字列を取得する.
+     *
+     * @return パターン文字列
+     */
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * パターンのフォーマッタを取得する.
+     *
+     * @return フォーマッタ
+     */
+    public DateTimeFormatter getFormatter() {
+        return this.formatter;
+    }
+
+    /**
+     * 固定長のパターンかどうか.
+     *
+     * @return true:文字の位置から直接変換する
+     */
+    public boolean isFixedLayout() {
+        return this.layout != null;
+    }
+
+    /**
+     * 文字列をLocalDateTimeに変換する.<br>
+     * 時刻を含まないパターンはその日の0時とする.
+     *
+     * @param val 対象文字列
+     * @return 変換後日時
+     * @throws java.time.format.DateTimeParseException 変換できない場合
+     */
+    public LocalDateTime parse(final CharSequence val) {
+        Objects.requireNonNull(val, "text");
+
+        if (this.layout != null) {
+            LocalDateTime result = parseFixed(val);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        return resolve(this.formatter.parse(val));
+    }
+
+    /**
+     * 文字列をLocalDateTimeに変換する.<br>
+     * {@link #parse(CharSequence)}と同じだが、変換できない場合は例外ではなくNULLを返す.
+     * 書式が合わない文字列では{@link java.time.format.DateTimeParseException}を作らないので、
+     * 複数のパターンを順に試す場合にも使える.
+     *
+     * @param val 対象文字列
+     * @return 変換後日時、NULLまたは変換できない場合はNULL
+     */
+    public LocalDateTime tryParse(@Nullable final CharSequence val) {
+        if (val == null) {
+            return null;
+        }
+
+        if (this.layout != null) {
+            LocalDateTime result = parseFixed(val);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        TemporalAccessor parsed = DateParser.tryParse(this.formatter, val);
+        if (parsed == null) {
+            return null;
+        }
+        try {
+            return resolve(parsed);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 固定長のパターンの文字数.
+     *
+     * @return 文字数、固定長でない場合は-1
+     */
+    int fixedLength() {
+        return this.layout == null ? -1 : this.layout.length;
+    }
+
+    /**
+     * 固定長のパターンと長さ、記号、数字の位置が合うかどうか.
+     *
+     * @param val 対象文字列
+     * @return true:合う
+     */
+    boolean matchesLayout(final CharSequence val) {
+        char[] chars = this.layout;
+        if (chars == null || val.length() != chars.length) {
+            return false;
+        }
+        for (int index = 0; index < chars.length; index++) {
+            char ch = val.charAt(index);
+            if (chars[index] == 0 ? ch < '0' || ch > '9' : ch != chars[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 文字数で変換できる可能性があるかどうか.<br>
+     * 固定長のパターンは年以外の項目と記号の幅が決まっていて、年は符号付き(負の年、5桁以上)の場合だけ
+     * 長くなるので、固定長より短い文字列は変換できない.
+     *
+     * @param length 文字数
+     * @return true:変換できる可能性がある(固定長でないパターンは常にtrue)
+     */
+    boolean mayMatchLength(final int length) {
+        return this.layout == null || length >= this.layout.length;
+    }
+
+    /**
+     * DateTimeFormatterでの変換も含めて、変換できる可能性があるかどうか.<br>
+     * 固定長のパターンで配置が合わない文字列は、年の位置に符号がある場合だけ
+     * DateTimeFormatterで変換できる可能性がある.
+     *
+     * @param val 対象文字列
+     * @return true:変換できる可能性がある(固定長でないパターンは常にtrue)
+     */
+    boolean mayMatch(final CharSequence val) {
+        if (this.layout == null || matchesLayout(val)) {
+            return true;
+        }
+        int year = Math.max(this.offsets[YEAR], this.offsets[YEAR_OF_ERA]);
+        if (val.length() <= this.layout.length) {
+            return false;
+        }
+        char ch = val.charAt(year);
+        return ch == '+' || ch == '-';
+    }
+
+    @Override
+    public String toString() {
+        return "DatePattern [pattern=" + this.pattern + ", fixedLayout=" + isFixedLayout() + "]";
+    }
+
+    /**
+     * 固定長のパターンとして変換する.
+     *
+     * @param val 対象文字列
+     * @return 変換後日時、長さ、記号、値が合わない場合はNULL
+     */
+    private LocalDateTime parseFixed(final CharSequence val) {
+        int[] fields = new int[DateParser.FIELD_COUNT];
+        if (!parseFields(val, fields)) {
+            return null;
+        }
+        return LocalDateTime.of(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5],
+                fields[6]);
+    }
+
+    /**
+     * 固定長のパターンとして年、月、日、時、分、秒、ナノ秒に分解する.
+     *
+     * @param val 対象文字列
+     * @param fields 年、月、日、時、分、秒、ナノ秒を設定する配列
+     * @return true:分解できた、false:固定長でない、長さ、記号、値が合わない
+     */
+    boolean parseFields(final CharSequence val, final int[] fields) {
+
+        if (!matchesLayout(val)) {
+            return false;
+        }
+
+        int year;
+        if (this.offsets[YEAR] >= 0) {
+            year = number(val, this.offsets[YEAR], 4);
+        } else {
+            // 紀元の年の0年は紀元前になるのでフォーマッタに任せる
+            year = number(val, this.offsets[YEAR_OF_ERA], 4);
+            if (year == 0) {
+                return false;
+            }
+        }
+        int month = number(val, this.offsets[MONTH], 2);
+        int day = number(val, this.offsets[DAY], 2);
+        int hour = field(val, HOUR, 2);
+        int minute = field(val, MINUTE, 2);
+        int second = field(val, SECOND, 2);
+        int nano = field(val, FRACTION, this.fractionWidth) * NANO_SCALES[this.fractionWidth];
+
+        // 月末を超える日、24時はResolverStyle.SMARTで補正されるのでフォーマッタに任せる
+        if (month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year)) || hour > 23 || minute > 59
+                || second > 59) {
+            return false;
+        }
+
+        fields[0] = year;
+        fields[1] = month;
+        fields[2] = day;
+        fields[3] = hour;
+        fields[4] = minute;
+        fields[5] = second;
+        fields[6] = nano;
+        return true;
+    }
+
+    /**
+     * 解析結果をLocalDateTimeにする.
+     *
+     * @param parsed 解析結果
+     * @return 変換後日時、時刻がない場合はその日の0時
+     */
+    private static LocalDateTime resolve(final TemporalAccessor parsed) {
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        if (time == null) {
+            return LocalDate.from(parsed).atStartOfDay();
+        }
+        return LocalDateTime.from(parsed);
+    }
+
+    /**
+     * 項目の値を取り出す.
+     *
+     * @param val 対象文字列
+     * @param field 項目
+     * @param width 桁数
+     * @return 値、項目がない場合は0
+     */
+    private int field(final CharSequence val, final int field, final int width) {
+        int offset = this.offsets[field];
+        return offset < 0 ? 0 : number(val, offset, width);
+    }
+
+    /**
+     * 数字だけの範囲を変換する.
+     *
+     * @param val 対象文字列
+     * @param offset 開始位置
+     * @param width 桁数
+     * @return 変換後数値
+     */
+    private static int number(final CharSequence val, final int offset, final int width) {
+        int result = 0;
+        for (int index = offset; index < offset + width; index++) {
+            result = result * 10 + val.charAt(index) - '0';
+        }
+        return result;
+    }
+
+    /**
+     * 固定長のパターンかを判定し、項目の位置を求める.
+     *
+     * @param pattern パターン文字列
+     * @param offsets 項目ごとの開始位置を設定する配列
+     * @param width 小数部の桁数を設定する配列
+     * @return 記号(数字の位置は0)、固定長でない場合はNULL
+     */
+    private static char[] compile(final String pattern, final int[] offsets, final int[] width) {
+
+        Arrays.fill(offsets, -1);
+        StringBuilder builder = new StringBuilder(pattern.length());
+        int index = 0;
+        while (index < pattern.length()) {
+            char ch = pattern.charAt(index);
+            if (ch >= 'A' && ch <= 'Z' || ch >= 'a' && ch <= 'z') {
+                int end = index;
+                while (end < pattern.length() && pattern.charAt(end) == ch) {
+                    end++;
+                }
+                int field = field(ch, end - index);
+                if (field < 0 || offsets[field] >= 0) {
+                    return null;
+                }
+                offsets[field] = builder.length();
+                if (field == FRACTION) {
+                    width[0] = end - index;
+                }
+                for (int count = index; count < end; count++) {
+                    builder.append((char) 0);
+                }
+                index = end;
+            } else if (ch == '\'') {
+                // 'text'は文字列、''は'
+                int end = pattern.indexOf('\'', index + 1);
+                if (end < 0 || end > index + 1 && end + 1 < pattern.length()
+                        && pattern.charAt(end + 1) == '\'') {
+                    // 文字列の中の''は扱わない
+                    return null;
+                }
+                if (end == index + 1) {
+                    builder.append('\'');
+                } else {
+                    builder.append(pattern, index + 1, end);
+                }
+                index = end + 1;
+            } else if (ch == '[' || ch == ']') {
+                return null;
+            } else {
+                builder.append(ch);
+                index++;
+            }
+        }
+
+        // 年月日は必須、時刻は時、分、秒、小数部の順に先頭から揃っている場合だけ
+        if ((offsets[YEAR] < 0) == (offsets[YEAR_OF_ERA] < 0) || offsets[MONTH] < 0
+                || offsets[DAY] < 0) {
+            return null;
+        }
+        for (int field = HOUR + 1; field <= FRACTION; field++) {
+            if (offsets[field] >= 0 && offsets[field - 1] < 0) {
+                return null;
+            }
+        }
+
+        char[] chars = new char[builder.length()];
+        builder.getChars(0, chars.length, chars, 0);
+        return chars;
+    }
+
+    /**
+     * パターン文字と個数から項目を判定する.
+     *
+     * @param letter パターン文字
+     * @param count 個数
+     * @return 項目、固定長で扱えない場合は-1
+     */
+    private static int field(final char letter, final int count) {
+        switch (letter) {
+            case 'y':
+                return count == 4 ? YEAR_OF_ERA : -1;
+            case 'u':
+                return count == 4 ? YEAR : -1;
+            case 'M':
+                return count == 2 ? MONTH : -1;
+            case 'd':
+                return count == 2 ? DAY : -1;
+            case 'H':
+                return count == 2 ? HOUR : -1;
+            case 'm':
+                return count == 2 ? MINUTE : -1;
+            case 's':
+                return count == 2 ? SECOND : -1;
+            case 'S':
+                return count <= 9 ? FRACTION : -1;
+            default:
+                return -1;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.github.anego.utils;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.BitSet;
 import java.util.Date;
 import javax.annotation.Nullable;
 
@@ -18,7 +19,8 @@ public final class DateUtils {
 
     /**
      * 文字列を指定フォーマッタでパースして日付型を返す.<br>
-     * 変換できない場合はNULLを返す.
+     * 変換できない場合は例外が発生する(NULLを返す場合は{@link #tryParse(String, String)}).<br>
+     * フォーマッタの扱いは{@link #parseLocalDateTime(String, DateTimeFormatter)}と同じ.
      *
      * @param string 変換文字列
      * @param dtfJsonfilename 日付フォーマッタ
@@ -28,12 +30,13 @@ public final class DateUtils {
         Date createdatetime = null;
         try {
             LocalDateTime localdate;
-            if (dtfJsonfilename == null) {
-                localdate = LocalDateTime.parse(string);
+            if (dtfJsonfilename == null
+                    || dtfJsonfilename == DateTimeFormatter.ISO_LOCAL_DATE_TIME) {
+                localdate = DateParser.parseLocalDateTime(string);
             } else {
                 localdate = LocalDateTime.parse(string, dtfJsonfilename);
             }
-            createdatetime = Date.from(localdate.atZone(ZoneId.systemDefault()).toInstant());
+            createdatetime = ZoneOffsets.of(ZoneId.systemDefault()).toDate(localdate);
         } catch (Exception exc) {
             throw exc;
         }
@@ -42,7 +45,9 @@ public final class DateUtils {
 
     /**
      * 文字列を指定フォーマッタでパースして日付型を返す.<br>
-     * 変換できない場合はNULLを返す.
+     * 変換できない場合は例外が発生する(NULLを返す場合は{@link #tryParseLocalDateTime(String, String)}).<br>
+     * フォーマッタがNULLか{@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}の場合は
+     * yyyy-MM-ddTHH:mm[:ss[.SSS]]を文字の位置で直接変換する(結果と例外はLocalDateTime#parseと同じ).
      *
      * @param string 変換文字列
      * @param dtfJsonfilename 日付フォーマッタ
@@ -52,8 +57,9 @@ public final class DateUtils {
             @Nullable DateTimeFormatter dtfJsonfilename) {
         LocalDateTime localdate = null;
         try {
-            if (dtfJsonfilename == null) {
-                localdate = LocalDateTime.parse(string);
+            if (dtfJsonfilename == null
+                    || dtfJsonfilename == DateTimeFormatter.ISO_LOCAL_DATE_TIME) {
+                localdate = DateParser.parseLocalDateTime(string);
             } else {
                 localdate = LocalDateTime.parse(string, dtfJsonfilename);
             }
@@ -64,25 +70,335 @@ public final class DateUtils {
     }
 
     /**
-     * 新日時APIを旧日時APIに変換する
+     * 文字列をパターン文字列でパースして日付型を返す.<br>
+     * パターンは{@link DatePattern#of(String)}でコンパイルしたものをキャッシュして使う.
+     * パターンがNULLの場合は{@link #parse(String, DateTimeFormatter)}と同じくISO-8601の日時とする.
+     *
+     * @param string 変換文字列
+     * @param pattern パターン文字列({@link DateTimeFormatter#ofPattern(String)}の形式)
+     * @return 日付
+     * @throws java.time.format.DateTimeParseException 変換できない場合
+     */
+    public static Date toDate(String string, @Nullable String pattern) {
+        LocalDateTime localdate = toLocalDateTime(string, pattern);
+        return ZoneOffsets.of(ZoneId.systemDefault()).toDate(localdate);
+    }
+
+    /**
+     * 文字列をパターン文字列でパースしてLocalDateTimeを返す.<br>
+     * パターンは{@link DatePattern#of(String)}でコンパイルしたものをキャッシュして使う.
+     * 時刻を含まないパターンはその日の0時とする.
+     * パターンがNULLの場合は{@link #parseLocalDateTime(String, DateTimeFormatter)}と同じく
+     * ISO-8601の日時とする.
+     *
+     * <pre>
+     * toLocalDateTime("20240229123456", "yyyyMMddHHmmss") = 2024-02-29T12:34:56
+     * toLocalDateTime("2024-02-29", "uuuu-MM-dd")         = 2024-02-29T00:00
+     * </pre>
+     *
+     * @param string 変換文字列
+     * @param pattern パターン文字列({@link DateTimeFormatter#ofPattern(String)}の形式)
+     * @return 日時
+     * @throws java.time.format.DateTimeParseException 変換できない場合
+     */
+    public static LocalDateTime toLocalDateTime(String string, @Nullable String pattern) {
+        if (pattern == null) {
+            return DateParser.parseLocalDateTime(string);
+        }
+        return DatePattern.of(pattern).parse(string);
+    }
+
+    /**
+     * 文字列をパターン文字列でパースして日付型を返す.<br>
+     * {@link #toDate(String, String)}と同じだが、変換できない場合は例外ではなくNULLを返す.
+     *
+     * @param string 変換文字列
+     * @param pattern パターン文字列、NULLの場合はISO-8601の日時
+     * @return 日付、NULLまたは変換できない場合はNULL
+     */
+    public static Date tryParse(@Nullable String string, @Nullable String pattern) {
+        LocalDateTime localdate = tryParseLocalDateTime(string, pattern);
+        if (localdate == null) {
+            return null;
+        }
+        return ZoneOffsets.of(ZoneId.systemDefault()).toDate(localdate);
+    }
+
+    /**
+     * 文字列をパターン文字列でパースしてLocalDateTimeを返す.<br>
+     * {@link #toLocalDateTime(String, String)}と同じだが、変換できない場合は例外ではなくNULLを返す.
+     * 書式が合わない文字列では{@link java.time.format.DateTimeParseException}を作らない.
+     * 複数の書式を判定する場合は{@link DateFormats}を使う.
+     *
+     * <pre>
+     * tryParseLocalDateTime("20240229123456", "yyyyMMddHHmmss") = 2024-02-29T12:34:56
+     * tryParseLocalDateTime("2024/02/29", "yyyyMMddHHmmss")     = null
+     * </pre>
+     *
+     * @param string 変換文字列
+     * @param pattern パターン文字列、NULLの場合はISO-8601の日時
+     * @return 日時、NULLまたは変換できない場合はNULL
+     */
+    public static LocalDateTime tryParseLocalDateTime(@Nullable String string,
+            @Nullable String pattern) {
+        if (pattern == null) {
+            return DateParser.tryParseLocalDateTime(string);
+        }
+        return DatePattern.of(pattern).tryParse(string);
+    }
+
+    /**
+     * 新日時APIを旧日時APIに変換する<br>
+     * デフォルトのタイムゾーンの{@link ZoneOffsets}で変換する.
      *
      * @param ldt 変換する日時
      * @return 変換後日時
      * @see "http://tamata78.hatenablog.com/entry/2017/06/21/081512"
      */
     public static Date localDateTime2Date(LocalDateTime ldt) {
-        return Date.from(ldt.toInstant(ZoneId.systemDefault().getRules().getOffset(ldt)));
+        return ZoneOffsets.of(ZoneId.systemDefault()).toDate(ldt);
     }
 
     /**
-     * 旧日時APIを新日時APIに変換する
+     * 新日時APIを旧日時APIに変換する
+     *
+     * @param ldt 変換する日時
+     * @param zone タイムゾーン
+     * @return 変換後日時
+     */
+    public static Date localDateTime2Date(LocalDateTime ldt, ZoneId zone) {
+        return ZoneOffsets.of(zone).toDate(ldt);
+    }
+
+    /**
+     * 旧日時APIを新日時APIに変換する<br>
+     * デフォルトのタイムゾーンの{@link ZoneOffsets}で変換する.
      *
      * @param date 変換する日時
      * @return 変換後日時
      * @see "http://tamata78.hatenablog.com/entry/2017/06/21/081512"
      */
     public static LocalDateTime date2LocalDateTime(Date date) {
-        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        return ZoneOffsets.of(ZoneId.systemDefault()).toLocalDateTime(date);
+    }
+
+    /**
+     * 旧日時APIを新日時APIに変換する
+     *
+     * @param date 変換する日時
+     * @param zone タイムゾーン
+     * @return 変換後日時
+     */
+    public static LocalDateTime date2LocalDateTime(Date date, ZoneId zone) {
+        return ZoneOffsets.of(zone).toLocalDateTime(date);
+    }
+
+    /**
+     * 日時をエポックミリ秒に変換する<br>
+     * デフォルトのタイムゾーンの{@link ZoneOffsets}で変換する.
+     *
+     * @param ldt 変換する日時
+     * @return エポックミリ秒
+     * @throws ArithmeticException longに収まらない場合
+     */
+    public static long localDateTime2EpochMilli(LocalDateTime ldt) {
+        return ZoneOffsets.of(ZoneId.systemDefault()).toEpochMilli(ldt);
+    }
+
+    /**
+     * 日時をエポックミリ秒に変換する
+     *
+     * @param ldt 変換する日時
+     * @param zone タイムゾーン
+     * @return エポックミリ秒
+     * @throws ArithmeticException longに収まらない場合
+     */
+    public static long localDateTime2EpochMilli(LocalDateTime ldt, ZoneId zone) {
+        return ZoneOffsets.of(zone).toEpochMilli(ldt);
+    }
+
+    /**
+     * エポックミリ秒を日時に変換する<br>
+     * デフォルトのタイムゾーンの{@link ZoneOffsets}で変換する.
+     *
+     * @param epochMilli エポックミリ秒
+     * @return 変換後日時
+     */
+    public static LocalDateTime epochMilli2LocalDateTime(long epochMilli) {
+        return ZoneOffsets.of(ZoneId.systemDefault()).toLocalDateTime(epochMilli);
+    }
+
+    /**
+     * エポックミリ秒を日時に変換する
+     *
+     * @param epochMilli エポックミリ秒
+     * @param zone タイムゾーン
+     * @return 変換後日時
+     */
+    public static LocalDateTime epochMilli2LocalDateTime(long epochMilli, ZoneId zone) {
+        return ZoneOffsets.of(zone).toLocalDateTime(epochMilli);
+    }
+
+    /**
+     * 文字列の配列をまとめてパターン文字列でパースし、エポックミリ秒をoutに書き込む.<br>
+     * デフォルトのタイムゾーンで変換する.
+     * それ以外は{@link #toEpochMilliArray(CharSequence[], String, ZoneId, long[])}と同じ.
+     *
+     * @param in 変換する文字列の配列
+     * @param pattern パターン文字列、NULLの場合はISO-8601の日時
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet toEpochMilliArray(CharSequence[] in, @Nullable String pattern,
+            long[] out) {
+        return toEpochMilliArray(in, pattern, ZoneOffsets.of(ZoneId.systemDefault()), out);
+    }
+
+    /**
+     * 文字列の配列をまとめてパターン文字列でパースし、エポックミリ秒をoutに書き込む.<br>
+     * {@link #tryParseLocalDateTime(String, String)}と同じ規則で変換し、
+     * 固定長のパターンとISO-8601の日時はLocalDateTimeを作らずに文字の位置から直接計算する.
+     * NULLと変換できない要素は0を書き込み、戻り値のビットを立てる.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に変換する.
+     *
+     * <pre>
+     * long[] millis = new long[rows.length];
+     * BitSet invalid = DateUtils.toEpochMilliArray(rows, "yyyy/MM/dd HH:mm:ss", zone, millis);
+     * </pre>
+     *
+     * @param in 変換する文字列の配列
+     * @param pattern パターン文字列、NULLの場合はISO-8601の日時
+     * @param zone タイムゾーン
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet toEpochMilliArray(CharSequence[] in, @Nullable String pattern,
+            ZoneId zone, long[] out) {
+        return toEpochMilliArray(in, pattern, ZoneOffsets.of(zone), out);
+    }
+
+    /**
+     * 文字列の配列をまとめてパターン文字列でパースし、1970-01-01からの日数をoutに書き込む.<br>
+     * {@link #tryParseLocalDateTime(String, String)}と同じ規則で変換し、時刻は無視する.
+     * タイムゾーンは使わない.
+     * NULL、変換できない要素とintに収まらない要素は0を書き込み、戻り値のビットを立てる.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に変換する.
+     *
+     * @param in 変換する文字列の配列
+     * @param pattern パターン文字列、NULLの場合はISO-8601の日時
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet toEpochDayArray(CharSequence[] in, @Nullable String pattern,
+            int[] out) {
+
+        checkLength(in.length, out.length);
+        DatePattern compiled = pattern == null ? null : DatePattern.of(pattern);
+        long[] invalid = new long[(in.length + 63) >>> 6];
+        RangeTask.run(in.length, (start, end) -> {
+            int[] fields = new int[DateParser.FIELD_COUNT];
+            for (int index = start; index < end; index++) {
+                CharSequence val = in[index];
+                if (parseFields(val, compiled, fields)) {
+                    out[index] = (int) DateParser.toEpochDay(fields[0], fields[1], fields[2]);
+                    continue;
+                }
+                LocalDateTime ldt = parseOrNull(val, compiled);
+                if (ldt != null) {
+                    long day = ldt.toLocalDate().toEpochDay();
+                    if (day == (int) day) {
+                        out[index] = (int) day;
+                        continue;
+                    }
+                }
+                out[index] = 0;
+                invalid[index >>> 6] |= 1L << index;
+            }
+        });
+
+        return BitSet.valueOf(invalid);
+    }
+
+    /**
+     * 文字列の配列をまとめてエポックミリ秒に変換する.
+     *
+     * @param in 変換する文字列の配列
+     * @param pattern パターン文字列、NULLの場合はISO-8601の日時
+     * @param zone タイムゾーンの切り替え表
+     * @param out 変換後の値を書き込む配列
+     * @return 変換できなかった要素の位置
+     */
+    private static BitSet toEpochMilliArray(final CharSequence[] in,
+            @Nullable final String pattern, final ZoneOffsets zone, final long[] out) {
+
+        checkLength(in.length, out.length);
+        DatePattern compiled = pattern == null ? null : DatePattern.of(pattern);
+        long[] invalid = new long[(in.length + 63) >>> 6];
+        RangeTask.run(in.length, (start, end) -> {
+            int[] fields = new int[DateParser.FIELD_COUNT];
+            for (int index = start; index < end; index++) {
+                CharSequence val = in[index];
+                if (parseFields(val, compiled, fields)) {
+                    out[index] = zone.toEpochMilli(DateParser.toLocalSecond(fields), fields[6]);
+                    continue;
+                }
+                LocalDateTime ldt = parseOrNull(val, compiled);
+                if (ldt != null) {
+                    try {
+                        out[index] = zone.toEpochMilli(ldt);
+                        continue;
+                    } catch (ArithmeticException e) {
+                        // longに収まらない
+                    }
+                }
+                out[index] = 0;
+                invalid[index >>> 6] |= 1L << index;
+            }
+        });
+
+        return BitSet.valueOf(invalid);
+    }
+
+    /**
+     * 固定長のパターンかISO-8601の日時として年、月、日、時、分、秒、ナノ秒に分解する.
+     *
+     * @param val 対象文字列
+     * @param pattern パターン、NULLの場合はISO-8601の日時
+     * @param fields 年、月、日、時、分、秒、ナノ秒を設定する配列
+     * @return true:分解できた、false:NULLか高速パスで扱えない
+     */
+    private static boolean parseFields(@Nullable final CharSequence val,
+            @Nullable final DatePattern pattern, final int[] fields) {
+        if (val == null) {
+            return false;
+        }
+        return pattern == null ? DateParser.parseIso(val, fields)
+                : pattern.parseFields(val, fields);
+    }
+
+    /**
+     * パターンで変換する.
+     *
+     * @param val 対象文字列
+     * @param pattern パターン、NULLの場合はISO-8601の日時
+     * @return 変換後日時、変換できない場合はNULL
+     */
+    private static LocalDateTime parseOrNull(@Nullable final CharSequence val,
+            @Nullable final DatePattern pattern) {
+        return pattern == null ? DateParser.tryParseLocalDateTime(val) : pattern.tryParse(val);
+    }
+
+    /**
+     * 出力先の配列の長さを確認する.
+     *
+     * @param inLength 入力の要素数
+     * @param outLength 出力先の要素数
+     */
+    private static void checkLength(final int inLength, final int outLength) {
+        if (outLength < inLength) {
+            throw new IllegalArgumentException(
+                    "出力先の配列が短い: in=" + inLength + ", out=" + outLength);
+        }
     }
 
 }
@@ -0,0 +1,722 @@
+package io.github.anego.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.CharBuffer;
+import java.util.BitSet;
+
+/**
+ * longの整数とスケール(小数部の桁数)で表す固定小数点数.<br>
+ * 値はunscaled×10^-scaleで、BigDecimalと同じくスケールも値の一部として扱う("1.50"と"1.5"は別の値).
+ * 計算結果がlongに収まらない場合はBigDecimalで持つので、桁あふれで値が変わることはない.<br>
+ * 丸めはすべて{@link RoundingMode#HALF_UP}.<br>
+ * 配列はスケールを揃えたlong[]で持ち、{@link #parse(String[], int, long[])}、{@link #sum(long[], int)}、
+ * {@link #append(StringBuilder, long, int)}でインスタンスを作らずに変換、集計、出力できる.
+ *
+ * <pre>
+ * Decimal price = Decimal.parse("１２３.４５");
+ * Decimal total = price.multiply(Decimal.valueOf(3)).add(Decimal.parse("0.1"));   // 370.45
+ * Decimal tax = total.multiply(Decimal.parse("0.08"), 0);                          // 30
+ *
+ * long[] amounts = new long[rows.length];
+ * BitSet invalid = Decimal.parse(rows, 2, amounts);
+ * Decimal sum = Decimal.sum(amounts, 2);
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class Decimal extends Number implements Comparable<Decimal> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 0. */
+    public static final Decimal ZERO = new Decimal(0, 0, null);
+
+    /** 1. */
+    public static final Decimal ONE = new Decimal(1, 0, null);
+
+    /** longに収まる10の累乗. */
+    private static final long[] POWERS = new long[19];
+
+    /** 10^n倍してもlongに収まる絶対値の上限. */
+    private static final long[] LIMITS = new long[19];
+
+    /** doubleで正確に表せる10の累乗. */
+    private static final double[] DOUBLE_POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+            1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** 10倍してもlongに収まる下限. */
+    private static final long MULTMIN = Long.MIN_VALUE / 10;
+
+    /** 高速パスで変換できなかったことを示す値. */
+    private static final long NOT_PARSED = Long.MIN_VALUE;
+
+    static {
+        long pow = 1;
+        for (int index = 0; index < POWERS.length; index++) {
+            POWERS[index] = pow;
+            LIMITS[index] = Long.MAX_VALUE / pow;
+            pow *= 10;
+        }
+    }
+
+    /** 小数部を含めた整数(bigがNULLの場合). */
+    private final long unscaled;
+
+    /** 小数部の桁数. */
+    private final int scale;
+
+    /** longに収まらない場合の値. */
+    private final BigDecimal big;
+
+    private Decimal(final long unscaled, final int scale, final BigDecimal big) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.big = big;
+    }
+
+    /**
+     * 整数のDecimalを返す.
+     *
+     * @param val 整数
+     * @return val
+     */
+    public static Decimal valueOf(final long val) {
+        return of(val, 0);
+    }
+
+    /**
+     * unscaled×10^-scaleのDecimalを返す.
+     *
+     * @param unscaled 小数部を含めた整数
+     * @param scale 小数部の桁数
+     * @return unscaled×10^-scale
+     */
+    public static Decimal of(final long unscaled, final int scale) {
+        if (scale == 0 && (unscaled == 0 || unscaled == 1)) {
+            return unscaled == 0 ? ZERO : ONE;
+        }
+        return new Decimal(unscaled, scale, null);
+    }
+
+    /**
+     * BigDecimalをDecimalにする.
+     *
+     * @param val 対象数値
+     * @return 変換後、valがNULLの場合はNULL
+     */
+    public static Decimal valueOf(final BigDecimal val) {
+        if (val == null) {
+            return null;
+        }
+
+        BigInteger integer = val.unscaledValue();
+        if (integer.bitLength() < Long.SIZE) {
+            return of(integer.longValue(), val.scale());
+        }
+        return new Decimal(0, val.scale(), val);
+    }
+
+    /**
+     * 文字列をDecimalに変換する.<br>
+     * {@link NumberUtils#toBigDecimal(String)}と同じ規則で、全角は半角として扱い、
+     * NULL、空白、数値でない場合はNULL.スケールは文字列の小数部の桁数.
+     *
+     * @param val 対象文字列
+     * @return 変換後
+     */
+    public static Decimal parse(final String val) {
+        if (val == null) {
+            return null;
+        }
+        return parse(val, 0, val.length());
+    }
+
+    /**
+     * 文字配列の指定範囲をDecimalに変換する.<br>
+     * {@link #parse(String)}と同じ規則.
+     *
+     * @param val 対象文字配列
+     * @param offset 開始位置
+     * @param length 文字数
+     * @return 変換後
+     */
+    public static Decimal parse(final char[] val, final int offset, final int length) {
+        if (val == null) {
+            return null;
+        }
+        return parse(CharBuffer.wrap(val, offset, length), 0, length);
+    }
+
+    /**
+     * 文字列の配列をまとめてスケールscaleの整数(unscaled)に変換してoutに書き込む.<br>
+     * {@link #parse(String)}と同じ規則で変換し、小数部はscale桁に四捨五入する.
+     * NULL、空白、数値でない要素と、longに収まらない要素は0を書き込み、戻り値のビットを立てる.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に変換する.
+     *
+     * @param in 変換する文字列の配列
+     * @param scale 小数部の桁数
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet parse(final String[] in, final int scale, final long[] out) {
+
+        if (out.length < in.length) {
+            throw new IllegalArgumentException(
+                    "出力先の配列が短い: in=" + in.length + ", out=" + out.length);
+        }
+
+        long[] invalid = new long[(in.length + 63) >>> 6];
+        RangeTask.run(in.length, (start, end) -> {
+            for (int index = start; index < end; index++) {
+                String val = in[index];
+                long result = NOT_PARSED;
+                if (val != null) {
+                    result = parseFast(val, 0, val.length(), scale);
+                }
+                if (result == NOT_PARSED) {
+                    BigDecimal decimal = NumberParser.toBigDecimal(val);
+                    // scale桁にした整数部が19桁を超える場合と、scale桁で0に丸まる場合は
+                    // 巨大な10の累乗を作らない
+                    long magnitude =
+                            decimal == null ? 0 : (long) decimal.precision() - decimal.scale();
+                    if (decimal != null && magnitude < -(long) scale) {
+                        out[index] = 0;
+                        continue;
+                    }
+                    if (decimal != null && magnitude + scale <= 19) {
+                        BigInteger integer =
+                                decimal.setScale(scale, RoundingMode.HALF_UP).unscaledValue();
+                        if (integer.bitLength() < Long.SIZE) {
+                            out[index] = integer.longValue();
+                            continue;
+                        }
+                    }
+                    out[index] = 0;
+                    invalid[index >>> 6] |= 1L << index;
+                    continue;
+                }
+                out[index] = result;
+            }
+        });
+
+        return BitSet.valueOf(invalid);
+    }
+
+    /**
+     * スケールscaleの整数(unscaled)の配列の合計.<br>
+     * 途中でlongに収まらなくなった場合はBigIntegerで合計する.
+     *
+     * @param vals 小数部を含めた整数の配列
+     * @param scale 小数部の桁数
+     * @return 合計
+     */
+    public static Decimal sum(final long[] vals, final int scale) {
+
+        long total = 0;
+        int index = 0;
+        for (; index < vals.length; index++) {
+            long val = vals[index];
+            long result = total + val;
+            if (((total ^ result) & (val ^ result)) < 0) {
+                break;
+            }
+            total = result;
+        }
+        if (index == vals.length) {
+            return of(total, scale);
+        }
+
+        BigInteger integer = BigInteger.valueOf(total);
+        for (; index < vals.length; index++) {
+            integer = integer.add(BigInteger.valueOf(vals[index]));
+        }
+        return valueOf(new BigDecimal(integer, scale));
+    }
+
+    /**
+     * unscaled×10^-scaleをBigDecimal#toPlainString()と同じ形式でStringBuilderに追加する.
+     *
+     * @param builder 追加先
+     * @param unscaled 小数部を含めた整数
+     * @param scale 小数部の桁数
+     * @return builder
+     */
+    public static StringBuilder append(final StringBuilder builder, final long unscaled,
+            final int scale) {
+        return NumberFormatUtils.appendUnscaled(builder, unscaled, scale);
+    }
+
+    /**
+     * 小数部の桁数を取得する.
+     *
+     * @return 小数部の桁数
+     */
+    public int scale() {
+        return this.scale;
+    }
+
+    /**
+     * 小数部を含めた整数がlongに収まるかどうか.
+     *
+     * @return true:longに収まる
+     */
+    public boolean isCompact() {
+        return this.big == null;
+    }
+
+    /**
+     * 小数部を含めた整数を取得する.
+     *
+     * @return 小数部を含めた整数
+     * @throws ArithmeticException longに収まらない場合
+     */
+    public long unscaledLong() {
+        if (this.big != null) {
+            throw new ArithmeticException("longに収まらない: " + this.big.toPlainString());
+        }
+        return this.unscaled;
+    }
+
+    /**
+     * 符号を取得する.
+     *
+     * @return 負数なら-1、0なら0、正数なら1
+     */
+    public int signum() {
+        return this.big == null ? Long.signum(this.unscaled) : this.big.signum();
+    }
+
+    /**
+     * 加算する.スケールは大きい方.
+     *
+     * @param augend 加える値
+     * @return this + augend
+     */
+    public Decimal add(final Decimal augend) {
+        return add(augend, false);
+    }
+
+    /**
+     * 減算する.スケールは大きい方.
+     *
+     * @param subtrahend 引く値
+     * @return this - subtrahend
+     */
+    public Decimal subtract(final Decimal subtrahend) {
+        return add(subtrahend, true);
+    }
+
+    /**
+     * 乗算する.スケールは両方のスケールの和.
+     *
+     * @param multiplicand 掛ける値
+     * @return this × multiplicand
+     */
+    public Decimal multiply(final Decimal multiplicand) {
+
+        long newScale = (long) this.scale + multiplicand.scale;
+        if (this.big == null && multiplicand.big == null && newScale == (int) newScale) {
+            long left = this.unscaled;
+            long right = multiplicand.unscaled;
+            long result = left * right;
+            // Math.multiplyExactと同じ判定
+            if (((Math.abs(left) | Math.abs(right)) >>> 31 == 0
+                    || (right == 0 || result / right == left)
+                            && !(left == Long.MIN_VALUE && right == -1))) {
+                return of(result, (int) newScale);
+            }
+        }
+
+        return valueOf(toBigDecimal().multiply(multiplicand.toBigDecimal()));
+    }
+
+    /**
+     * 乗算して小数部newScale桁に四捨五入する.
+     *
+     * @param multiplicand 掛ける値
+     * @param newScale 結果の小数部の桁数
+     * @return this × multiplicand
+     */
+    public Decimal multiply(final Decimal multiplicand, final int newScale) {
+        return multiply(multiplicand).setScale(newScale);
+    }
+
+    /**
+     * 除算して小数部newScale桁に四捨五入する.
+     *
+     * @param divisor 割る値
+     * @param newScale 結果の小数部の桁数
+     * @return this ÷ divisor
+     * @throws ArithmeticException divisorが0の場合
+     */
+    public Decimal divide(final Decimal divisor, final int newScale) {
+
+        if (divisor.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+
+        if (this.big == null && divisor.big == null) {
+            // this ÷ divisor × 10^newScale = unscaled × 10^k ÷ divisor.unscaled
+            long shift = (long) divisor.scale - this.scale + newScale;
+            long dividend = this.unscaled;
+            long div = divisor.unscaled;
+            boolean fits;
+            if (shift >= 0) {
+                fits = fits(dividend, shift);
+                dividend = fits ? dividend * POWERS[(int) shift] : 0;
+            } else {
+                fits = fits(div, -shift);
+                div = fits ? div * POWERS[(int) -shift] : 1;
+            }
+            if (fits && dividend != Long.MIN_VALUE && div != Long.MIN_VALUE) {
+                return of(divideHalfUp(dividend, div), newScale);
+            }
+        }
+
+        return valueOf(
+                toBigDecimal().divide(divisor.toBigDecimal(), newScale, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * 小数部をnewScale桁にする.桁を減らす場合は四捨五入する.
+     *
+     * @param newScale 小数部の桁数
+     * @return 変換後
+     */
+    public Decimal setScale(final int newScale) {
+
+        if (newScale == this.scale) {
+            return this;
+        }
+
+        if (this.big == null) {
+            long shift = (long) newScale - this.scale;
+            if (shift > 0 && fits(this.unscaled, shift)) {
+                return of(this.unscaled * POWERS[(int) shift], newScale);
+            } else if (shift < 0 && -shift < POWERS.length) {
+                return of(divideHalfUp(this.unscaled, POWERS[(int) -shift]), newScale);
+            }
+        }
+
+        return valueOf(toBigDecimal().setScale(newScale, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * 符号を反転する.
+     *
+     * @return -this
+     */
+    public Decimal negate() {
+        if (this.big == null && this.unscaled != Long.MIN_VALUE) {
+            return of(-this.unscaled, this.scale);
+        }
+        return valueOf(toBigDecimal().negate());
+    }
+
+    /**
+     * BigDecimalにする.
+     *
+     * @return 変換後
+     */
+    public BigDecimal toBigDecimal() {
+        if (this.big != null) {
+            return this.big;
+        }
+        return BigDecimal.valueOf(this.unscaled, this.scale);
+    }
+
+    /**
+     * BigDecimal#toPlainString()と同じ形式でStringBuilderに追加する.
+     *
+     * @param builder 追加先
+     * @return builder
+     */
+    public StringBuilder appendTo(final StringBuilder builder) {
+        if (this.big != null) {
+            return builder.append(this.big.toPlainString());
+        }
+        return NumberFormatUtils.appendUnscaled(builder, this.unscaled, this.scale);
+    }
+
+    /**
+     * 数値として比較する.スケールの違いは無視する("1.50"と"1.5"は等しい).
+     *
+     * @param other 比較対象
+     * @return thisが小さければ負数、等しければ0、大きければ正数
+     */
+    @Override
+    public int compareTo(final Decimal other) {
+
+        if (this.big == null && other.big == null) {
+            if (this.scale == other.scale) {
+                return Long.compare(this.unscaled, other.unscaled);
+            }
+            long left = this.unscaled;
+            long right = other.unscaled;
+            long shift = (long) other.scale - this.scale;
+            if (shift > 0 ? fits(left, shift) : fits(right, -shift)) {
+                if (shift > 0) {
+                    left *= POWERS[(int) shift];
+                } else {
+                    right *= POWERS[(int) -shift];
+                }
+                return Long.compare(left, right);
+            }
+        }
+
+        return toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        if (this.big == null && this.scale >= 0) {
+            return this.scale < POWERS.length ? this.unscaled / POWERS[this.scale] : 0;
+        }
+        return toBigDecimal().longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return toBigDecimal().floatValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        // 2^53未満の整数と10^22以下の累乗はdoubleで正確なので、1回の除算で正しく丸まる
+        if (this.big == null && this.scale >= 0 && this.scale < DOUBLE_POWERS.length
+                && Math.abs(this.unscaled) < 1L << 53) {
+            return this.unscaled / DOUBLE_POWERS[this.scale];
+        }
+        return toBigDecimal().doubleValue();
+    }
+
+    /**
+     * 値とスケールが等しいかどうか.<br>
+     * BigDecimal#equals(Object)と同じく、スケールが違う場合は等しくない.
+     *
+     * @param obj 比較対象
+     * @return true:値とスケールが等しい
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Decimal)) {
+            return false;
+        }
+
+        Decimal other = (Decimal) obj;
+        if (this.scale != other.scale) {
+            return false;
+        }
+        if (this.big == null) {
+            return other.big == null && this.unscaled == other.unscaled;
+        }
+        return this.big.equals(other.big);
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.big != null) {
+            return this.big.hashCode();
+        }
+        return 31 * Long.hashCode(this.unscaled) + this.scale;
+    }
+
+    /**
+     * BigDecimal#toPlainString()と同じ形式の文字列.
+     *
+     * @return 文字列
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * 加算または減算する.
+     *
+     * @param other 対象値
+     * @param negate true:減算
+     * @return 計算結果
+     */
+    private Decimal add(final Decimal other, final boolean negate) {
+
+        if (this.big == null && other.big == null
+                && (!negate || other.unscaled != Long.MIN_VALUE)) {
+            long left = this.unscaled;
+            long right = negate ? -other.unscaled : other.unscaled;
+            int newScale = Math.max(this.scale, other.scale);
+            long leftShift = (long) newScale - this.scale;
+            long rightShift = (long) newScale - other.scale;
+            if (fits(left, leftShift) && fits(right, rightShift)) {
+                left *= POWERS[(int) leftShift];
+                right *= POWERS[(int) rightShift];
+                long result = left + right;
+                if (((left ^ result) & (right ^ result)) >= 0) {
+                    return of(result, newScale);
+                }
+            }
+        }
+
+        BigDecimal right = other.toBigDecimal();
+        return valueOf(toBigDecimal().add(negate ? right.negate() : right));
+    }
+
+    /**
+     * 10^shift倍してもlongに収まるかどうか.
+     *
+     * @param val 対象値
+     * @param shift 桁数(0以上)
+     * @return true:収まる
+     */
+    private static boolean fits(final long val, final long shift) {
+        return shift < LIMITS.length && val <= LIMITS[(int) shift] && val >= -LIMITS[(int) shift];
+    }
+
+    /**
+     * 四捨五入で除算する.
+     *
+     * @param dividend 割られる数
+     * @param divisor 割る数(0、Long.MIN_VALUE以外)
+     * @return 商
+     */
+    private static long divideHalfUp(final long dividend, final long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        // 余りが割る数の半分以上なら絶対値を切り上げる
+        if (remainder != 0 && remainder >= Math.abs(divisor) - remainder) {
+            quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * 文字列の指定範囲をDecimalに変換する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後
+     */
+    private static Decimal parse(final CharSequence val, final int start, final int end) {
+
+        // 小数部の桁数をスケールにする
+        int scale = 0;
+        boolean point = false;
+        for (int index = start; index < end; index++) {
+            char ch = NumberParser.toAscii(val.charAt(index));
+            if (ch == '.') {
+                point = true;
+            } else if (point && ch >= '0' && ch <= '9') {
+                scale++;
+            }
+        }
+
+        long result = parseFast(val, start, end, scale);
+        if (result != NOT_PARSED) {
+            return of(result, scale);
+        }
+        return valueOf(NumberParser.toBigDecimal(val.subSequence(start, end).toString()));
+    }
+
+    /**
+     * 符号、数字、小数点だけの文字列をスケールscaleの整数に変換する.<br>
+     * scale桁を超える小数部は四捨五入する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @param scale 小数部の桁数
+     * @return 小数部を含めた整数、変換できない場合は{@link #NOT_PARSED}
+     */
+    private static long parseFast(final CharSequence val, final int start, final int end,
+            final int scale) {
+
+        if (start >= end || scale < 0 || scale >= POWERS.length) {
+            return NOT_PARSED;
+        }
+
+        int index = start;
+        char ch = NumberParser.toAscii(val.charAt(index));
+        boolean negative = false;
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            index++;
+        }
+
+        // Long.MIN_VALUEまで表せるように負数で積み上げる
+        long result = 0;
+        int digits = 0;
+        int fraction = -1;
+        int dropped = 0;
+        boolean leadingZero = index < end && NumberParser.toAscii(val.charAt(index)) == '0';
+        for (; index < end; index++) {
+            ch = NumberParser.toAscii(val.charAt(index));
+            if (ch == '.') {
+                if (fraction >= 0) {
+                    return NOT_PARSED;
+                }
+                fraction = 0;
+                continue;
+            }
+            int digit = ch - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_PARSED;
+            }
+            digits++;
+            if (fraction >= 0) {
+                if (fraction == scale) {
+                    // 四捨五入は切り捨てる最初の桁で決まる
+                    dropped = digit;
+                }
+                if (fraction++ >= scale) {
+                    continue;
+                }
+            }
+            if (result < MULTMIN) {
+                return NOT_PARSED;
+            }
+            result *= 10;
+            if (result < Long.MIN_VALUE + digit) {
+                return NOT_PARSED;
+            }
+            result -= digit;
+        }
+
+        // isCreatableは先頭0の整数を8進数として検査するので従来処理に任せる
+        if (digits == 0 || (leadingZero && fraction < 0 && digits > 1)) {
+            return NOT_PARSED;
+        }
+
+        int kept = fraction < 0 ? 0 : Math.min(fraction, scale);
+        if (kept < scale) {
+            if (!fits(result, scale - kept)) {
+                return NOT_PARSED;
+            }
+            result *= POWERS[scale - kept];
+        }
+        if (dropped >= 5) {
+            if (result == Long.MIN_VALUE) {
+                return NOT_PARSED;
+            }
+            result--;
+        }
+        if (!negative) {
+            if (result == Long.MIN_VALUE) {
+                return NOT_PARSED;
+            }
+            result = -result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.anego.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * doubleの小数桁の丸めをBigDecimalを作らずに行う.<br>
+ * BigDecimal.valueOf(double)は{@link Double#toString(double)}の10進表記を丸めるので、
+ * ここでも丸め位置の格子点と中間点をdoubleに変換した値と比較して、10進表記がどちら側にあるかを判定する.<br>
+ * 15桁以下の10進数はdoubleで区別できるので、格子点と中間点が15桁以下に収まる範囲だけを扱い、
+ * それ以外はBigDecimalで処理する.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+final class DecimalScaler {
+
+    /** doubleで正確に表せる10の累乗. */
+    private static final double[] POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+            1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** 丸め後の整数部がこれ未満なら格子点と中間点が15桁以下に収まる. */
+    private static final double LIMIT = 1e14;
+
+    /** BigDecimalでの処理が必要なことを示す値. */
+    static final long NOT_SCALED = Long.MIN_VALUE;
+
+    private DecimalScaler() {}
+
+    /**
+     * valを小数degit桁に丸める.<br>
+     * BigDecimal.valueOf(val).setScale(degit, mode).doubleValue()と同じ結果を返す.
+     *
+     * @param val 対象値
+     * @param degit 丸める桁
+     * @param mode 丸めモード
+     * @return 変換後値
+     */
+    static double scale(final double val, final int degit, final RoundingMode mode) {
+
+        long unscaled = unscaled(val, degit, mode);
+        if (unscaled == NOT_SCALED) {
+            return slow(val, degit, mode);
+        }
+
+        if (unscaled == 0) {
+            // BigDecimalには-0がない
+            return 0d;
+        }
+        return unscaled / POWERS[degit];
+    }
+
+    /**
+     * valを小数degit桁に丸めて10^degit倍した整数を求める.<br>
+     * BigDecimal.valueOf(val).setScale(degit, mode).unscaledValue()と同じ値になる.
+     *
+     * @param val 対象値
+     * @param degit 丸める桁
+     * @param mode 丸めモード
+     * @return 丸めた値を10^degit倍した整数、BigDecimalでの処理が必要な場合は{@link #NOT_SCALED}
+     */
+    static long unscaled(final double val, final int degit, final RoundingMode mode) {
+
+        if (degit < 0 || degit >= POWERS.length) {
+            return NOT_SCALED;
+        }
+
+        double pow = POWERS[degit];
+        double abs = Math.abs(val);
+        // NaN、無限大もここで除外される
+        if (!(abs * pow < LIMIT)) {
+            return NOT_SCALED;
+        }
+
+        // 10進表記が lower/pow ちょうど(exact)か、lower/pow と (lower+1)/pow の間にあるかを求める
+        long lower = (long) (abs * pow);
+        boolean exact = false;
+        double grid = lower / pow;
+        if (abs < grid) {
+            lower--;
+            if (!(abs > lower / pow)) {
+                return NOT_SCALED;
+            }
+        } else if (abs == grid) {
+            exact = true;
+        } else {
+            double next = (lower + 1) / pow;
+            if (abs == next) {
+                lower++;
+                exact = true;
+            } else if (abs > next) {
+                return NOT_SCALED;
+            }
+        }
+
+        long result;
+        if (exact) {
+            result = lower;
+        } else {
+            result = lower + roundUp(abs, lower, pow, val < 0, mode);
+        }
+        return val < 0 ? -result : result;
+    }
+
+    /**
+     * 格子点の間にある値を切り上げるかどうか.
+     *
+     * @param abs 対象値の絶対値
+     * @param lower 下側の格子点
+     * @param pow 10の累乗
+     * @param negative 対象値が負数かどうか
+     * @param mode 丸めモード
+     * @return 1:切り上げ、0:切り捨て
+     */
+    private static int roundUp(final double abs, final long lower, final double pow,
+            final boolean negative, final RoundingMode mode) {
+
+        switch (mode) {
+            case UP:
+                return 1;
+            case DOWN:
+                return 0;
+            case CEILING:
+                return negative ? 0 : 1;
+            case FLOOR:
+                return negative ? 1 : 0;
+            case HALF_UP:
+                return abs >= half(lower, pow) ? 1 : 0;
+            case HALF_DOWN:
+                return abs > half(lower, pow) ? 1 : 0;
+            case HALF_EVEN:
+                double half = half(lower, pow);
+                if (abs == half) {
+                    return (int) (lower & 1);
+                }
+                return abs > half ? 1 : 0;
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+    }
+
+    /**
+     * 格子点の中間点をdoubleにする.
+     *
+     * @param lower 下側の格子点
+     * @param pow 10の累乗
+     * @return 中間点
+     */
+    private static double half(final long lower, final double pow) {
+        return (2 * lower + 1) / (2 * pow);
+    }
+
+    /**
+     * BigDecimalで丸める.
+     *
+     * @param val 対象値
+     * @param degit 丸める桁
+     * @param mode 丸めモード
+     * @return 変換後値
+     */
+    private static double slow(final double val, final int degit, final RoundingMode mode) {
+        return BigDecimal.valueOf(val).setScale(degit, mode).doubleValue();
+    }
+}
@@ -0,0 +1,356 @@
+package io.github.anego.utils;
+
+import java.math.BigInteger;
+
+/**
+ * 10進小数の文字列を正しく丸めたdouble、floatに変換する高速パース処理.<br>
+ * 仮数部が19桁以内で、整数部に先頭0がない単純な形式だけを扱い、
+ * それ以外はNaNを返して呼び出し側の従来処理(BigDecimal)に任せる.<br>
+ * 変換はClingerの高速パスと、128bit近似の5の累乗表を使うEisel-Lemireのアルゴリズムで行う.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+final class FloatParser {
+
+    /** 変換できなかったことを示す値. doubleでもfloatでも生成しないビット列. */
+    private static final long NOT_PARSED = -1L;
+
+    /** 5の累乗表の最小の指数. */
+    private static final int SMALLEST_POWER_OF_FIVE = -342;
+
+    /** 5の累乗表の最大の指数. */
+    private static final int LARGEST_POWER_OF_FIVE = 308;
+
+    /** 仮数部として扱う最大桁数. */
+    private static final int MAX_DIGITS = 19;
+
+    /** 指数部として扱う最大値. */
+    private static final int MAX_EXPONENT = 99999;
+
+    /** 5の累乗を128bitに正規化した近似値. 上位64bit、下位64bitの順に並ぶ. */
+    private static final long[] POWER_OF_FIVE =
+            new long[(LARGEST_POWER_OF_FIVE - SMALLEST_POWER_OF_FIVE + 1) * 2];
+
+    /** doubleで正確に表せる10の累乗. */
+    private static final double[] DOUBLE_POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+            1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** floatで正確に表せる10の累乗. */
+    private static final float[] FLOAT_POWERS =
+            {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = SMALLEST_POWER_OF_FIVE; q <= LARGEST_POWER_OF_FIVE; q++) {
+            BigInteger power;
+            if (q < 0) {
+                // 2^b / 5^-q を切り上げる
+                BigInteger power5 = five.pow(-q);
+                int bits = power5.bitLength();
+                int shift = q >= -27 ? bits + 127 : 2 * bits + 128;
+                power = BigInteger.ONE.shiftLeft(shift).divide(power5).add(BigInteger.ONE);
+            } else {
+                power = five.pow(q);
+            }
+            int length = power.bitLength();
+            power = length < 128 ? power.shiftLeft(128 - length) : power.shiftRight(length - 128);
+
+            int index = (q - SMALLEST_POWER_OF_FIVE) * 2;
+            POWER_OF_FIVE[index] = power.shiftRight(64).longValue();
+            POWER_OF_FIVE[index + 1] = power.longValue();
+        }
+    }
+
+    private FloatParser() {}
+
+    /**
+     * 文字列の指定範囲をdoubleに変換する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後数値、高速パスで扱えない場合は{@link Double#NaN}
+     */
+    static double parseDouble(final CharSequence val, final int start, final int end) {
+        long bits = parse(val, start, end, false);
+        if (bits == NOT_PARSED) {
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * 文字列の指定範囲をfloatに変換する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後数値、高速パスで扱えない場合は{@link Float#NaN}
+     */
+    static float parseFloat(final CharSequence val, final int start, final int end) {
+        long bits = parse(val, start, end, true);
+        if (bits == NOT_PARSED) {
+            return Float.NaN;
+        }
+        return Float.intBitsToFloat((int) bits);
+    }
+
+    /**
+     * 文字列を仮数部と指数部に分解してビット列に変換する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @param single true:float、false:double
+     * @return ビット列、扱えない場合は{@link #NOT_PARSED}
+     */
+    private static long parse(final CharSequence val, final int start, final int end,
+            final boolean single) {
+
+        if (start >= end) {
+            return NOT_PARSED;
+        }
+
+        int index = start;
+        char ch = NumberParser.toAscii(val.charAt(index));
+        boolean negative = false;
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            if (++index == end) {
+                return NOT_PARSED;
+            }
+            ch = NumberParser.toAscii(val.charAt(index));
+        }
+
+        // 仮数部は符号なし64bitで19桁まで積み上げる
+        long mantissa = 0;
+        int digits = 0;
+        long exponent = 0;
+
+        if (ch == '0') {
+            // isCreatableは先頭0の数字列を8進数として検査するので従来処理に任せる
+            if (++index < end && NumberParser.toAscii(val.charAt(index)) != '.') {
+                return NOT_PARSED;
+            }
+        } else {
+            int intStart = index;
+            for (; index < end; index++) {
+                int digit = NumberParser.toAscii(val.charAt(index)) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                mantissa = mantissa * 10 + digit;
+                digits++;
+            }
+            if (index == intStart) {
+                return NOT_PARSED;
+            }
+        }
+
+        if (index < end && NumberParser.toAscii(val.charAt(index)) == '.') {
+            int fractionStart = ++index;
+            for (; index < end; index++) {
+                int digit = NumberParser.toAscii(val.charAt(index)) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                if (digits > 0 || digit != 0) {
+                    mantissa = mantissa * 10 + digit;
+                    digits++;
+                }
+                exponent--;
+            }
+            if (index == fractionStart) {
+                return NOT_PARSED;
+            }
+        }
+
+        if (index < end) {
+            ch = NumberParser.toAscii(val.charAt(index));
+            if ((ch != 'e' && ch != 'E') || ++index == end) {
+                return NOT_PARSED;
+            }
+            ch = NumberParser.toAscii(val.charAt(index));
+            boolean negativeExponent = false;
+            if (ch == '-' || ch == '+') {
+                negativeExponent = ch == '-';
+                if (++index == end) {
+                    return NOT_PARSED;
+                }
+            }
+            int exp = 0;
+            for (; index < end; index++) {
+                int digit = NumberParser.toAscii(val.charAt(index)) - '0';
+                if (digit < 0 || digit > 9 || exp > MAX_EXPONENT) {
+                    return NOT_PARSED;
+                }
+                exp = exp * 10 + digit;
+            }
+            exponent += negativeExponent ? -exp : exp;
+        }
+
+        if (digits > MAX_DIGITS) {
+            return NOT_PARSED;
+        }
+        if (mantissa == 0) {
+            // BigDecimalには-0がない
+            return 0;
+        }
+
+        if (single) {
+            long bits = toFloatBits(mantissa, exponent);
+            if (bits == NOT_PARSED) {
+                return NOT_PARSED;
+            }
+            return negative ? bits | 0x80000000L : bits;
+        }
+        long bits = toDoubleBits(mantissa, exponent);
+        if (bits == NOT_PARSED) {
+            return NOT_PARSED;
+        }
+        return negative ? bits | Long.MIN_VALUE : bits;
+    }
+
+    /**
+     * mantissa * 10^exponent をdoubleのビット列(符号なし)にする.
+     *
+     * @param mantissa 仮数部(符号なし)
+     * @param exponent 指数部
+     * @return ビット列、扱えない場合は{@link #NOT_PARSED}
+     */
+    private static long toDoubleBits(final long mantissa, final long exponent) {
+        if (mantissa >= 0 && mantissa <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+            // 仮数部も10の累乗も正確に表せるので1回の演算で正しく丸められる
+            double value = mantissa;
+            if (exponent < 0) {
+                value /= DOUBLE_POWERS[(int) -exponent];
+            } else {
+                value *= DOUBLE_POWERS[(int) exponent];
+            }
+            return Double.doubleToRawLongBits(value);
+        }
+
+        return eiselLemire(mantissa, exponent, 52, -1023, 0x7FF, -342, 308, -4, 23);
+    }
+
+    /**
+     * mantissa * 10^exponent をfloatのビット列(符号なし)にする.
+     *
+     * @param mantissa 仮数部(符号なし)
+     * @param exponent 指数部
+     * @return ビット列、扱えない場合は{@link #NOT_PARSED}
+     */
+    private static long toFloatBits(final long mantissa, final long exponent) {
+        if (mantissa >= 0 && mantissa <= 1L << 24 && exponent >= -10 && exponent <= 10) {
+            float value = mantissa;
+            if (exponent < 0) {
+                value /= FLOAT_POWERS[(int) -exponent];
+            } else {
+                value *= FLOAT_POWERS[(int) exponent];
+            }
+            return Float.floatToRawIntBits(value);
+        }
+
+        return eiselLemire(mantissa, exponent, 23, -127, 0xFF, -64, 38, -17, 10);
+    }
+
+    /**
+     * Eisel-Lemireのアルゴリズムで mantissa * 10^exponent を2進浮動小数点数のビット列にする.
+     *
+     * @param mantissa 仮数部(符号なし、0以外)
+     * @param exponent 指数部
+     * @param mantissaBits 仮数部のビット数
+     * @param minExponent 指数部の最小値
+     * @param infinitePower 無限大の指数部
+     * @param smallestPowerOfTen これ未満の指数は0になる
+     * @param largestPowerOfTen これを超える指数は無限大になる
+     * @param minRoundToEven 偶数丸めの判定が必要な最小の指数
+     * @param maxRoundToEven 偶数丸めの判定が必要な最大の指数
+     * @return ビット列(符号なし)、判定できない場合は{@link #NOT_PARSED}
+     */
+    private static long eiselLemire(final long mantissa, final long exponent,
+            final int mantissaBits, final int minExponent, final int infinitePower,
+            final int smallestPowerOfTen, final int largestPowerOfTen, final int minRoundToEven,
+            final int maxRoundToEven) {
+
+        if (exponent < smallestPowerOfTen) {
+            return 0;
+        }
+        if (exponent > largestPowerOfTen) {
+            return (long) infinitePower << mantissaBits;
+        }
+
+        int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+        long normalized = mantissa << leadingZeros;
+
+        // 必要な精度が得られない場合だけ5の累乗の下位64bitも掛ける
+        int index = (int) (exponent - SMALLEST_POWER_OF_FIVE) * 2;
+        long high = multiplyHigh(normalized, POWER_OF_FIVE[index]);
+        long low = normalized * POWER_OF_FIVE[index];
+        long precisionMask = -1L >>> (mantissaBits + 3);
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = multiplyHigh(normalized, POWER_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        if (low == -1L && (exponent < -27 || exponent > 55)) {
+            return NOT_PARSED;
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - mantissaBits - 3;
+        long bits = high >>> shift;
+        int power2 = (int) (((152170 + 65536) * exponent) >> 16) + 63 + upperBit - leadingZeros
+                - minExponent;
+
+        if (power2 <= 0) {
+            // 非正規化数
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            bits >>>= -power2 + 1;
+            bits += bits & 1;
+            bits >>>= 1;
+            power2 = bits < 1L << mantissaBits ? 0 : 1;
+            return (long) power2 << mantissaBits | bits;
+        }
+
+        // ちょうど中間の場合は偶数側に丸める
+        if ((low == 0 || low == 1) && exponent >= minRoundToEven && exponent <= maxRoundToEven
+                && (bits & 3) == 1 && bits << shift == high) {
+            bits &= ~1L;
+        }
+
+        bits += bits & 1;
+        bits >>>= 1;
+        if (bits >= 2L << mantissaBits) {
+            bits = 1L << mantissaBits;
+            power2++;
+        }
+        bits &= ~(1L << mantissaBits);
+        if (power2 >= infinitePower) {
+            return (long) infinitePower << mantissaBits;
+        }
+        return (long) power2 << mantissaBits | bits;
+    }
+
+    /**
+     * 符号なし64bit同士の積の上位64bitを求める.
+     *
+     * @param x 値1
+     * @param y 値2
+     * @return 積の上位64bit
+     */
+    private static long multiplyHigh(final long x, final long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long p01 = x0 * y1;
+        long middle = x1 * y0 + (x0 * y0 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+}
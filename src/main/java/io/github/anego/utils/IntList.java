@@ -0,0 +1,329 @@
+package io.github.anego.utils;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * intの可変長リスト.<br>
+ * List&#60;Integer&#62;と違い要素をボクシングせずにint[]で持つので、メモリは4～5分の1程度になる.<br>
+ * appendParsedは{@link NumberUtils#toInt(CharSequence, int, int)}と同じ規則で文字列を変換して追加する.
+ * スレッドセーフではない.
+ *
+ * <pre>
+ * IntList ids = new IntList();
+ * ids.appendParsed("3,1,２", ',');   // [3, 1, 2]
+ * ids.sort();
+ * int total = ids.stream().sum();
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class IntList {
+
+    /** 初期容量. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** 配列の最大長. */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /** 要素. */
+    private int[] values;
+
+    /** 要素数. */
+    private int size;
+
+    /**
+     * 空のリストを作る.
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 初期容量を指定して空のリストを作る.
+     *
+     * @param capacity 初期容量
+     */
+    public IntList(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("初期容量が不正: " + capacity);
+        }
+        this.values = new int[capacity];
+    }
+
+    /**
+     * 要素を指定してリストを作る.
+     *
+     * @param vals 要素
+     * @return リスト
+     */
+    public static IntList of(final int... vals) {
+        IntList list = new IntList(vals.length);
+        return list.addAll(vals);
+    }
+
+    /**
+     * 要素数を取得する.
+     *
+     * @return 要素数
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * 要素がないかどうか.
+     *
+     * @return true:要素がない
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * 要素を取得する.
+     *
+     * @param index 位置
+     * @return 要素
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     */
+    public int get(final int index) {
+        checkIndex(index);
+        return this.values[index];
+    }
+
+    /**
+     * 要素を置き換える.
+     *
+     * @param index 位置
+     * @param val 要素
+     * @return 置き換える前の要素
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     */
+    public int set(final int index, final int val) {
+        checkIndex(index);
+        int old = this.values[index];
+        this.values[index] = val;
+        return old;
+    }
+
+    /**
+     * 末尾に追加する.
+     *
+     * @param val 要素
+     * @return this
+     */
+    public IntList add(final int val) {
+        if (this.size == this.values.length) {
+            grow(this.size + 1);
+        }
+        this.values[this.size++] = val;
+        return this;
+    }
+
+    /**
+     * 配列の要素をすべて末尾に追加する.
+     *
+     * @param vals 要素
+     * @return this
+     */
+    public IntList addAll(final int... vals) {
+        return addAll(vals, 0, vals.length);
+    }
+
+    /**
+     * 配列の指定範囲の要素を末尾に追加する.
+     *
+     * @param vals 要素
+     * @param offset 開始位置
+     * @param length 要素数
+     * @return this
+     */
+    public IntList addAll(final int[] vals, final int offset, final int length) {
+        ensureCapacity(this.size + length);
+        System.arraycopy(vals, offset, this.values, this.size, length);
+        this.size += length;
+        return this;
+    }
+
+    /**
+     * リストの要素をすべて末尾に追加する.
+     *
+     * @param list 要素
+     * @return this
+     */
+    public IntList addAll(final IntList list) {
+        return addAll(list.values, 0, list.size);
+    }
+
+    /**
+     * 文字列を変換して末尾に追加する.<br>
+     * 変換は{@link NumberUtils#toInt(CharSequence, int, int)}と同じで、変換できなければ0を追加する.
+     *
+     * @param val 対象文字列
+     * @return this
+     */
+    public IntList appendParsed(final CharSequence val) {
+        return appendParsed(val, 0, val == null ? 0 : val.length());
+    }
+
+    /**
+     * 文字列の指定範囲を変換して末尾に追加する.<br>
+     * 変換は{@link NumberUtils#toInt(CharSequence, int, int)}と同じで、変換できなければ0を追加する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return this
+     */
+    public IntList appendParsed(final CharSequence val, final int start, final int end) {
+        return add(NumberUtils.toInt(val, start, end));
+    }
+
+    /**
+     * 区切り文字で分割した文字列をそれぞれ変換して末尾に追加する.<br>
+     * 変換は{@link #appendParsed(CharSequence, int, int)}と同じ.NULL、空文字の場合は何も追加しない.
+     *
+     * <pre>
+     * "1,2,3" = [1, 2, 3]
+     * "1,,a"  = [1, 0, 0]
+     * ""      = []
+     * </pre>
+     *
+     * @param val 対象文字列
+     * @param separator 区切り文字
+     * @return this
+     */
+    public IntList appendParsed(final CharSequence val, final char separator) {
+        if (val == null || val.length() == 0) {
+            return this;
+        }
+
+        int length = val.length();
+        int start = 0;
+        for (int index = 0; index < length; index++) {
+            if (val.charAt(index) == separator) {
+                appendParsed(val, start, index);
+                start = index + 1;
+            }
+        }
+        return appendParsed(val, start, length);
+    }
+
+    /**
+     * 要素をすべて削除する.容量はそのまま.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * 要素数minCapacityまで領域を再確保せずに追加できるようにする.
+     *
+     * @param minCapacity 必要な容量
+     */
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity > this.values.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * 昇順に並べ替える.
+     *
+     * @return this
+     */
+    public IntList sort() {
+        Arrays.sort(this.values, 0, this.size);
+        return this;
+    }
+
+    /**
+     * 要素を配列にする.
+     *
+     * @return 要素のコピー
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    /**
+     * 要素のストリーム.<br>
+     * 要素をコピーしないので、ストリームの処理中にリストを変更しないこと.
+     *
+     * @return ストリーム
+     */
+    public IntStream stream() {
+        return Arrays.stream(this.values, 0, this.size);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntList)) {
+            return false;
+        }
+
+        IntList other = (IntList) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int index = 0; index < this.size; index++) {
+            if (this.values[index] != other.values[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int index = 0; index < this.size; index++) {
+            hash = 31 * hash + this.values[index];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(this.size * 4 + 2).append('[');
+        for (int index = 0; index < this.size; index++) {
+            if (index > 0) {
+                builder.append(", ");
+            }
+            NumberFormatUtils.append(builder, this.values[index]);
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * 容量を増やす.
+     *
+     * @param minCapacity 必要な容量
+     */
+    private void grow(final int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("容量が上限を超える: " + Integer.toUnsignedString(minCapacity));
+        }
+        int capacity = this.values.length + (this.values.length >> 1);
+        if (capacity < minCapacity || capacity > MAX_CAPACITY) {
+            capacity = Math.max(minCapacity, Math.min(capacity, MAX_CAPACITY));
+        }
+        this.values = Arrays.copyOf(this.values, Math.max(capacity, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * 位置が範囲内か確認する.
+     *
+     * @param index 位置
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + this.size);
+        }
+    }
+}
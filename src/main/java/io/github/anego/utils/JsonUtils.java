@@ -3,9 +3,7 @@ package io.github.anego.utils;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.Map;
@@ -117,6 +115,78 @@ public final class JsonUtils {
         }).orElse(defaultVal);
     }
 
+    /**
+     * keyでマップされた配列の値をIntListとして取り出す。<br>
+     * 配列以外の場合はnullを返す。要素がjsonNumber以外の場合はdefaultValにする。.
+     *
+     * @param json JsonObject
+     * @param key キー
+     * @param defaultVal 要素が変換できなかった場合のデフォルト値
+     * @return 取り出した値
+     */
+    public static IntList getIntList(JsonObject json, String key, int defaultVal) {
+
+        JsonElement value = json.get(key);
+        if (value == null || !value.isJsonArray()) {
+            return null;
+        }
+
+        JsonArray array = value.getAsJsonArray();
+        IntList list = new IntList(array.size());
+        for (JsonElement elem : array) {
+            list.add(isNumber(elem) ? elem.getAsInt() : defaultVal);
+        }
+        return list;
+    }
+
+    /**
+     * keyでマップされた配列の値をLongListとして取り出す。<br>
+     * 配列以外の場合はnullを返す。要素がjsonNumber以外の場合はdefaultValにする。.
+     *
+     * @param json JsonObject
+     * @param key キー
+     * @param defaultVal 要素が変換できなかった場合のデフォルト値
+     * @return 取り出した値
+     */
+    public static LongList getLongList(JsonObject json, String key, long defaultVal) {
+
+        JsonElement value = json.get(key);
+        if (value == null || !value.isJsonArray()) {
+            return null;
+        }
+
+        JsonArray array = value.getAsJsonArray();
+        LongList list = new LongList(array.size());
+        for (JsonElement elem : array) {
+            list.add(isNumber(elem) ? elem.getAsLong() : defaultVal);
+        }
+        return list;
+    }
+
+    /**
+     * keyでマップされた配列の値をDoubleListとして取り出す。<br>
+     * 配列以外の場合はnullを返す。要素がjsonNumber以外の場合はdefaultValにする。.
+     *
+     * @param json JsonObject
+     * @param key キー
+     * @param defaultVal 要素が変換できなかった場合のデフォルト値
+     * @return 取り出した値
+     */
+    public static DoubleList getDoubleList(JsonObject json, String key, double defaultVal) {
+
+        JsonElement value = json.get(key);
+        if (value == null || !value.isJsonArray()) {
+            return null;
+        }
+
+        JsonArray array = value.getAsJsonArray();
+        DoubleList list = new DoubleList(array.size());
+        for (JsonElement elem : array) {
+            list.add(isNumber(elem) ? elem.getAsDouble() : defaultVal);
+        }
+        return list;
+    }
+
     /**
      * JsonValueからfuncの変換関数を使用して値を取り出す.
      *
@@ -197,7 +267,7 @@ public final class JsonUtils {
                 return new Date(val.getAsLong());
             } else if (val.getAsJsonPrimitive().isString()) {
                 LocalDateTime localdate = LocalDateTime.parse(val.getAsString(), formatter);
-                return Date.from(localdate.atZone(ZoneId.systemDefault()).toInstant());
+                return DateUtils.localDateTime2Date(localdate);
             }
         }
 
@@ -271,8 +341,7 @@ public final class JsonUtils {
             return defaultVal;
         } else if (val.isJsonPrimitive()) {
             if (val.getAsJsonPrimitive().isNumber()) {
-                return LocalDateTime.ofInstant(Instant.ofEpochMilli(val.getAsLong()),
-                        ZoneId.systemDefault());
+                return DateUtils.epochMilli2LocalDateTime(val.getAsLong());
             } else if (val.getAsJsonPrimitive().isString()) {
                 LocalDateTime localdate = LocalDateTime.parse(val.getAsString(), formatter);
                 return localdate;
@@ -406,6 +475,20 @@ public final class JsonUtils {
             return this;
         }
 
+        /**
+         * JsonObjectから配列の値をIntListで取り出し、consで指定されたsetterに渡す。<br>
+         * 配列でない場合はnullを渡す。.
+         *
+         * @param key キー
+         * @param cons キーを元に探した配列を渡すsetter
+         * @param defaultVal 要素が変換できなかった場合のデフォルト値
+         * @return {@link BindJson}
+         */
+        public final BindJson setIntList(String key, Consumer<IntList> cons, int defaultVal) {
+            cons.accept(JsonUtils.getIntList(this.json, key, defaultVal));
+            return this;
+        }
+
         /**
          * JsonObjectからkeyの値を日時に変換して取り出す.
          *
@@ -483,6 +566,16 @@ public final class JsonUtils {
         }
     }
 
+    /**
+     * 数値かどうか.
+     *
+     * @param val 対象データ
+     * @return true:jsonNumber
+     */
+    private static boolean isNumber(JsonElement val) {
+        return val.isJsonPrimitive() && val.getAsJsonPrimitive().isNumber();
+    }
+
     /**
      * Jsonデータの型と内容をデバッグ用に文字列変換する.
      *
@@ -0,0 +1,338 @@
+package io.github.anego.utils;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * longの可変長リスト.<br>
+ * List&#60;Long&#62;と違い要素をボクシングせずにlong[]で持つので、メモリは3分の1程度になる.<br>
+ * appendParsedは{@link NumberUtils#toLong(CharSequence, int, int)}と同じ規則で文字列を変換して追加する.
+ * スレッドセーフではない.
+ *
+ * <pre>
+ * LongList ids = new LongList();
+ * ids.appendParsed("30000000000,1,２", ',');   // [30000000000, 1, 2]
+ * ids.sort();
+ * long total = ids.stream().sum();
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class LongList {
+
+    /** 初期容量. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** 配列の最大長. */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /** 要素. */
+    private long[] values;
+
+    /** 要素数. */
+    private int size;
+
+    /**
+     * 空のリストを作る.
+     */
+    public LongList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 初期容量を指定して空のリストを作る.
+     *
+     * @param capacity 初期容量
+     */
+    public LongList(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("初期容量が不正: " + capacity);
+        }
+        this.values = new long[capacity];
+    }
+
+    /**
+     * 要素を指定してリストを作る.
+     *
+     * @param vals 要素
+     * @return リスト
+     */
+    public static LongList of(final long... vals) {
+        LongList list = new LongList(vals.length);
+        return list.addAll(vals);
+    }
+
+    /**
+     * 要素数を取得する.
+     *
+     * @return 要素数
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * 要素がないかどうか.
+     *
+     * @return true:要素がない
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * 要素を取得する.
+     *
+     * @param index 位置
+     * @return 要素
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     */
+    public long get(final int index) {
+        checkIndex(index);
+        return this.values[index];
+    }
+
+    /**
+     * 要素を置き換える.
+     *
+     * @param index 位置
+     * @param val 要素
+     * @return 置き換える前の要素
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     */
+    public long set(final int index, final long val) {
+        checkIndex(index);
+        long old = this.values[index];
+        this.values[index] = val;
+        return old;
+    }
+
+    /**
+     * 末尾に追加する.
+     *
+     * @param val 要素
+     * @return this
+     */
+    public LongList add(final long val) {
+        if (this.size == this.values.length) {
+            grow(this.size + 1);
+        }
+        this.values[this.size++] = val;
+        return this;
+    }
+
+    /**
+     * 配列の要素をすべて末尾に追加する.
+     *
+     * @param vals 要素
+     * @return this
+     */
+    public LongList addAll(final long... vals) {
+        return addAll(vals, 0, vals.length);
+    }
+
+    /**
+     * 配列の指定範囲の要素を末尾に追加する.
+     *
+     * @param vals 要素
+     * @param offset 開始位置
+     * @param length 要素数
+     * @return this
+     */
+    public LongList addAll(final long[] vals, final int offset, final int length) {
+        ensureCapacity(this.size + length);
+        System.arraycopy(vals, offset, this.values, this.size, length);
+        this.size += length;
+        return this;
+    }
+
+    /**
+     * リストの要素をすべて末尾に追加する.
+     *
+     * @param list 要素
+     * @return this
+     */
+    public LongList addAll(final LongList list) {
+        return addAll(list.values, 0, list.size);
+    }
+
+    /**
+     * 文字列を変換して末尾に追加する.<br>
+     * 変換は{@link NumberUtils#toLong(CharSequence, int, int)}と同じで、変換できなければ0を追加する.
+     *
+     * @param val 対象文字列
+     * @return this
+     */
+    public LongList appendParsed(final CharSequence val) {
+        return appendParsed(val, 0, val == null ? 0 : val.length());
+    }
+
+    /**
+     * 文字列の指定範囲を変換して末尾に追加する.<br>
+     * 変換は{@link NumberUtils#toLong(CharSequence, int, int)}と同じで、変換できなければ0を追加する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return this
+     */
+    public LongList appendParsed(final CharSequence val, final int start, final int end) {
+        if (val != null) {
+            // toLongと同じく上限と同じ値は従来処理で判定する
+            long fast = NumberParser.parseLong(val, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && fast != Long.MAX_VALUE) {
+                return add(fast);
+            }
+        }
+
+        Long value = NumberUtils.toLong(val, start, end);
+        return add(value == null ? 0 : value.longValue());
+    }
+
+    /**
+     * 区切り文字で分割した文字列をそれぞれ変換して末尾に追加する.<br>
+     * 変換は{@link #appendParsed(CharSequence, int, int)}と同じ.NULL、空文字の場合は何も追加しない.
+     *
+     * <pre>
+     * "1,2,3" = [1, 2, 3]
+     * "1,,a"  = [1, 0, 0]
+     * ""      = []
+     * </pre>
+     *
+     * @param val 対象文字列
+     * @param separator 区切り文字
+     * @return this
+     */
+    public LongList appendParsed(final CharSequence val, final char separator) {
+        if (val == null || val.length() == 0) {
+            return this;
+        }
+
+        int length = val.length();
+        int start = 0;
+        for (int index = 0; index < length; index++) {
+            if (val.charAt(index) == separator) {
+                appendParsed(val, start, index);
+                start = index + 1;
+            }
+        }
+        return appendParsed(val, start, length);
+    }
+
+    /**
+     * 要素をすべて削除する.容量はそのまま.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * 要素数minCapacityまで領域を再確保せずに追加できるようにする.
+     *
+     * @param minCapacity 必要な容量
+     */
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity > this.values.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * 昇順に並べ替える.
+     *
+     * @return this
+     */
+    public LongList sort() {
+        Arrays.sort(this.values, 0, this.size);
+        return this;
+    }
+
+    /**
+     * 要素を配列にする.
+     *
+     * @return 要素のコピー
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    /**
+     * 要素のストリーム.<br>
+     * 要素をコピーしないので、ストリームの処理中にリストを変更しないこと.
+     *
+     * @return ストリーム
+     */
+    public LongStream stream() {
+        return Arrays.stream(this.values, 0, this.size);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LongList)) {
+            return false;
+        }
+
+        LongList other = (LongList) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int index = 0; index < this.size; index++) {
+            if (this.values[index] != other.values[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int index = 0; index < this.size; index++) {
+            hash = 31 * hash + Long.hashCode(this.values[index]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(this.size * 8 + 2).append('[');
+        for (int index = 0; index < this.size; index++) {
+            if (index > 0) {
+                builder.append(", ");
+            }
+            NumberFormatUtils.append(builder, this.values[index]);
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * 容量を増やす.
+     *
+     * @param minCapacity 必要な容量
+     */
+    private void grow(final int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("容量が上限を超える: " + Integer.toUnsignedString(minCapacity));
+        }
+        int capacity = this.values.length + (this.values.length >> 1);
+        if (capacity < minCapacity || capacity > MAX_CAPACITY) {
+            capacity = Math.max(minCapacity, Math.min(capacity, MAX_CAPACITY));
+        }
+        this.values = Arrays.copyOf(this.values, Math.max(capacity, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * 位置が範囲内か確認する.
+     *
+     * @param index 位置
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + this.size);
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package io.github.anego.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * {@link NumberUtils#convert(Object, Class)}の変換処理.<br>
+ * 変換元の型ごとに、変換先の型の番号を添字にした変換処理の配列をClassValueに保持しておき、
+ * 変換時はClassValueの参照1回と配列の参照で変換処理を決める.
+ * 整数のラッパー型から整数型への変換は、ClassValueを参照せずに型の比較だけで変換する.<br>
+ * プリミティブ型のNULLの代わりの0は各変換処理に含める.<br>
+ * 変換の規則は既存のtoXxxメソッドに合わせ、整数への変換は上下限に丸める.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+final class NumberConverter {
+
+    /**
+     * 変換処理.
+     */
+    @FunctionalInterface
+    interface Converter {
+
+        /**
+         * 値を変換する.
+         *
+         * @param value 変換元の値(変換元の型がVoidの場合はNULL)
+         * @return 変換後の値
+         */
+        Object convert(Object value);
+    }
+
+    /** NULL. */
+    private static final int NULL = 0;
+
+    /** 文字列(CharSequence). */
+    private static final int STRING = 1;
+
+    /** Boolean. */
+    private static final int BOOLEAN = 2;
+
+    /** 整数(longValueで値が決まるもの). */
+    private static final int INTEGRAL = 3;
+
+    /** Float. */
+    private static final int FLOAT = 4;
+
+    /** 浮動小数点数(doubleValueで値が決まるもの). */
+    private static final int DOUBLE = 5;
+
+    /** BigDecimal({@link Decimal}はBigDecimalにしてから変換する). */
+    private static final int DECIMAL = 6;
+
+    /** BigInteger. */
+    private static final int BIG_INTEGER = 7;
+
+    /** 変換できない型. */
+    private static final int UNSUPPORTED = -1;
+
+    /** 変換先の型(添字が変換先の番号で{@link #indexOf(Class)}と同じ順、整数型を先に並べる). */
+    private static final Class<?>[] TARGETS = {Integer.class, int.class, Long.class, long.class,
+            Short.class, short.class, Byte.class, byte.class, Double.class, double.class,
+            BigDecimal.class, Float.class, float.class, BigInteger.class};
+
+    /** 整数型の変換先の数(TARGETSの先頭から). */
+    private static final int INTEGRAL_TARGETS = 8;
+
+    /** longの上限. */
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    /** longの下限. */
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    /** 変換元の型ごとの、変換先の番号を添字にした変換処理. */
+    private static final ClassValue<Converter[]> CONVERTERS = new ClassValue<Converter[]>() {
+
+        @Override
+        protected Converter[] computeValue(final Class<?> source) {
+            Converter[] converters = new Converter[TARGETS.length];
+            for (int index = 0; index < TARGETS.length; index++) {
+                converters[index] = create(source, TARGETS[index]);
+            }
+            return converters;
+        }
+    };
+
+    private NumberConverter() {}
+
+    /**
+     * 値を変換する.
+     *
+     * @param <T> 変換先の型
+     * @param value 変換元の値
+     * @param target 変換先の型
+     * @return 変換後の値
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T convert(final Object value, final Class<T> target) {
+        Class<?> source = value == null ? Void.class : value.getClass();
+        int index = indexOf(target);
+        if (index < 0) {
+            throw new IllegalArgumentException(unsupportedMessage(source, target));
+        }
+
+        // 整数のラッパー型から整数型へは型の比較だけで変換し、ClassValueと変換処理の呼び出しを省く
+        if (index < INTEGRAL_TARGETS) {
+            // 0:Integer、1:Long、2:Short、3:Byte(同じ型はそのまま返す)
+            int type = index >>> 1;
+            if (source == Long.class) {
+                return (T) (type == 1 ? value : boxIntegral(index, ((Long) value).longValue()));
+            } else if (source == Integer.class) {
+                return (T) (type == 0 ? value : boxIntegral(index, ((Integer) value).intValue()));
+            } else if (source == Short.class) {
+                return (T) (type == 2 ? value : boxIntegral(index, ((Short) value).shortValue()));
+            } else if (source == Byte.class) {
+                return (T) (type == 3 ? value : boxIntegral(index, ((Byte) value).byteValue()));
+            }
+        }
+        return (T) CONVERTERS.get(source)[index].convert(value);
+    }
+
+    /**
+     * 変換先の番号を求める.
+     *
+     * @param target 変換先の型
+     * @return 変換先の番号、変換できない型の場合は-1
+     */
+    private static int indexOf(final Class<?> target) {
+        // 配列の探索と違い、変換先が定数の呼び出し元ではJITで畳み込まれる
+        if (target == Integer.class) {
+            return 0;
+        } else if (target == int.class) {
+            return 1;
+        } else if (target == Long.class) {
+            return 2;
+        } else if (target == long.class) {
+            return 3;
+        } else if (target == Short.class) {
+            return 4;
+        } else if (target == short.class) {
+            return 5;
+        } else if (target == Byte.class) {
+            return 6;
+        } else if (target == byte.class) {
+            return 7;
+        } else if (target == Double.class) {
+            return 8;
+        } else if (target == double.class) {
+            return 9;
+        } else if (target == BigDecimal.class) {
+            return 10;
+        } else if (target == Float.class) {
+            return 11;
+        } else if (target == float.class) {
+            return 12;
+        } else if (target == BigInteger.class) {
+            return 13;
+        }
+        return -1;
+    }
+
+    /**
+     * 変換処理を作る.
+     *
+     * @param source 変換元の型(NULLの場合はVoid)
+     * @param target 変換先の型
+     * @return 変換処理
+     */
+    private static Converter create(final Class<?> source, final Class<?> target) {
+
+        int kind = kindOf(source);
+        if (kind == UNSUPPORTED) {
+            return unsupported(source, target);
+        }
+
+        // 同じ型はそのまま返す
+        Class<?> wrapper = ClassUtils.primitiveToWrapper(target);
+        if (source == wrapper) {
+            return value -> value;
+        }
+
+        // プリミティブ型はNULLの代わりに0にする
+        Object zero = target.isPrimitive() ? converter(INTEGRAL, wrapper, null)
+                .convert(Integer.valueOf(0)) : null;
+        if (kind == NULL) {
+            return value -> zero;
+        }
+        Converter converter = converter(kind, wrapper, zero);
+        if (source == Decimal.class) {
+            // doubleValueを経由すると精度が落ちるので、BigDecimalの変換処理に渡す
+            return value -> converter.convert(((Decimal) value).toBigDecimal());
+        }
+        return converter;
+    }
+
+    /**
+     * 変換元の種類ごとの変換処理を作る.
+     *
+     * @param kind 変換元の種類
+     * @param target 変換先の型(ラッパー型)
+     * @param zero 値がない場合の値(プリミティブ型は0、それ以外はNULL)
+     * @return 変換処理
+     */
+    private static Converter converter(final int kind, final Class<?> target,
+            final Object zero) {
+
+        if (target == Byte.class) {
+            if (kind == STRING) {
+                return value -> {
+                    Byte result = NumberUtils.toByte(NumberUtils.toShort(value.toString()));
+                    return result == null ? zero : result;
+                };
+            }
+            return integral(kind, indexOf(target));
+        } else if (target == Short.class) {
+            if (kind == STRING) {
+                return value -> {
+                    Short result = NumberUtils.toShort(value.toString());
+                    return result == null ? zero : result;
+                };
+            }
+            return integral(kind, indexOf(target));
+        } else if (target == Integer.class) {
+            if (kind == STRING) {
+                return value -> {
+                    Integer result = NumberUtils.toInteger(value.toString());
+                    return result == null ? zero : result;
+                };
+            }
+            return integral(kind, indexOf(target));
+        } else if (target == Long.class) {
+            if (kind == STRING) {
+                return value -> {
+                    Long result = NumberUtils.toLong(value.toString());
+                    return result == null ? zero : result;
+                };
+            }
+            return integral(kind, indexOf(target));
+        } else if (target == Float.class) {
+            return toFloat(kind, zero);
+        } else if (target == Double.class) {
+            return toDouble(kind, zero);
+        } else if (target == BigDecimal.class) {
+            return toBigDecimal(kind);
+        }
+        return toBigInteger(kind);
+    }
+
+    /**
+     * 整数型への変換処理を作る.<br>
+     * 小数部は切り捨て、範囲外は上下限に丸める.
+     *
+     * @param kind 変換元の種類
+     * @param index 変換先の番号(整数型)
+     * @return 変換処理
+     */
+    private static Converter integral(final int kind, final int index) {
+        switch (kind) {
+            case BOOLEAN:
+                return value -> boxIntegral(index, ((Boolean) value).booleanValue() ? 1 : 0);
+            case INTEGRAL:
+                return value -> boxIntegral(index, ((Number) value).longValue());
+            case FLOAT:
+            case DOUBLE:
+                // (long)はNaNを0、longに収まらない値を上下限にする
+                return value -> boxIntegral(index, (long) ((Number) value).doubleValue());
+            case DECIMAL:
+                return value -> {
+                    BigDecimal decimal = (BigDecimal) value;
+                    if (decimal.compareTo(LONG_MAX) > 0) {
+                        return boxIntegral(index, Long.MAX_VALUE);
+                    } else if (decimal.compareTo(LONG_MIN) < 0) {
+                        return boxIntegral(index, Long.MIN_VALUE);
+                    }
+                    return boxIntegral(index, decimal.longValue());
+                };
+            default:
+                return value -> {
+                    BigInteger integer = (BigInteger) value;
+                    if (integer.bitLength() < Long.SIZE) {
+                        return boxIntegral(index, integer.longValue());
+                    }
+                    return boxIntegral(index,
+                            integer.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE);
+                };
+        }
+    }
+
+    /**
+     * 整数型のラッパー型にする.<br>
+     * 範囲外は上下限に丸める.
+     *
+     * @param index 変換先の番号(整数型)
+     * @param val 値
+     * @return ラッパー型の値
+     */
+    private static Object boxIntegral(final int index, final long val) {
+        switch (index >>> 1) {
+            case 0:
+                return BoxCache.integerOf((int) clamp(val, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            case 1:
+                return BoxCache.longOf(val);
+            case 2:
+                return BoxCache.shortOf((short) clamp(val, Short.MIN_VALUE, Short.MAX_VALUE));
+            default:
+                return Byte.valueOf((byte) clamp(val, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Floatへの変換処理を作る.
+     *
+     * @param kind 変換元の種類
+     * @param zero 値がない場合の値(プリミティブ型は0、それ以外はNULL)
+     * @return 変換処理
+     */
+    private static Converter toFloat(final int kind, final Object zero) {
+        switch (kind) {
+            case STRING:
+                return value -> {
+                    String str = value.toString();
+                    return StringUtils.isBlank(str) ? zero
+                            : Float.valueOf(NumberUtils.toFloat(str));
+                };
+            case BOOLEAN:
+                return value -> Float.valueOf(((Boolean) value).booleanValue() ? 1f : 0f);
+            default:
+                return value -> Float.valueOf(((Number) value).floatValue());
+        }
+    }
+
+    /**
+     * Doubleへの変換処理を作る.
+     *
+     * @param kind 変換元の種類
+     * @param zero 値がない場合の値(プリミティブ型は0、それ以外はNULL)
+     * @return 変換処理
+     */
+    private static Converter toDouble(final int kind, final Object zero) {
+        switch (kind) {
+            case STRING:
+                return value -> {
+                    String str = value.toString();
+                    return StringUtils.isBlank(str) ? zero
+                            : Double.valueOf(NumberUtils.toDouble(str));
+                };
+            case BOOLEAN:
+                return value -> Double.valueOf(((Boolean) value).booleanValue() ? 1d : 0d);
+            default:
+                return value -> Double.valueOf(((Number) value).doubleValue());
+        }
+    }
+
+    /**
+     * BigDecimalへの変換処理を作る.<br>
+     * NaNと無限大はNULLにする.
+     *
+     * @param kind 変換元の種類
+     * @return 変換処理
+     */
+    private static Converter toBigDecimal(final int kind) {
+        switch (kind) {
+            case STRING:
+                return value -> NumberUtils.toBigDecimal(value.toString());
+            case BOOLEAN:
+                return value -> ((Boolean) value).booleanValue() ? BigDecimal.ONE
+                        : BigDecimal.ZERO;
+            case INTEGRAL:
+                return value -> BigDecimal.valueOf(((Number) value).longValue());
+            case FLOAT:
+                // floatの10進表記のままにする
+                return value -> {
+                    float flt = ((Float) value).floatValue();
+                    return Float.isFinite(flt) ? new BigDecimal(Float.toString(flt)) : null;
+                };
+            case DOUBLE:
+                return value -> {
+                    double dbl = ((Number) value).doubleValue();
+                    return Double.isFinite(dbl) ? BigDecimal.valueOf(dbl) : null;
+                };
+            case DECIMAL:
+                return value -> value;
+            default:
+                return value -> new BigDecimal((BigInteger) value);
+        }
+    }
+
+    /**
+     * BigIntegerへの変換処理を作る.<br>
+     * 小数部は切り捨て、NaNと無限大はNULLにする.
+     *
+     * @param kind 変換元の種類
+     * @return 変換処理
+     */
+    private static Converter toBigInteger(final int kind) {
+        switch (kind) {
+            case STRING:
+                return value -> NumberUtils.toBigInteger(value.toString());
+            case BOOLEAN:
+                return value -> ((Boolean) value).booleanValue() ? BigInteger.ONE
+                        : BigInteger.ZERO;
+            case INTEGRAL:
+                return value -> BigInteger.valueOf(((Number) value).longValue());
+            case FLOAT:
+            case DOUBLE:
+                return value -> {
+                    double dbl = ((Number) value).doubleValue();
+                    return Double.isFinite(dbl) ? BigDecimal.valueOf(dbl).toBigInteger() : null;
+                };
+            case DECIMAL:
+                return value -> ((BigDecimal) value).toBigInteger();
+            default:
+                return value -> value;
+        }
+    }
+
+    /**
+     * 変換元の種類を判定する.
+     *
+     * @param source 変換元の型
+     * @return 種類
+     */
+    private static int kindOf(final Class<?> source) {
+        if (source == Void.class) {
+            return NULL;
+        } else if (CharSequence.class.isAssignableFrom(source)) {
+            return STRING;
+        } else if (source == Boolean.class) {
+            return BOOLEAN;
+        } else if (source == Byte.class || source == Short.class || source == Integer.class
+                || source == Long.class || source == AtomicInteger.class
+                || source == AtomicLong.class || source == LongAdder.class
+                || source == LongAccumulator.class) {
+            return INTEGRAL;
+        } else if (source == Float.class) {
+            return FLOAT;
+        } else if (BigDecimal.class.isAssignableFrom(source) || source == Decimal.class) {
+            return DECIMAL;
+        } else if (BigInteger.class.isAssignableFrom(source)) {
+            return BIG_INTEGER;
+        } else if (source == Double.class || source == DoubleAdder.class
+                || source == DoubleAccumulator.class || Number.class.isAssignableFrom(source)) {
+            // それ以外の数値はdoubleValueで扱う
+            return DOUBLE;
+        }
+        return UNSUPPORTED;
+    }
+
+    /**
+     * min～maxの範囲に丸める.
+     *
+     * @param val 対象値
+     * @param min 下限
+     * @param max 上限
+     * @return 丸めた値
+     */
+    private static long clamp(final long val, final long min, final long max) {
+        if (val > max) {
+            return max;
+        } else if (val < min) {
+            return min;
+        }
+        return val;
+    }
+
+    /**
+     * 変換できない組み合わせの変換処理を作る.
+     *
+     * @param source 変換元の型
+     * @param target 変換先の型
+     * @return 例外を発生させる変換処理
+     */
+    private static Converter unsupported(final Class<?> source, final Class<?> target) {
+        String message = unsupportedMessage(source, target);
+        return value -> {
+            throw new IllegalArgumentException(message);
+        };
+    }
+
+    /**
+     * 変換できない組み合わせのメッセージ.
+     *
+     * @param source 変換元の型
+     * @param target 変換先の型
+     * @return メッセージ
+     */
+    private static String unsupportedMessage(final Class<?> source, final Class<?> target) {
+        return "変換できない型: " + source.getName() + " -> " + target.getName();
+    }
+}
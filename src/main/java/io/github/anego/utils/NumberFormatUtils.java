@@ -0,0 +1,592 @@
+package io.github.anego.utils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * 数値を文字列にするユーティリティ.<br>
+ * {@link NumberUtils}の逆方向で、StringやString.formatを経由せずに
+ * StringBuilder、文字配列、バイト配列(ASCII)へ直接書き込む.<br>
+ * 整数は{@link Long#toString(long)}、小数は{@link NumberUtils#decimalScale(double, int)}で丸めた値を
+ * BigDecimal#toPlainString()と同じ形式で書き込む.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class NumberFormatUtils {
+
+    /** 0～99の10の位. */
+    private static final char[] DIGIT_TENS = new char[100];
+
+    /** 0～99の1の位. */
+    private static final char[] DIGIT_ONES = new char[100];
+
+    /** {@link Long#MIN_VALUE}の文字列. 符号を反転できないので別に持つ. */
+    private static final String MIN_LONG = Long.toString(Long.MIN_VALUE);
+
+    /** longの最大桁数. */
+    private static final int MAX_DIGITS = 19;
+
+    static {
+        for (int index = 0; index < 100; index++) {
+            DIGIT_TENS[index] = (char) ('0' + index / 10);
+            DIGIT_ONES[index] = (char) ('0' + index % 10);
+        }
+    }
+
+    private NumberFormatUtils() {}
+
+    /**
+     * 整数をStringBuilderに追加する.
+     *
+     * <pre>
+     * 123     = "123"
+     * -5      = "-5"
+     * </pre>
+     *
+     * @param builder 追加先
+     * @param val 対象数値
+     * @return builder
+     */
+    public static StringBuilder append(final StringBuilder builder, final long val) {
+        if (val == Long.MIN_VALUE) {
+            return builder.append(MIN_LONG);
+        }
+
+        return append(builder, val < 0, Math.abs(val), 0);
+    }
+
+    /**
+     * 小数を少数<i>scale</i>桁で四捨五入してStringBuilderに追加する.<br>
+     * 丸めは{@link NumberUtils#decimalScale(double, int)}と同じで、小数部は0埋めしてscale桁にする.
+     *
+     * <pre>
+     * (1.005, 2)  = "1.01"
+     * (-0.5, 0)   = "-1"
+     * (2, 3)      = "2.000"
+     * </pre>
+     *
+     * @param builder 追加先
+     * @param val 対象数値
+     * @param scale 小数部の桁数
+     * @return builder
+     * @throws NumberFormatException valがNaN、無限大の場合
+     */
+    public static StringBuilder append(final StringBuilder builder, final double val,
+            final int scale) {
+
+        long unscaled = DecimalScaler.unscaled(val, scale, RoundingMode.HALF_UP);
+        if (unscaled == DecimalScaler.NOT_SCALED) {
+            return builder.append(toPlainString(val, scale));
+        }
+
+        return append(builder, unscaled < 0, Math.abs(unscaled), scale);
+    }
+
+    /**
+     * 整数をAppendableに追加する.<br>
+     * StringBuilder以外は1文字ずつ追加する.
+     *
+     * @param out 追加先
+     * @param val 対象数値
+     * @return out
+     * @throws IOException 追加に失敗した場合
+     */
+    public static Appendable append(final Appendable out, final long val) throws IOException {
+        if (out instanceof StringBuilder) {
+            return append((StringBuilder) out, val);
+        }
+        if (val == Long.MIN_VALUE) {
+            return out.append(MIN_LONG);
+        }
+
+        char[] buffer = new char[MAX_DIGITS + 1];
+        int end = write(val, buffer, 0);
+        for (int index = 0; index < end; index++) {
+            out.append(buffer[index]);
+        }
+        return out;
+    }
+
+    /**
+     * 小数を少数<i>scale</i>桁で四捨五入してAppendableに追加する.<br>
+     * 形式は{@link #append(StringBuilder, double, int)}と同じ.
+     *
+     * @param out 追加先
+     * @param val 対象数値
+     * @param scale 小数部の桁数
+     * @return out
+     * @throws IOException 追加に失敗した場合
+     * @throws NumberFormatException valがNaN、無限大の場合
+     */
+    public static Appendable append(final Appendable out, final double val, final int scale)
+            throws IOException {
+
+        if (out instanceof StringBuilder) {
+            return append((StringBuilder) out, val, scale);
+        }
+
+        long unscaled = DecimalScaler.unscaled(val, scale, RoundingMode.HALF_UP);
+        if (unscaled == DecimalScaler.NOT_SCALED) {
+            return out.append(toPlainString(val, scale));
+        }
+
+        boolean negative = unscaled < 0;
+        long abs = Math.abs(unscaled);
+        char[] buffer = new char[length(negative, abs, scale)];
+        getChars(negative, abs, scale, buffer.length, buffer);
+        for (char ch : buffer) {
+            out.append(ch);
+        }
+        return out;
+    }
+
+    /**
+     * 整数を文字配列に書き込む.
+     *
+     * @param val 対象数値
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    public static int write(final long val, final char[] dest, final int offset) {
+        if (val == Long.MIN_VALUE) {
+            checkLength(dest.length, offset, MIN_LONG.length());
+            MIN_LONG.getChars(0, MIN_LONG.length(), dest, offset);
+            return offset + MIN_LONG.length();
+        }
+
+        boolean negative = val < 0;
+        long abs = Math.abs(val);
+        int end = offset + checkLength(dest.length, offset, length(negative, abs, 0));
+        getChars(negative, abs, 0, end, dest);
+        return end;
+    }
+
+    /**
+     * 小数を少数<i>scale</i>桁で四捨五入して文字配列に書き込む.<br>
+     * 形式は{@link #append(StringBuilder, double, int)}と同じ.
+     *
+     * @param val 対象数値
+     * @param scale 小数部の桁数
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     * @throws NumberFormatException valがNaN、無限大の場合
+     */
+    public static int write(final double val, final int scale, final char[] dest,
+            final int offset) {
+
+        long unscaled = DecimalScaler.unscaled(val, scale, RoundingMode.HALF_UP);
+        if (unscaled == DecimalScaler.NOT_SCALED) {
+            String str = toPlainString(val, scale);
+            checkLength(dest.length, offset, str.length());
+            str.getChars(0, str.length(), dest, offset);
+            return offset + str.length();
+        }
+
+        boolean negative = unscaled < 0;
+        long abs = Math.abs(unscaled);
+        int end = offset + checkLength(dest.length, offset, length(negative, abs, scale));
+        getChars(negative, abs, scale, end, dest);
+        return end;
+    }
+
+    /**
+     * 整数をASCIIでバイト配列に書き込む.
+     *
+     * @param val 対象数値
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    public static int write(final long val, final byte[] dest, final int offset) {
+        if (val == Long.MIN_VALUE) {
+            return writeAscii(MIN_LONG, dest, offset);
+        }
+
+        boolean negative = val < 0;
+        long abs = Math.abs(val);
+        int end = offset + checkLength(dest.length, offset, length(negative, abs, 0));
+        getBytes(negative, abs, 0, end, dest);
+        return end;
+    }
+
+    /**
+     * 小数を少数<i>scale</i>桁で四捨五入してASCIIでバイト配列に書き込む.<br>
+     * 形式は{@link #append(StringBuilder, double, int)}と同じ.
+     *
+     * @param val 対象数値
+     * @param scale 小数部の桁数
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     * @throws NumberFormatException valがNaN、無限大の場合
+     */
+    public static int write(final double val, final int scale, final byte[] dest,
+            final int offset) {
+
+        long unscaled = DecimalScaler.unscaled(val, scale, RoundingMode.HALF_UP);
+        if (unscaled == DecimalScaler.NOT_SCALED) {
+            return writeAscii(toPlainString(val, scale), dest, offset);
+        }
+
+        boolean negative = unscaled < 0;
+        long abs = Math.abs(unscaled);
+        int end = offset + checkLength(dest.length, offset, length(negative, abs, scale));
+        getBytes(negative, abs, scale, end, dest);
+        return end;
+    }
+
+    /**
+     * 整数をASCIIでバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param val 対象数値
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final long val) {
+        if (val == Long.MIN_VALUE) {
+            return putAscii(dest, MIN_LONG);
+        }
+
+        return put(dest, val < 0, Math.abs(val), 0);
+    }
+
+    /**
+     * 小数を少数<i>scale</i>桁で四捨五入してASCIIでバッファの現在位置に書き込み、位置を進める.<br>
+     * 形式は{@link #append(StringBuilder, double, int)}と同じ.
+     *
+     * @param dest 書き込み先
+     * @param val 対象数値
+     * @param scale 小数部の桁数
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     * @throws NumberFormatException valがNaN、無限大の場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final double val, final int scale) {
+        long unscaled = DecimalScaler.unscaled(val, scale, RoundingMode.HALF_UP);
+        if (unscaled == DecimalScaler.NOT_SCALED) {
+            return putAscii(dest, toPlainString(val, scale));
+        }
+
+        return put(dest, unscaled < 0, Math.abs(unscaled), scale);
+    }
+
+    /**
+     * unscaled×10^-scaleをBigDecimal#toPlainString()と同じ形式でStringBuilderに追加する.
+     *
+     * @param builder 追加先
+     * @param unscaled 小数部を含めた整数
+     * @param scale 小数部の桁数
+     * @return builder
+     */
+    static StringBuilder appendUnscaled(final StringBuilder builder, final long unscaled,
+            final int scale) {
+        if (unscaled == Long.MIN_VALUE || scale < 0) {
+            return builder.append(BigDecimal.valueOf(unscaled, scale).toPlainString());
+        }
+
+        return append(builder, unscaled < 0, Math.abs(unscaled), scale);
+    }
+
+    /**
+     * 符号と絶対値をStringBuilderに追加する.
+     *
+     * @param builder 追加先
+     * @param negative 負数かどうか
+     * @param abs 絶対値(小数部を含めた整数)
+     * @param scale 小数部の桁数
+     * @return builder
+     */
+    private static StringBuilder append(final StringBuilder builder, final boolean negative,
+            final long abs, final int scale) {
+
+        // 先に長さを確保して末尾から埋める
+        int end = builder.length() + length(negative, abs, scale);
+        builder.setLength(end);
+
+        int pos = end;
+        long rest = abs;
+        int count = scale;
+        while (count >= 2) {
+            long quotient = rest / 100;
+            int pair = (int) (rest - quotient * 100);
+            rest = quotient;
+            builder.setCharAt(--pos, DIGIT_ONES[pair]);
+            builder.setCharAt(--pos, DIGIT_TENS[pair]);
+            count -= 2;
+        }
+        if (count == 1) {
+            long quotient = rest / 10;
+            builder.setCharAt(--pos, (char) ('0' + (rest - quotient * 10)));
+            rest = quotient;
+        }
+        if (scale > 0) {
+            builder.setCharAt(--pos, '.');
+        }
+
+        while (rest >= 100) {
+            long quotient = rest / 100;
+            int pair = (int) (rest - quotient * 100);
+            rest = quotient;
+            builder.setCharAt(--pos, DIGIT_ONES[pair]);
+            builder.setCharAt(--pos, DIGIT_TENS[pair]);
+        }
+        if (rest >= 10) {
+            builder.setCharAt(--pos, DIGIT_ONES[(int) rest]);
+            builder.setCharAt(--pos, DIGIT_TENS[(int) rest]);
+        } else {
+            builder.setCharAt(--pos, (char) ('0' + rest));
+        }
+        if (negative) {
+            builder.setCharAt(--pos, '-');
+        }
+        return builder;
+    }
+
+    /**
+     * 符号と絶対値を文字配列のendより前に書き込む.
+     *
+     * @param negative 負数かどうか
+     * @param abs 絶対値(小数部を含めた整数)
+     * @param scale 小数部の桁数
+     * @param end 書き込む末尾の次の位置
+     * @param dest 書き込み先
+     */
+    private static void getChars(final boolean negative, final long abs, final int scale,
+            final int end, final char[] dest) {
+
+        int pos = end;
+        long rest = abs;
+        int count = scale;
+        while (count >= 2) {
+            long quotient = rest / 100;
+            int pair = (int) (rest - quotient * 100);
+            rest = quotient;
+            dest[--pos] = DIGIT_ONES[pair];
+            dest[--pos] = DIGIT_TENS[pair];
+            count -= 2;
+        }
+        if (count == 1) {
+            long quotient = rest / 10;
+            dest[--pos] = (char) ('0' + (rest - quotient * 10));
+            rest = quotient;
+        }
+        if (scale > 0) {
+            dest[--pos] = '.';
+        }
+
+        while (rest >= 100) {
+            long quotient = rest / 100;
+            int pair = (int) (rest - quotient * 100);
+            rest = quotient;
+            dest[--pos] = DIGIT_ONES[pair];
+            dest[--pos] = DIGIT_TENS[pair];
+        }
+        if (rest >= 10) {
+            dest[--pos] = DIGIT_ONES[(int) rest];
+            dest[--pos] = DIGIT_TENS[(int) rest];
+        } else {
+            dest[--pos] = (char) ('0' + rest);
+        }
+        if (negative) {
+            dest[--pos] = '-';
+        }
+    }
+
+    /**
+     * 符号と絶対値をASCIIでバイト配列のendより前に書き込む.
+     *
+     * @param negative 負数かどうか
+     * @param abs 絶対値(小数部を含めた整数)
+     * @param scale 小数部の桁数
+     * @param end 書き込む末尾の次の位置
+     * @param dest 書き込み先
+     */
+    private static void getBytes(final boolean negative, final long abs, final int scale,
+            final int end, final byte[] dest) {
+
+        int pos = end;
+        long rest = abs;
+        int count = scale;
+        while (count >= 2) {
+            long quotient = rest / 100;
+            int pair = (int) (rest - quotient * 100);
+            rest = quotient;
+            dest[--pos] = (byte) DIGIT_ONES[pair];
+            dest[--pos] = (byte) DIGIT_TENS[pair];
+            count -= 2;
+        }
+        if (count == 1) {
+            long quotient = rest / 10;
+            dest[--pos] = (byte) ('0' + (rest - quotient * 10));
+            rest = quotient;
+        }
+        if (scale > 0) {
+            dest[--pos] = '.';
+        }
+
+        while (rest >= 100) {
+            long quotient = rest / 100;
+            int pair = (int) (rest - quotient * 100);
+            rest = quotient;
+            dest[--pos] = (byte) DIGIT_ONES[pair];
+            dest[--pos] = (byte) DIGIT_TENS[pair];
+        }
+        if (rest >= 10) {
+            dest[--pos] = (byte) DIGIT_ONES[(int) rest];
+            dest[--pos] = (byte) DIGIT_TENS[(int) rest];
+        } else {
+            dest[--pos] = (byte) ('0' + rest);
+        }
+        if (negative) {
+            dest[--pos] = '-';
+        }
+    }
+
+    /**
+     * 符号と絶対値をASCIIでバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param negative 負数かどうか
+     * @param abs 絶対値(小数部を含めた整数)
+     * @param scale 小数部の桁数
+     * @return dest
+     */
+    private static ByteBuffer put(final ByteBuffer dest, final boolean negative, final long abs,
+            final int scale) {
+
+        int length = length(negative, abs, scale);
+        if (dest.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
+        int start = dest.position();
+        if (dest.hasArray()) {
+            getBytes(negative, abs, scale, dest.arrayOffset() + start + length, dest.array());
+        } else {
+            // ダイレクトバッファは絶対位置で末尾から埋める
+            int pos = start + length;
+            long rest = abs;
+            int count = scale;
+            while (count > 0) {
+                long quotient = rest / 10;
+                dest.put(--pos, (byte) ('0' + (rest - quotient * 10)));
+                rest = quotient;
+                count--;
+            }
+            if (scale > 0) {
+                dest.put(--pos, (byte) '.');
+            }
+            while (rest >= 100) {
+                long quotient = rest / 100;
+                int pair = (int) (rest - quotient * 100);
+                rest = quotient;
+                dest.put(--pos, (byte) DIGIT_ONES[pair]);
+                dest.put(--pos, (byte) DIGIT_TENS[pair]);
+            }
+            if (rest >= 10) {
+                dest.put(--pos, (byte) DIGIT_ONES[(int) rest]);
+                dest.put(--pos, (byte) DIGIT_TENS[(int) rest]);
+            } else {
+                dest.put(--pos, (byte) ('0' + rest));
+            }
+            if (negative) {
+                dest.put(--pos, (byte) '-');
+            }
+        }
+        dest.position(start + length);
+        return dest;
+    }
+
+    /**
+     * 書き込む文字数を求める.
+     *
+     * @param negative 負数かどうか
+     * @param abs 絶対値(小数部を含めた整数)
+     * @param scale 小数部の桁数
+     * @return 文字数
+     */
+    private static int length(final boolean negative, final long abs, final int scale) {
+        // 整数部は最低1桁
+        int digits = 1;
+        for (long pow = 10; digits < MAX_DIGITS && abs >= pow; pow *= 10) {
+            digits++;
+        }
+        int integer = Math.max(digits - scale, 1);
+        return (negative ? 1 : 0) + integer + (scale > 0 ? scale + 1 : 0);
+    }
+
+    /**
+     * ASCII文字列をバイト配列に書き込む.
+     *
+     * @param str 対象文字列
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     */
+    private static int writeAscii(final String str, final byte[] dest, final int offset) {
+        int length = str.length();
+        checkLength(dest.length, offset, length);
+        for (int index = 0; index < length; index++) {
+            dest[offset + index] = (byte) str.charAt(index);
+        }
+        return offset + length;
+    }
+
+    /**
+     * ASCII文字列をバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param str 対象文字列
+     * @return dest
+     */
+    private static ByteBuffer putAscii(final ByteBuffer dest, final String str) {
+        int length = str.length();
+        if (dest.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        for (int index = 0; index < length; index++) {
+            dest.put((byte) str.charAt(index));
+        }
+        return dest;
+    }
+
+    /**
+     * BigDecimalで四捨五入して文字列にする.
+     *
+     * @param val 対象数値
+     * @param scale 小数部の桁数
+     * @return 文字列
+     */
+    private static String toPlainString(final double val, final int scale) {
+        return BigDecimal.valueOf(val).setScale(scale, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * 書き込み先の長さを確認する.
+     *
+     * @param destLength 書き込み先の長さ
+     * @param offset 書き込み開始位置
+     * @param length 書き込む長さ
+     * @return length
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    private static int checkLength(final int destLength, final int offset, final int length) {
+        if (offset < 0 || destLength - offset < length) {
+            throw new IllegalArgumentException(
+                    "書き込み先の配列が短い: length=" + destLength + ", offset=" + offset + ", need="
+                            + length);
+        }
+        return length;
+    }
+}
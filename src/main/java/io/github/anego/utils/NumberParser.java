@@ -0,0 +1,915 @@
+package io.github.anego.utils;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 数値文字列の高速パース処理.<br>
+ * 符号と数字だけの文字列を1パスで変換する.<br>
+ * それ以外の文字列は{@link #NOT_PARSED}を返し、呼び出し側の従来処理に任せる.<br>
+ * 全角数字などは{@link #toAscii(char)}の変換テーブルでASCIIとして扱う.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+final class NumberParser {
+
+    /** 高速パスで変換できなかったことを示す値. */
+    static final long NOT_PARSED = Long.MIN_VALUE;
+
+    /** 10倍してもlongに収まる下限. */
+    private static final long MULTMIN = Long.MIN_VALUE / 10;
+
+    /** 10^8倍して8桁を引いてもlongに収まる下限. */
+    private static final long MULTMIN8 = (Long.MIN_VALUE + 99_999_999) / 100_000_000;
+
+    /** 非ASCII文字をASCIIに変換するテーブル. 上位8bitごとのブロックで、変換のないブロックはnull. */
+    private static final char[][] ASCII_TABLE = new char[256][];
+
+    static {
+        for (int ch = 0x80; ch <= Character.MAX_VALUE; ch++) {
+            char mapped;
+            if (ch >= 0xFF01 && ch <= 0xFF5E) {
+                // 全角英数記号(NFKCと同じ変換)
+                mapped = (char) (ch - 0xFEE0);
+            } else if (Character.getType(ch) == Character.DECIMAL_DIGIT_NUMBER) {
+                // アラビア・インド数字などの各種10進数字
+                mapped = (char) ('0' + Character.digit(ch, 10));
+            } else {
+                continue;
+            }
+
+            char[] block = ASCII_TABLE[ch >>> 8];
+            if (block == null) {
+                block = new char[256];
+                for (int index = 0; index < block.length; index++) {
+                    block[index] = (char) ((ch & 0xFF00) | index);
+                }
+                ASCII_TABLE[ch >>> 8] = block;
+            }
+            block[ch & 0xFF] = mapped;
+        }
+    }
+
+    private NumberParser() {}
+
+    /**
+     * 数値のパースに関係する文字をASCIIに変換する.<br>
+     * 全角英数記号と各種10進数字が対象で、それ以外はそのまま返す.
+     *
+     * @param ch 対象文字
+     * @return 変換後の文字
+     */
+    static char toAscii(final char ch) {
+        if (ch < 0x80) {
+            return ch;
+        }
+
+        char[] block = ASCII_TABLE[ch >>> 8];
+        if (block == null) {
+            return ch;
+        }
+        return block[ch & 0xFF];
+    }
+
+    /**
+     * 文字列を{@link #toAscii(char)}で変換する.<br>
+     * ASCIIだけの文字列はそのまま返す.
+     *
+     * @param val 対象文字列
+     * @return 変換後の文字列
+     */
+    static String normalize(final String val) {
+        int length = val.length();
+        int index = 0;
+        while (index < length && val.charAt(index) < 0x80) {
+            index++;
+        }
+        if (index == length) {
+            return val;
+        }
+
+        char[] chars = val.toCharArray();
+        for (; index < length; index++) {
+            chars[index] = toAscii(chars[index]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 10進整数の文字列をlongに変換し、min～maxの範囲に丸める.<br>
+     * 空文字、指数、小数などを含む場合は{@link #NOT_PARSED}.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @param min 下限
+     * @param max 上限
+     * @return 変換後数値
+     */
+    static long parseLong(final CharSequence val, final int start, final int end, final long min,
+            final long max) {
+
+        if (start >= end) {
+            return NOT_PARSED;
+        }
+
+        int index = start;
+        char ch = toAscii(val.charAt(index));
+        boolean negative = false;
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            if (++index == end) {
+                return NOT_PARSED;
+            }
+        }
+
+        // isCreatableは先頭0の数字列を8進数として検査するので、8,9を含む場合は従来処理に任せる
+        boolean octal = toAscii(val.charAt(index)) == '0' && index + 1 < end;
+
+        // Long.MIN_VALUEまで表せるように負数で積み上げる
+        long result = 0;
+        if (!octal) {
+            // ASCII数字が8桁続く間はまとめて変換する
+            while (end - index >= 8 && result >= MULTMIN8) {
+                long digits = eightDigits(load(val, index));
+                if (digits < 0) {
+                    break;
+                }
+                result = result * 100_000_000 - digits;
+                index += 8;
+            }
+        }
+
+        boolean overflow = false;
+        for (; index < end; index++) {
+            int digit = toAscii(val.charAt(index)) - '0';
+            if (digit < 0 || digit > 9 || (octal && digit > 7)) {
+                return NOT_PARSED;
+            }
+            if (overflow) {
+                continue;
+            }
+            if (result < MULTMIN) {
+                overflow = true;
+                continue;
+            }
+            result *= 10;
+            if (result < Long.MIN_VALUE + digit) {
+                overflow = true;
+                continue;
+            }
+            result -= digit;
+        }
+
+        return clamp(result, negative, overflow, min, max);
+    }
+
+    /**
+     * 10進整数の文字配列をlongに変換し、min～maxの範囲に丸める.<br>
+     * {@link #parseLong(CharSequence, int, int, long, long)}の文字配列版.
+     *
+     * @param val 対象文字配列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @param min 下限
+     * @param max 上限
+     * @return 変換後数値
+     */
+    static long parseLong(final char[] val, final int start, final int end, final long min,
+            final long max) {
+
+        if (start >= end) {
+            return NOT_PARSED;
+        }
+
+        int index = start;
+        char ch = toAscii(val[index]);
+        boolean negative = false;
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            if (++index == end) {
+                return NOT_PARSED;
+            }
+        }
+
+        boolean octal = toAscii(val[index]) == '0' && index + 1 < end;
+
+        long result = 0;
+        if (!octal) {
+            while (end - index >= 8 && result >= MULTMIN8) {
+                long digits = eightDigits(load(val, index));
+                if (digits < 0) {
+                    break;
+                }
+                result = result * 100_000_000 - digits;
+                index += 8;
+            }
+        }
+
+        boolean overflow = false;
+        for (; index < end; index++) {
+            int digit = toAscii(val[index]) - '0';
+            if (digit < 0 || digit > 9 || (octal && digit > 7)) {
+                return NOT_PARSED;
+            }
+            if (overflow) {
+                continue;
+            }
+            if (result < MULTMIN) {
+                overflow = true;
+                continue;
+            }
+            result *= 10;
+            if (result < Long.MIN_VALUE + digit) {
+                overflow = true;
+                continue;
+            }
+            result -= digit;
+        }
+
+        return clamp(result, negative, overflow, min, max);
+    }
+
+    /**
+     * UTF-8の10進整数をlongに変換し、min～maxの範囲に丸める.<br>
+     * {@link #parseLong(CharSequence, int, int, long, long)}のバイト配列版で、文字列にデコードせずに変換する.
+     *
+     * @param val 対象バイト配列
+     * @param start 開始位置
+     * @param end 終了位置(この位置のバイトは含まない)
+     * @param min 下限
+     * @param max 上限
+     * @return 変換後数値
+     */
+    static long parseLong(final byte[] val, final int start, final int end, final long min,
+            final long max) {
+
+        if (start >= end) {
+            return NOT_PARSED;
+        }
+
+        int index = start;
+        int decoded = decode(val, index, end);
+        if (decoded < 0) {
+            return NOT_PARSED;
+        }
+        char ch = toAscii((char) decoded);
+        boolean negative = false;
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            index += decoded >>> 16;
+            if (index == end || (decoded = decode(val, index, end)) < 0) {
+                return NOT_PARSED;
+            }
+            ch = toAscii((char) decoded);
+        }
+
+        boolean octal = ch == '0' && index + (decoded >>> 16) < end;
+
+        long result = 0;
+        if (!octal && end - index >= 8) {
+            int first = index;
+            while (end - index >= 8 && result >= MULTMIN8) {
+                long digits = eightDigits(load(val, index));
+                if (digits < 0) {
+                    break;
+                }
+                result = result * 100_000_000 - digits;
+                index += 8;
+            }
+            if (index == end) {
+                return clamp(result, negative, false, min, max);
+            }
+            if (index != first) {
+                if ((decoded = decode(val, index, end)) < 0) {
+                    return NOT_PARSED;
+                }
+                ch = toAscii((char) decoded);
+            }
+        }
+
+        boolean overflow = false;
+        while (true) {
+            int digit = ch - '0';
+            if (digit < 0 || digit > 9 || (octal && digit > 7)) {
+                return NOT_PARSED;
+            }
+            if (!overflow) {
+                if (result < MULTMIN || result * 10 < Long.MIN_VALUE + digit) {
+                    overflow = true;
+                } else {
+                    result = result * 10 - digit;
+                }
+            }
+
+            index += decoded >>> 16;
+            if (index == end) {
+                break;
+            }
+            if ((decoded = decode(val, index, end)) < 0) {
+                return NOT_PARSED;
+            }
+            ch = toAscii((char) decoded);
+        }
+
+        return clamp(result, negative, overflow, min, max);
+    }
+
+    /**
+     * UTF-8の10進整数をlongに変換し、min～maxの範囲に丸める.<br>
+     * {@link #parseLong(byte[], int, int, long, long)}のByteBuffer版で、バッファの位置は変更しない.
+     *
+     * @param val 対象バッファ
+     * @param start 開始位置
+     * @param end 終了位置(この位置のバイトは含まない)
+     * @param min 下限
+     * @param max 上限
+     * @return 変換後数値
+     */
+    static long parseLong(final ByteBuffer val, final int start, final int end, final long min,
+            final long max) {
+
+        if (val.hasArray()) {
+            return parseLong(val.array(), val.arrayOffset() + start, val.arrayOffset() + end,
+                    min, max);
+        }
+        if (start >= end) {
+            return NOT_PARSED;
+        }
+
+        int index = start;
+        int decoded = decode(val, index, end);
+        if (decoded < 0) {
+            return NOT_PARSED;
+        }
+        char ch = toAscii((char) decoded);
+        boolean negative = false;
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            index += decoded >>> 16;
+            if (index == end || (decoded = decode(val, index, end)) < 0) {
+                return NOT_PARSED;
+            }
+            ch = toAscii((char) decoded);
+        }
+
+        boolean octal = ch == '0' && index + (decoded >>> 16) < end;
+
+        long result = 0;
+        if (!octal && end - index >= 8) {
+            int first = index;
+            while (end - index >= 8 && result >= MULTMIN8) {
+                long digits = eightDigits(load(val, index));
+                if (digits < 0) {
+                    break;
+                }
+                result = result * 100_000_000 - digits;
+                index += 8;
+            }
+            if (index == end) {
+                return clamp(result, negative, false, min, max);
+            }
+            if (index != first) {
+                if ((decoded = decode(val, index, end)) < 0) {
+                    return NOT_PARSED;
+                }
+                ch = toAscii((char) decoded);
+            }
+        }
+
+        boolean overflow = false;
+        while (true) {
+            int digit = ch - '0';
+            if (digit < 0 || digit > 9 || (octal && digit > 7)) {
+                return NOT_PARSED;
+            }
+            if (!overflow) {
+                if (result < MULTMIN || result * 10 < Long.MIN_VALUE + digit) {
+                    overflow = true;
+                } else {
+                    result = result * 10 - digit;
+                }
+            }
+
+            index += decoded >>> 16;
+            if (index == end) {
+                break;
+            }
+            if ((decoded = decode(val, index, end)) < 0) {
+                return NOT_PARSED;
+            }
+            ch = toAscii((char) decoded);
+        }
+
+        return clamp(result, negative, overflow, min, max);
+    }
+
+    /**
+     * 8バイトに詰めたASCII文字が全て数字であれば、8桁の数値に変換する.<br>
+     * 先頭の文字が最下位バイト. 判定も変換も1文字ずつ処理せずに数回の演算で行う.
+     *
+     * @param chunk 8文字を詰めた値
+     * @return 変換後数値、数字以外を含む場合は-1
+     */
+    private static long eightDigits(final long chunk) {
+        // 各バイトが0x30～0x39であれば、上位4bitと+6した上位4bitがどちらも3になる
+        if (((chunk & 0xF0F0F0F0F0F0F0F0L)
+                | (((chunk + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4))
+                != 0x3333333333333333L) {
+            return -1;
+        }
+
+        // 隣り合う桁を2桁、4桁、8桁とまとめていく
+        long value = chunk - 0x3030303030303030L;
+        value = value * 10 + (value >>> 8);
+        return ((value & 0x000000FF000000FFL) * (100 + (1_000_000L << 32))
+                + ((value >>> 16) & 0x000000FF000000FFL) * (1 + (10_000L << 32))) >>> 32;
+    }
+
+    /**
+     * 8文字を先頭が最下位バイトになるように詰める.
+     *
+     * @param val 対象文字列
+     * @param index 開始位置
+     * @return 8文字を詰めた値、1バイトに収まらない文字を含む場合は0
+     */
+    private static long load(final CharSequence val, final int index) {
+        long chunk = 0;
+        int bits = 0;
+        for (int offset = 0; offset < 8; offset++) {
+            char ch = val.charAt(index + offset);
+            bits |= ch;
+            chunk |= (long) ch << (offset << 3);
+        }
+        return bits < 0x100 ? chunk : 0;
+    }
+
+    /**
+     * 8文字を先頭が最下位バイトになるように詰める.
+     *
+     * @param val 対象文字配列
+     * @param index 開始位置
+     * @return 8文字を詰めた値、1バイトに収まらない文字を含む場合は0
+     */
+    private static long load(final char[] val, final int index) {
+        long chunk = 0;
+        int bits = 0;
+        for (int offset = 0; offset < 8; offset++) {
+            char ch = val[index + offset];
+            bits |= ch;
+            chunk |= (long) ch << (offset << 3);
+        }
+        return bits < 0x100 ? chunk : 0;
+    }
+
+    /**
+     * 8バイトを先頭が最下位バイトになるように読み込む.
+     *
+     * @param val 対象バイト配列
+     * @param index 開始位置
+     * @return 8バイトを詰めた値
+     */
+    private static long load(final byte[] val, final int index) {
+        return (val[index] & 0xFFL) | (val[index + 1] & 0xFFL) << 8
+                | (val[index + 2] & 0xFFL) << 16 | (val[index + 3] & 0xFFL) << 24
+                | (val[index + 4] & 0xFFL) << 32 | (val[index + 5] & 0xFFL) << 40
+                | (val[index + 6] & 0xFFL) << 48 | (val[index + 7] & 0xFFL) << 56;
+    }
+
+    /**
+     * 8バイトを先頭が最下位バイトになるように読み込む.
+     *
+     * @param val 対象バッファ
+     * @param index 開始位置
+     * @return 8バイトを詰めた値
+     */
+    private static long load(final ByteBuffer val, final int index) {
+        long chunk = val.getLong(index);
+        return val.order() == ByteOrder.LITTLE_ENDIAN ? chunk : Long.reverseBytes(chunk);
+    }
+
+    /**
+     * UTF-8の1文字をデコードする.<br>
+     * 下位16bitが文字、上位がバイト数. 不正なバイト列やBMP外の文字は-1.
+     *
+     * @param val 対象バイト配列
+     * @param index 文字の開始位置
+     * @param end 終了位置
+     * @return デコード結果
+     */
+    private static int decode(final byte[] val, final int index, final int end) {
+        int b0 = val[index];
+        if (b0 >= 0) {
+            return b0 | 1 << 16;
+        }
+
+        if ((b0 & 0xE0) == 0xC0 && index + 1 < end) {
+            return decode2(b0, val[index + 1]);
+        } else if ((b0 & 0xF0) == 0xE0 && index + 2 < end) {
+            return decode3(b0, val[index + 1], val[index + 2]);
+        }
+        return -1;
+    }
+
+    /**
+     * UTF-8の1文字をデコードする.<br>
+     * {@link #decode(byte[], int, int)}のByteBuffer版.
+     *
+     * @param val 対象バッファ
+     * @param index 文字の開始位置
+     * @param end 終了位置
+     * @return デコード結果
+     */
+    private static int decode(final ByteBuffer val, final int index, final int end) {
+        int b0 = val.get(index);
+        if (b0 >= 0) {
+            return b0 | 1 << 16;
+        }
+
+        if ((b0 & 0xE0) == 0xC0 && index + 1 < end) {
+            return decode2(b0, val.get(index + 1));
+        } else if ((b0 & 0xF0) == 0xE0 && index + 2 < end) {
+            return decode3(b0, val.get(index + 1), val.get(index + 2));
+        }
+        return -1;
+    }
+
+    /**
+     * UTF-8の2バイト文字をデコードする.
+     *
+     * @param b0 1バイト目
+     * @param b1 2バイト目
+     * @return デコード結果
+     */
+    private static int decode2(final int b0, final int b1) {
+        if ((b1 & 0xC0) != 0x80) {
+            return -1;
+        }
+
+        int ch = (b0 & 0x1F) << 6 | (b1 & 0x3F);
+        if (ch < 0x80) {
+            // 冗長な表現
+            return -1;
+        }
+        return ch | 2 << 16;
+    }
+
+    /**
+     * UTF-8の3バイト文字をデコードする.
+     *
+     * @param b0 1バイト目
+     * @param b1 2バイト目
+     * @param b2 3バイト目
+     * @return デコード結果
+     */
+    private static int decode3(final int b0, final int b1, final int b2) {
+        if ((b1 & 0xC0) != 0x80 || (b2 & 0xC0) != 0x80) {
+            return -1;
+        }
+
+        int ch = (b0 & 0x0F) << 12 | (b1 & 0x3F) << 6 | (b2 & 0x3F);
+        if (ch < 0x800 || Character.isSurrogate((char) ch)) {
+            // 冗長な表現、サロゲート
+            return -1;
+        }
+        return ch | 3 << 16;
+    }
+
+    /**
+     * Integer.parseIntと同じ規則で10進整数をパースする.<br>
+     * 符号はASCIIの'+'と'-'のみ、数字は各種10進数字を受け付け、min～maxを超える場合は不正とする.<br>
+     * 例外は発生させない.
+     *
+     * @param val 対象文字列
+     * @param min 下限
+     * @param max 上限
+     * @param result 結果を受け取る場合に指定
+     * @return true:変換できた
+     */
+    static boolean parseStrict(@Nullable final String val, final long min, final long max,
+            @Nullable final ParseResult result) {
+
+        if (val == null || val.isEmpty()) {
+            return invalid(result);
+        }
+
+        int length = val.length();
+        int index = 0;
+        char first = val.charAt(0);
+        boolean negative = false;
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++index == length) {
+                return invalid(result);
+            }
+        }
+
+        // 負数で積み上げてlimitを下回ったら範囲外
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long value = 0;
+        for (; index < length; index++) {
+            int digit = toAscii(val.charAt(index)) - '0';
+            if (digit < 0 || digit > 9 || value < multmin) {
+                return invalid(result);
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                return invalid(result);
+            }
+            value -= digit;
+        }
+
+        if (result != null) {
+            result.set(ParseResult.OK, negative ? value : -value);
+        }
+        return true;
+    }
+
+    /**
+     * {@link NumberUtils#toInt(String)}と同じ規則で文字列をlongに変換し、min～maxの範囲に丸める.<br>
+     * 小数部は切り捨てる. ステータスはNULL、空白の場合は{@link ParseResult#BLANK}、
+     * 数値でない場合は{@link ParseResult#INVALID}、範囲外の場合は{@link ParseResult#CLAMPED}とする.
+     *
+     * @param val 対象文字列
+     * @param min 下限
+     * @param max 上限
+     * @param result 結果を受け取る{@link ParseResult}
+     * @return true:値を設定できた(OKまたはCLAMPED)
+     */
+    static boolean parseLenient(@Nullable final String val, final long min, final long max,
+            final ParseResult result) {
+
+        if (val != null) {
+            // 上下限と同じ値は丸めたかどうか分からないので従来処理で判定する
+            long fast = parseLong(val, 0, val.length(), min, max);
+            if (fast != NOT_PARSED && fast != min && fast != max) {
+                result.set(ParseResult.OK, fast);
+                return true;
+            }
+        }
+
+        if (StringUtils.isBlank(val)) {
+            result.set(ParseResult.BLANK, 0);
+            return false;
+        }
+
+        BigDecimal decimal = toBigDecimal(val);
+        if (decimal == null) {
+            return invalid(result);
+        }
+
+        if (decimal.compareTo(BigDecimal.valueOf(max)) > 0) {
+            result.set(ParseResult.CLAMPED, max);
+        } else if (decimal.compareTo(BigDecimal.valueOf(min)) < 0) {
+            result.set(ParseResult.CLAMPED, min);
+        } else {
+            result.set(ParseResult.OK, decimal.longValue());
+        }
+        return true;
+    }
+
+    /**
+     * 基数の接頭辞を判定する.<br>
+     * 符号の後が"0x"なら16、"0b"なら2、それ以外は10.全角も{@link #toAscii(char)}で判定する.
+     *
+     * @param val 対象文字列
+     * @return 基数
+     */
+    static int prefixRadix(@Nullable final String val) {
+
+        if (val == null) {
+            return 10;
+        }
+
+        int index = 0;
+        int length = val.length();
+        if (index < length && (toAscii(val.charAt(index)) == '-'
+                || toAscii(val.charAt(index)) == '+')) {
+            index++;
+        }
+        if (index + 1 >= length || toAscii(val.charAt(index)) != '0') {
+            return 10;
+        }
+
+        char ch = toAscii(val.charAt(index + 1));
+        if (ch == 'x' || ch == 'X') {
+            return 16;
+        } else if (ch == 'b' || ch == 'B') {
+            return 2;
+        }
+        return 10;
+    }
+
+    /**
+     * 基数を指定して整数の文字列をlongに変換し、min～maxの範囲に丸める.<br>
+     * 符号の後に基数が16なら"0x"、2なら"0b"の接頭辞があってもよい.全角は{@link #toAscii(char)}で変換する.
+     * ステータスはNULL、空白の場合は{@link ParseResult#BLANK}、数字以外を含む場合は
+     * {@link ParseResult#INVALID}、範囲外の場合は{@link ParseResult#CLAMPED}とする.<br>
+     * 下限が{@link Long#MIN_VALUE}の場合、下限の値と{@link #NOT_PARSED}は区別できないので
+     * resultのステータスで判定する.
+     *
+     * @param val 対象文字列
+     * @param radix 基数({@link Character#MIN_RADIX}～{@link Character#MAX_RADIX})
+     * @param min 下限
+     * @param max 上限
+     * @param result 結果を受け取る場合に指定
+     * @return 変換後数値、NULL、空白、数字以外を含む場合は{@link #NOT_PARSED}
+     */
+    static long parseRadix(@Nullable final String val, final int radix, final long min,
+            final long max, @Nullable final ParseResult result) {
+
+        if (StringUtils.isBlank(val)) {
+            if (result != null) {
+                result.set(ParseResult.BLANK, 0);
+            }
+            return NOT_PARSED;
+        }
+
+        int length = val.length();
+        int index = 0;
+        char ch = toAscii(val.charAt(index));
+        boolean negative = false;
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            index++;
+        }
+        if (radix == 16 || radix == 2) {
+            if (prefixRadix(val) == radix) {
+                index += 2;
+            }
+        }
+        if (index == length) {
+            invalid(result);
+            return NOT_PARSED;
+        }
+
+        // Long.MIN_VALUEまで表せるように負数で積み上げる
+        long multmin = Long.MIN_VALUE / radix;
+        long value = 0;
+        boolean overflow = false;
+        for (; index < length; index++) {
+            ch = toAscii(val.charAt(index));
+            int digit = ch < 0x80 ? Character.digit(ch, radix) : -1;
+            if (digit < 0) {
+                invalid(result);
+                return NOT_PARSED;
+            }
+            if (overflow) {
+                continue;
+            }
+            if (value < multmin) {
+                overflow = true;
+                continue;
+            }
+            value *= radix;
+            if (value < Long.MIN_VALUE + digit) {
+                overflow = true;
+                continue;
+            }
+            value -= digit;
+        }
+
+        long clamped = clamp(value, negative, overflow, min, max);
+        if (result != null) {
+            boolean inRange = !overflow && (negative ? value : -value) == clamped
+                    && (negative || value != Long.MIN_VALUE);
+            result.set(inRange ? ParseResult.OK : ParseResult.CLAMPED, clamped);
+        }
+        return clamped;
+    }
+
+    /**
+     * 文字列をdoubleに変換する.<br>
+     * doubleに収まらない場合は±{@link Double#MAX_VALUE}に丸める.
+     *
+     * @param val 対象文字列
+     * @return 変換後数値、NULL、空白、数値でない場合は{@link Double#NaN}
+     */
+    static double parseDouble(@Nullable final String val) {
+
+        double value = Double.NaN;
+        if (val != null) {
+            value = FloatParser.parseDouble(val, 0, val.length());
+        }
+
+        if (Double.isNaN(value)) {
+            BigDecimal decimal = toBigDecimal(val);
+            if (decimal == null) {
+                return Double.NaN;
+            }
+            value = decimal.doubleValue();
+        }
+
+        if (Double.isInfinite(value)) {
+            return value > 0 ? Double.MAX_VALUE : -Double.MAX_VALUE;
+        }
+        return value;
+    }
+
+    /**
+     * 文字列をfloatに変換する.<br>
+     * floatに収まらない場合は±{@link Float#MAX_VALUE}に丸める.
+     *
+     * @param val 対象文字列
+     * @return 変換後数値、NULL、空白、数値でない場合は{@link Float#NaN}
+     */
+    static float parseFloat(@Nullable final String val) {
+
+        float value = Float.NaN;
+        if (val != null) {
+            value = FloatParser.parseFloat(val, 0, val.length());
+        }
+
+        if (Float.isNaN(value)) {
+            BigDecimal decimal = toBigDecimal(val);
+            if (decimal == null) {
+                return Float.NaN;
+            }
+            value = decimal.floatValue();
+        }
+
+        if (Float.isInfinite(value)) {
+            return value > 0 ? Float.MAX_VALUE : -Float.MAX_VALUE;
+        }
+        return value;
+    }
+
+    /**
+     * 文字列を全角などを変換してからBigDecimalにする.
+     *
+     * @param val 対象文字列
+     * @return 変換後数値、NULL、空白、数値でない場合はNULL
+     */
+    @Nullable
+    static BigDecimal toBigDecimal(@Nullable final String val) {
+
+        if (StringUtils.isBlank(val)) {
+            return null;
+        }
+
+        String str = normalize(val);
+        if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
+            return null;
+        }
+
+        try {
+            return BigNumberParser.parseBigDecimal(str);
+        } catch (@SuppressWarnings("unused") NumberFormatException exc) {
+            // 16進数や型サフィックス付きの数値
+            return null;
+        }
+    }
+
+    /**
+     * 結果に不正を設定する.
+     *
+     * @param result 結果を受け取る場合に指定
+     * @return false
+     */
+    private static boolean invalid(@Nullable final ParseResult result) {
+        if (result != null) {
+            result.set(ParseResult.INVALID, 0);
+        }
+        return false;
+    }
+
+    /**
+     * 負数で積み上げた値を符号付きにしてmin～maxの範囲に丸める.
+     *
+     * @param result 負数で積み上げた値
+     * @param negative 負数かどうか
+     * @param overflow longに収まらなかったかどうか
+     * @param min 下限
+     * @param max 上限
+     * @return 変換後数値
+     */
+    private static long clamp(final long result, final boolean negative, final boolean overflow,
+            final long min, final long max) {
+
+        if (overflow) {
+            return negative ? min : max;
+        }
+
+        long value;
+        if (negative) {
+            value = result;
+        } else if (result == Long.MIN_VALUE) {
+            return max;
+        } else {
+            value = -result;
+        }
+
+        if (value > max) {
+            return max;
+        } else if (value < min) {
+            return min;
+        }
+
+        return value;
+    }
+}
@@ -1,7 +1,12 @@
 package io.github.anego.utils;
 
 import java.math.BigDecimal;
-import java.text.Normalizer;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 
@@ -13,8 +18,44 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class NumberUtils {
 
+    /** 基数を接頭辞("0x"、"0b")で判定することを示す値. */
+    public static final int RADIX_AUTO = 0;
+
+    /** 文字列の変換結果のキャッシュ(NULLは無効). */
+    private static volatile ParseCache parseCache;
+
     private NumberUtils() {}
 
+    /**
+     * 文字列の変換結果のキャッシュを有効にする.<br>
+     * 既に有効な場合は新しいキャッシュに置き換える.
+     *
+     * @param maxSize 型ごとの最大件数
+     * @return 有効にしたキャッシュ(ヒット数、ミス数の確認用)
+     * @see ParseCache
+     */
+    public static ParseCache enableParseCache(final int maxSize) {
+        ParseCache cache = new ParseCache(maxSize);
+        parseCache = cache;
+        return cache;
+    }
+
+    /**
+     * 文字列の変換結果のキャッシュを無効にする.
+     */
+    public static void disableParseCache() {
+        parseCache = null;
+    }
+
+    /**
+     * 有効な文字列の変換結果のキャッシュを取得する.
+     *
+     * @return キャッシュ、無効な場合はNULL
+     */
+    public static ParseCache getParseCache() {
+        return parseCache;
+    }
+
     /**
      * <p>
      * NULLか-1以下ならTrue.
@@ -308,9 +349,371 @@ public class NumberUtils {
         return true;
     }
 
+    /**
+     * Shortの配列の各要素を{@link #isEmpty(Short)}で判定したビットマスク.<br>
+     * 要素の位置indexのビットは、戻り値の[index / 64]の下位から(index % 64)番目で、
+     * {@link BitSet#valueOf(long[])}でBitSetにできる.長さを超える位置のビットは0.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に判定する.
+     *
+     * @param vals 対象数値の配列
+     * @return isEmptyがtrueの要素のビットが立ったマスク
+     */
+    public static long[] emptyMask(final Short[] vals) {
+        return mask(vals, false);
+    }
+
+    /**
+     * Integerの配列の各要素を{@link #isEmpty(Integer)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @return isEmptyがtrueの要素のビットが立ったマスク
+     */
+    public static long[] emptyMask(final Integer[] vals) {
+        return mask(vals, false);
+    }
+
+    /**
+     * Longの配列の各要素を{@link #isEmpty(Long)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @return isEmptyがtrueの要素のビットが立ったマスク
+     */
+    public static long[] emptyMask(final Long[] vals) {
+        return mask(vals, false);
+    }
+
+    /**
+     * 数値のリストの各要素をNULLか負数で判定したビットマスク.<br>
+     * Short、Integer、Longは{@link #isEmpty(Long)}と同じ結果で、それ以外の数値は符号で判定する.
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値のリスト
+     * @return NULLか負数の要素のビットが立ったマスク
+     */
+    public static long[] emptyMask(final List<? extends Number> vals) {
+        return mask(vals, false);
+    }
+
+    /**
+     * shortの配列の各要素をnullValueをNULLとみなして{@link #isEmpty(Short)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @return nullValueか負数の要素のビットが立ったマスク
+     */
+    public static long[] emptyMask(final short[] vals, final short nullValue) {
+        return mask(vals, nullValue, false);
+    }
+
+    /**
+     * intの配列の各要素をnullValueをNULLとみなして{@link #isEmpty(Integer)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @return nullValueか負数の要素のビットが立ったマスク
+     */
+    public static long[] emptyMask(final int[] vals, final int nullValue) {
+        return mask(vals, nullValue, false);
+    }
+
+    /**
+     * longの配列の各要素をnullValueをNULLとみなして{@link #isEmpty(Long)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @return nullValueか負数の要素のビットが立ったマスク
+     */
+    public static long[] emptyMask(final long[] vals, final long nullValue) {
+        return mask(vals, nullValue, false);
+    }
+
+    /**
+     * Shortの配列の各要素を{@link #isBlank(Short)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @return isBlankがtrueの要素のビットが立ったマスク
+     */
+    public static long[] blankMask(final Short[] vals) {
+        return mask(vals, true);
+    }
+
+    /**
+     * Integerの配列の各要素を{@link #isBlank(Integer)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @return isBlankがtrueの要素のビットが立ったマスク
+     */
+    public static long[] blankMask(final Integer[] vals) {
+        return mask(vals, true);
+    }
+
+    /**
+     * Longの配列の各要素を{@link #isBlank(Long)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @return isBlankがtrueの要素のビットが立ったマスク
+     */
+    public static long[] blankMask(final Long[] vals) {
+        return mask(vals, true);
+    }
+
+    /**
+     * 数値のリストの各要素をNULLか0以下で判定したビットマスク.<br>
+     * Short、Integer、Longは{@link #isBlank(Long)}と同じ結果で、それ以外の数値は符号で判定する.
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値のリスト
+     * @return NULLか0以下の要素のビットが立ったマスク
+     */
+    public static long[] blankMask(final List<? extends Number> vals) {
+        return mask(vals, true);
+    }
+
+    /**
+     * shortの配列の各要素をnullValueをNULLとみなして{@link #isBlank(Short)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @return nullValueか0以下の要素のビットが立ったマスク
+     */
+    public static long[] blankMask(final short[] vals, final short nullValue) {
+        return mask(vals, nullValue, true);
+    }
+
+    /**
+     * intの配列の各要素をnullValueをNULLとみなして{@link #isBlank(Integer)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @return nullValueか0以下の要素のビットが立ったマスク
+     */
+    public static long[] blankMask(final int[] vals, final int nullValue) {
+        return mask(vals, nullValue, true);
+    }
+
+    /**
+     * longの配列の各要素をnullValueをNULLとみなして{@link #isBlank(Long)}で判定したビットマスク.<br>
+     * ビットの並びは{@link #emptyMask(Short[])}と同じ.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @return nullValueか0以下の要素のビットが立ったマスク
+     */
+    public static long[] blankMask(final long[] vals, final long nullValue) {
+        return mask(vals, nullValue, true);
+    }
+
+    /**
+     * Shortの配列のマスクを作る.
+     *
+     * @param vals 対象数値の配列
+     * @param blank true:0以下、false:負数を判定する
+     * @return マスク
+     */
+    private static long[] mask(final Short[] vals, final boolean blank) {
+        long[] mask = new long[(vals.length + 63) >>> 6];
+        // 1を引くと0が負数になるので、元の値とのORの符号ビットで0以下を判定する
+        int offset = blank ? 1 : 0;
+        RangeTask.run(vals.length, (start, end) -> {
+            for (int base = start; base < end; base += 64) {
+                int limit = Math.min(base + 64, end);
+                long word = 0;
+                for (int index = base; index < limit; index++) {
+                    Short val = vals[index];
+                    int bit = val == null ? 1 : (val.intValue() | (val.intValue() - offset)) >>> 31;
+                    word |= (long) bit << index;
+                }
+                mask[base >>> 6] = word;
+            }
+        });
+        return mask;
+    }
+
+    /**
+     * Integerの配列のマスクを作る.
+     *
+     * @param vals 対象数値の配列
+     * @param blank true:0以下、false:負数を判定する
+     * @return マスク
+     */
+    private static long[] mask(final Integer[] vals, final boolean blank) {
+        long[] mask = new long[(vals.length + 63) >>> 6];
+        int offset = blank ? 1 : 0;
+        RangeTask.run(vals.length, (start, end) -> {
+            for (int base = start; base < end; base += 64) {
+                int limit = Math.min(base + 64, end);
+                long word = 0;
+                for (int index = base; index < limit; index++) {
+                    Integer val = vals[index];
+                    int bit = val == null ? 1 : (val.intValue() | (val.intValue() - offset)) >>> 31;
+                    word |= (long) bit << index;
+                }
+                mask[base >>> 6] = word;
+            }
+        });
+        return mask;
+    }
+
+    /**
+     * Longの配列のマスクを作る.
+     *
+     * @param vals 対象数値の配列
+     * @param blank true:0以下、false:負数を判定する
+     * @return マスク
+     */
+    private static long[] mask(final Long[] vals, final boolean blank) {
+        long[] mask = new long[(vals.length + 63) >>> 6];
+        long offset = blank ? 1 : 0;
+        RangeTask.run(vals.length, (start, end) -> {
+            for (int base = start; base < end; base += 64) {
+                int limit = Math.min(base + 64, end);
+                long word = 0;
+                for (int index = base; index < limit; index++) {
+                    Long val = vals[index];
+                    long bit = val == null ? 1
+                            : (val.longValue() | (val.longValue() - offset)) >>> 63;
+                    word |= bit << index;
+                }
+                mask[base >>> 6] = word;
+            }
+        });
+        return mask;
+    }
+
+    /**
+     * 数値のリストのマスクを作る.
+     *
+     * @param vals 対象数値のリスト
+     * @param blank true:0以下、false:負数を判定する
+     * @return マスク
+     */
+    private static long[] mask(final List<? extends Number> vals, final boolean blank) {
+        long[] mask = new long[(vals.size() + 63) >>> 6];
+        int index = 0;
+        for (Number val : vals) {
+            int sign = val == null ? -1 : signum(val);
+            if (sign < 0 || (blank && sign == 0)) {
+                mask[index >>> 6] |= 1L << index;
+            }
+            index++;
+        }
+        return mask;
+    }
+
+    /**
+     * shortの配列のマスクを作る.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @param blank true:0以下、false:負数を判定する
+     * @return マスク
+     */
+    private static long[] mask(final short[] vals, final short nullValue, final boolean blank) {
+        long[] mask = new long[(vals.length + 63) >>> 6];
+        int offset = blank ? 1 : 0;
+        RangeTask.run(vals.length, (start, end) -> {
+            for (int base = start; base < end; base += 64) {
+                int limit = Math.min(base + 64, end);
+                long word = 0;
+                for (int index = base; index < limit; index++) {
+                    int val = vals[index];
+                    int bit = ((val | (val - offset)) >>> 31) | (val == nullValue ? 1 : 0);
+                    word |= (long) bit << index;
+                }
+                mask[base >>> 6] = word;
+            }
+        });
+        return mask;
+    }
+
+    /**
+     * intの配列のマスクを作る.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @param blank true:0以下、false:負数を判定する
+     * @return マスク
+     */
+    private static long[] mask(final int[] vals, final int nullValue, final boolean blank) {
+        long[] mask = new long[(vals.length + 63) >>> 6];
+        int offset = blank ? 1 : 0;
+        RangeTask.run(vals.length, (start, end) -> {
+            for (int base = start; base < end; base += 64) {
+                int limit = Math.min(base + 64, end);
+                long word = 0;
+                for (int index = base; index < limit; index++) {
+                    int val = vals[index];
+                    int bit = ((val | (val - offset)) >>> 31) | (val == nullValue ? 1 : 0);
+                    word |= (long) bit << index;
+                }
+                mask[base >>> 6] = word;
+            }
+        });
+        return mask;
+    }
+
+    /**
+     * longの配列のマスクを作る.
+     *
+     * @param vals 対象数値の配列
+     * @param nullValue NULLとみなす値
+     * @param blank true:0以下、false:負数を判定する
+     * @return マスク
+     */
+    private static long[] mask(final long[] vals, final long nullValue, final boolean blank) {
+        long[] mask = new long[(vals.length + 63) >>> 6];
+        long offset = blank ? 1 : 0;
+        RangeTask.run(vals.length, (start, end) -> {
+            for (int base = start; base < end; base += 64) {
+                int limit = Math.min(base + 64, end);
+                long word = 0;
+                for (int index = base; index < limit; index++) {
+                    long val = vals[index];
+                    long bit = ((val | (val - offset)) >>> 63) | (val == nullValue ? 1 : 0);
+                    word |= bit << index;
+                }
+                mask[base >>> 6] = word;
+            }
+        });
+        return mask;
+    }
+
+    /**
+     * 数値の符号を取得する.
+     *
+     * @param val 対象数値
+     * @return 負数なら-1、0なら0、正数(NaNを含む)なら1
+     */
+    private static int signum(final Number val) {
+        if (val instanceof Long || val instanceof Integer || val instanceof Short
+                || val instanceof Byte) {
+            return Long.signum(val.longValue());
+        } else if (val instanceof BigDecimal) {
+            return ((BigDecimal) val).signum();
+        } else if (val instanceof BigInteger) {
+            return ((BigInteger) val).signum();
+        }
+
+        double dbl = val.doubleValue();
+        if (dbl < 0) {
+            return -1;
+        }
+        return dbl == 0 ? 0 : 1;
+    }
+
     /**
      * 文字列を数値に変換.<br>
-     * 10進数のみ.<br>
+     * 10進数のみ(基数を指定する場合は{@link #toIntRadix(String, int)}).<br>
      * 変換できなければ0.
      *
      * @param val 変換する文字列
@@ -322,13 +725,25 @@ public class NumberUtils {
             return 0;
         }
 
-        String str = Normalizer.normalize(val, Normalizer.Form.NFKC);
+        long fast = NumberParser.parseLong(val, 0, val.length(), Integer.MIN_VALUE,
+                Integer.MAX_VALUE);
+        if (fast != NumberParser.NOT_PARSED) {
+            return (int) fast;
+        }
+
+        if (parseCache != null) {
+            // 空白以外はtoInteger(String)と同じ結果になる
+            Integer cached = toInteger(val);
+            return cached == null ? 0 : cached.intValue();
+        }
+
+        String str = NumberParser.normalize(val);
 
         if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
             return 0;
         }
 
-        BigDecimal decimal = new BigDecimal(val);
+        BigDecimal decimal = BigNumberParser.parseBigDecimal(str);
         double dbl = decimal.doubleValue();
         if (dbl > Integer.MAX_VALUE) {
             return Integer.MAX_VALUE;
@@ -339,6 +754,95 @@ public class NumberUtils {
         return decimal.intValue();
     }
 
+    /**
+     * 文字列の指定範囲を数値に変換.<br>
+     * {@link #toInt(String)}と同じ規則で、部分文字列を作らずに変換する.
+     *
+     * @param val 変換する文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後数値
+     */
+    public static int toInt(final CharSequence val, final int start, final int end) {
+
+        if (val == null) {
+            return 0;
+        }
+
+        long fast = NumberParser.parseLong(val, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        if (fast != NumberParser.NOT_PARSED) {
+            return (int) fast;
+        }
+
+        return NumberUtils.toInt(substring(val, start, end));
+    }
+
+    /**
+     * 文字配列の指定範囲を数値に変換.<br>
+     * {@link #toInt(String)}と同じ規則で、文字列を作らずに変換する.
+     *
+     * @param val 変換する文字配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 変換後数値
+     */
+    public static int toInt(final char[] val, final int offset, final int length) {
+
+        if (val == null) {
+            return 0;
+        }
+
+        long fast = NumberParser.parseLong(val, offset, offset + length, Integer.MIN_VALUE,
+                Integer.MAX_VALUE);
+        if (fast != NumberParser.NOT_PARSED) {
+            return (int) fast;
+        }
+
+        return NumberUtils.toInt(substring(val, offset, length));
+    }
+
+    /**
+     * UTF-8のバイト配列の指定範囲を数値に変換.<br>
+     * {@link #toInt(String)}と同じ規則で、全角数字も含めて文字列にデコードせずに変換する.
+     *
+     * @param val 対象バイト配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 変換後
+     */
+    public static int toInt(final byte[] val, final int offset, final int length) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, Integer.MIN_VALUE,
+                    Integer.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return (int) fast;
+            }
+        }
+
+        return NumberUtils.toInt(decode(val, offset, length));
+    }
+
+    /**
+     * UTF-8のByteBufferのpositionからlimitまでを数値に変換.<br>
+     * {@link #toInt(String)}と同じ規則で、文字列にデコードせずに変換する. バッファの位置は変更しない.
+     *
+     * @param val 対象バッファ
+     * @return 変換後
+     */
+    public static int toInt(final ByteBuffer val) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, val.position(), val.limit(), Integer.MIN_VALUE,
+                    Integer.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return (int) fast;
+            }
+        }
+
+        return NumberUtils.toInt(decode(val));
+    }
+
     /**
      * ShortをNULLチェックしてintに変換.
      *
@@ -445,7 +949,7 @@ public class NumberUtils {
             return null;
         }
 
-        return Short.valueOf(val.shortValue());
+        return BoxCache.shortOf(val.shortValue());
     }
 
     /**
@@ -457,12 +961,12 @@ public class NumberUtils {
     public static Short toShort(int val) {
 
         if (val > Short.MAX_VALUE) {
-            return Short.valueOf(Short.MAX_VALUE);
+            return BoxCache.shortOf(Short.MAX_VALUE);
         } else if (val < Short.MIN_VALUE) {
-            return Short.valueOf(Short.MIN_VALUE);
+            return BoxCache.shortOf(Short.MIN_VALUE);
         }
 
-        return Short.valueOf((short) val);
+        return BoxCache.shortOf((short) val);
     }
 
     /**
@@ -475,10 +979,10 @@ public class NumberUtils {
     public static Short toShort(Short val, int defaultval) {
 
         if (val == null) {
-            return Short.valueOf((short) defaultval);
+            return BoxCache.shortOf((short) defaultval);
         }
 
-        return val;
+        return BoxCache.canonical(val);
     }
 
     /**
@@ -502,14 +1006,14 @@ public class NumberUtils {
     public static Short toShort(Integer val, short defaultval) {
 
         if (val == null) {
-            return Short.valueOf(defaultval);
+            return BoxCache.shortOf(defaultval);
         } else if (val.intValue() > Short.MAX_VALUE) {
-            return Short.valueOf(Short.MAX_VALUE);
+            return BoxCache.shortOf(Short.MAX_VALUE);
         } else if (val.intValue() < Short.MIN_VALUE) {
-            return Short.valueOf(Short.MIN_VALUE);
+            return BoxCache.shortOf(Short.MIN_VALUE);
         }
 
-        return Short.valueOf(val.shortValue());
+        return BoxCache.shortOf(val.shortValue());
     }
 
     /**
@@ -521,12 +1025,12 @@ public class NumberUtils {
     public static Short toShort(long val) {
 
         if (val > Short.MAX_VALUE) {
-            return Short.valueOf(Short.MAX_VALUE);
+            return BoxCache.shortOf(Short.MAX_VALUE);
         } else if (val < Short.MIN_VALUE) {
-            return Short.valueOf(Short.MIN_VALUE);
+            return BoxCache.shortOf(Short.MIN_VALUE);
         }
 
-        return Short.valueOf(Long.valueOf(val).shortValue());
+        return BoxCache.shortOf((short) val);
     }
 
     /**
@@ -539,12 +1043,12 @@ public class NumberUtils {
         if (val == null) {
             return null;
         } else if (val.longValue() > Short.MAX_VALUE) {
-            return Short.valueOf(Short.MAX_VALUE);
+            return BoxCache.shortOf(Short.MAX_VALUE);
         } else if (val.longValue() < Short.MIN_VALUE) {
-            return Short.valueOf(Short.MIN_VALUE);
+            return BoxCache.shortOf(Short.MIN_VALUE);
         }
 
-        return Short.valueOf(val.shortValue());
+        return BoxCache.shortOf(val.shortValue());
     }
 
     /**
@@ -555,156 +1059,453 @@ public class NumberUtils {
      */
     public static Short toShort(final String val) {
 
+        if (val != null) {
+            long fast =
+                    NumberParser.parseLong(val, 0, val.length(), Short.MIN_VALUE, Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
+        }
+
         if (StringUtils.isBlank(val)) {
             return null;
         }
 
-        String str = Normalizer.normalize(val, Normalizer.Form.NFKC);
-
-        if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
-            return null;
+        ParseCache cache = parseCache;
+        if (cache == null) {
+            return toShortSlow(val);
         }
 
-        BigDecimal decimal = new BigDecimal(val);
-        double dbl = decimal.doubleValue();
-        if (dbl > Short.MAX_VALUE) {
-            return Short.valueOf(Short.MAX_VALUE);
-        } else if (dbl < Short.MIN_VALUE) {
-            return Short.valueOf(Short.MIN_VALUE);
+        Object cached = cache.get(ParseCache.SHORT, val);
+        if (cached != ParseCache.MISS) {
+            return (Short) cached;
         }
 
-        return Short.valueOf(decimal.shortValue());
+        Short result = toShortSlow(val);
+        cache.put(ParseCache.SHORT, val, result);
+        return result;
     }
 
     /**
-     * 文字列をチェックしてShortに変換.
+     * 高速パスで変換できなかった文字列をShortに変換.
      *
-     * @param val 対象文字列
-     * @param defaultValue NULL、または変換できなかった場合のデフォルト値
+     * @param val 対象文字列(空白以外)
      * @return 変換後の値
      */
-    public static Short toShort(final String val, final int defaultValue) {
-
-        if (StringUtils.isBlank(val)) {
-            return Short.valueOf((short) defaultValue);
-        }
+    private static Short toShortSlow(final String val) {
 
-        String str = Normalizer.normalize(val, Normalizer.Form.NFKC);
+        String str = NumberParser.normalize(val);
 
         if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
-            return Short.valueOf((short) defaultValue);
+            return null;
         }
 
-        BigDecimal decimal = new BigDecimal(val);
+        BigDecimal decimal = BigNumberParser.parseBigDecimal(str);
         double dbl = decimal.doubleValue();
         if (dbl > Short.MAX_VALUE) {
-            return Short.valueOf(Short.MAX_VALUE);
+            return BoxCache.shortOf(Short.MAX_VALUE);
         } else if (dbl < Short.MIN_VALUE) {
-            return Short.valueOf(Short.MIN_VALUE);
+            return BoxCache.shortOf(Short.MIN_VALUE);
         }
 
-        return Short.valueOf(decimal.shortValue());
+        return BoxCache.shortOf(decimal.shortValue());
     }
 
     /**
-     * ShortをNULLチェックしてIntegerにするだけ.<br>
-     * NULLの場合はdefaulValueでIntegerを作って返す.
+     * 文字列の指定範囲をNULLチェックしてShortに変換.<br>
+     * {@link #toShort(String)}と同じ規則で、部分文字列を作らずに変換する.
      *
-     * @param val 変換する数値
-     * @param defaultValue NULLの場合のデフォルト値
-     * @return 変換後
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後の値
      */
-    public static Integer toInteger(final Short val, int defaultValue) {
+    public static Short toShort(final CharSequence val, final int start, final int end) {
 
-        if (val == null) {
-            return Integer.valueOf(defaultValue);
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, start, end, Short.MIN_VALUE, Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
         }
 
-        return Integer.valueOf(val.intValue());
+        return NumberUtils.toShort(substring(val, start, end));
     }
 
     /**
-     * IntegerをNULLチェックしてIntegerにするだけ.<br>
-     * NULLの場合はdefaulValueでIntegerを作って返す.
+     * 文字配列の指定範囲をNULLチェックしてShortに変換.<br>
+     * {@link #toShort(String)}と同じ規則で、文字列を作らずに変換する.
      *
-     * @param val 変換する数値
-     * @param defaultValue NULLの場合のデフォルト値
-     * @return 変換後
+     * @param val 対象文字配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 変換後の値
      */
-    public static Integer toInteger(final Integer val, int defaultValue) {
+    public static Short toShort(final char[] val, final int offset, final int length) {
 
-        if (val == null) {
-            return Integer.valueOf(defaultValue);
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, Short.MIN_VALUE,
+                    Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
         }
 
-        return val;
+        return NumberUtils.toShort(substring(val, offset, length));
     }
 
     /**
-     * longをIntegerにするだけ.
+     * UTF-8のバイト配列の指定範囲をNULLチェックしてShortに変換.<br>
+     * {@link #toShort(String)}と同じ規則で、全角数字も含めて文字列にデコードせずに変換する.
      *
-     * @param val 変換する数値
+     * @param val 対象バイト配列
+     * @param offset 開始位置
+     * @param length 長さ
      * @return 変換後
      */
-    public static Integer toInteger(final long val) {
+    public static Short toShort(final byte[] val, final int offset, final int length) {
 
-        if (val > Integer.MAX_VALUE) {
-            return Integer.valueOf(Integer.MAX_VALUE);
-        } else if (val < Integer.MIN_VALUE) {
-            return Integer.valueOf(Integer.MIN_VALUE);
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, Short.MIN_VALUE,
+                    Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
         }
 
-        return Integer.valueOf(Long.valueOf(val).intValue());
+        return NumberUtils.toShort(decode(val, offset, length));
     }
 
     /**
-     * LongをNULLチェックしてIntegerにするだけ.
+     * UTF-8のByteBufferのpositionからlimitまでをNULLチェックしてShortに変換.<br>
+     * {@link #toShort(String)}と同じ規則で、文字列にデコードせずに変換する. バッファの位置は変更しない.
      *
-     * @param val 変換する数値
+     * @param val 対象バッファ
      * @return 変換後
      */
-    public static Integer toInteger(final Long val) {
-
-        if (val == null) {
-            return null;
-        }
+    public static Short toShort(final ByteBuffer val) {
 
-        if (val.longValue() > Integer.MAX_VALUE) {
-            return Integer.valueOf(Integer.MAX_VALUE);
-        } else if (val.longValue() < Integer.MIN_VALUE) {
-            return Integer.valueOf(Integer.MIN_VALUE);
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, val.position(), val.limit(), Short.MIN_VALUE,
+                    Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
         }
 
-        return Integer.valueOf(val.intValue());
+        return NumberUtils.toShort(decode(val));
     }
 
     /**
-     * StringをNULLチェックしてIntegerにするだけ.
+     * 文字列をチェックしてShortに変換.
      *
-     * @param val 変換する数値
-     * @return 変換後
+     * @param val 対象文字列
+     * @param defaultValue NULL、または変換できなかった場合のデフォルト値
+     * @return 変換後の値
      */
-    public static Integer toInteger(final String val) {
+    public static Short toShort(final String val, final int defaultValue) {
+
+        if (val != null) {
+            long fast =
+                    NumberParser.parseLong(val, 0, val.length(), Short.MIN_VALUE, Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
+        }
 
         if (StringUtils.isBlank(val)) {
-            return null;
+            return BoxCache.shortOf((short) defaultValue);
         }
 
-        String str = Normalizer.normalize(val, Normalizer.Form.NFKC);
+        if (parseCache != null) {
+            // 空白以外はtoShort(String)と同じ結果で、NULLの場合がデフォルト値になる
+            Short cached = toShort(val);
+            return cached == null ? BoxCache.shortOf((short) defaultValue) : cached;
+        }
+
+        String str = NumberParser.normalize(val);
+
+        if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
+            return BoxCache.shortOf((short) defaultValue);
+        }
+
+        BigDecimal decimal = BigNumberParser.parseBigDecimal(str);
+        double dbl = decimal.doubleValue();
+        if (dbl > Short.MAX_VALUE) {
+            return BoxCache.shortOf(Short.MAX_VALUE);
+        } else if (dbl < Short.MIN_VALUE) {
+            return BoxCache.shortOf(Short.MIN_VALUE);
+        }
+
+        return BoxCache.shortOf(decimal.shortValue());
+    }
+
+    /**
+     * 文字列の指定範囲をチェックしてShortに変換.<br>
+     * {@link #toShort(String, int)}と同じ規則で、部分文字列を作らずに変換する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @param defaultValue NULL、または変換できなかった場合のデフォルト値
+     * @return 変換後の値
+     */
+    public static Short toShort(final CharSequence val, final int start, final int end,
+            final int defaultValue) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, start, end, Short.MIN_VALUE, Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
+        }
+
+        return NumberUtils.toShort(substring(val, start, end), defaultValue);
+    }
+
+    /**
+     * 文字配列の指定範囲をチェックしてShortに変換.<br>
+     * {@link #toShort(String, int)}と同じ規則で、文字列を作らずに変換する.
+     *
+     * @param val 対象文字配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @param defaultValue NULL、または変換できなかった場合のデフォルト値
+     * @return 変換後の値
+     */
+    public static Short toShort(final char[] val, final int offset, final int length,
+            final int defaultValue) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, Short.MIN_VALUE,
+                    Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
+        }
+
+        return NumberUtils.toShort(substring(val, offset, length), defaultValue);
+    }
+
+    /**
+     * UTF-8のバイト配列の指定範囲をチェックしてShortに変換.<br>
+     * {@link #toShort(String, int)}と同じ規則で、全角数字も含めて文字列にデコードせずに変換する.
+     *
+     * @param val 対象バイト配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @param defaultValue NULL、または変換できなかった場合のデフォルト値
+     * @return 変換後
+     */
+    public static Short toShort(final byte[] val, final int offset, final int length,
+            final int defaultValue) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, Short.MIN_VALUE,
+                    Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
+        }
+
+        return NumberUtils.toShort(decode(val, offset, length), defaultValue);
+    }
+
+    /**
+     * UTF-8のByteBufferのpositionからlimitまでをチェックしてShortに変換.<br>
+     * {@link #toShort(String, int)}と同じ規則で、文字列にデコードせずに変換する. バッファの位置は変更しない.
+     *
+     * @param val 対象バッファ
+     * @param defaultValue NULL、または変換できなかった場合のデフォルト値
+     * @return 変換後
+     */
+    public static Short toShort(final ByteBuffer val, final int defaultValue) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, val.position(), val.limit(), Short.MIN_VALUE,
+                    Short.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.shortOf((short) fast);
+            }
+        }
+
+        return NumberUtils.toShort(decode(val), defaultValue);
+    }
+
+    /**
+     * ShortをNULLチェックしてIntegerにするだけ.<br>
+     * NULLの場合はdefaulValueでIntegerを作って返す.
+     *
+     * @param val 変換する数値
+     * @param defaultValue NULLの場合のデフォルト値
+     * @return 変換後
+     */
+    public static Integer toInteger(final Short val, int defaultValue) {
+
+        if (val == null) {
+            return BoxCache.integerOf(defaultValue);
+        }
+
+        return BoxCache.integerOf(val.intValue());
+    }
+
+    /**
+     * IntegerをNULLチェックしてIntegerにするだけ.<br>
+     * NULLの場合はdefaulValueでIntegerを作って返す.
+     *
+     * @param val 変換する数値
+     * @param defaultValue NULLの場合のデフォルト値
+     * @return 変換後
+     */
+    public static Integer toInteger(final Integer val, int defaultValue) {
+
+        if (val == null) {
+            return BoxCache.integerOf(defaultValue);
+        }
+
+        return BoxCache.canonical(val);
+    }
+
+    /**
+     * longをIntegerにするだけ.
+     *
+     * @param val 変換する数値
+     * @return 変換後
+     */
+    public static Integer toInteger(final long val) {
+
+        if (val > Integer.MAX_VALUE) {
+            return BoxCache.integerOf(Integer.MAX_VALUE);
+        } else if (val < Integer.MIN_VALUE) {
+            return BoxCache.integerOf(Integer.MIN_VALUE);
+        }
+
+        return BoxCache.integerOf((int) val);
+    }
+
+    /**
+     * LongをNULLチェックしてIntegerにするだけ.
+     *
+     * @param val 変換する数値
+     * @return 変換後
+     */
+    public static Integer toInteger(final Long val) {
+
+        if (val == null) {
+            return null;
+        }
+
+        if (val.longValue() > Integer.MAX_VALUE) {
+            return BoxCache.integerOf(Integer.MAX_VALUE);
+        } else if (val.longValue() < Integer.MIN_VALUE) {
+            return BoxCache.integerOf(Integer.MIN_VALUE);
+        }
+
+        return BoxCache.integerOf(val.intValue());
+    }
+
+    /**
+     * StringをNULLチェックしてIntegerにするだけ.
+     *
+     * @param val 変換する数値
+     * @return 変換後
+     */
+    public static Integer toInteger(final String val) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, 0, val.length(), Integer.MIN_VALUE,
+                    Integer.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.integerOf((int) fast);
+            }
+        }
+
+        if (StringUtils.isBlank(val)) {
+            return null;
+        }
+
+        ParseCache cache = parseCache;
+        if (cache == null) {
+            return toIntegerSlow(val);
+        }
+
+        Object cached = cache.get(ParseCache.INTEGER, val);
+        if (cached != ParseCache.MISS) {
+            return (Integer) cached;
+        }
+
+        Integer result = toIntegerSlow(val);
+        cache.put(ParseCache.INTEGER, val, result);
+        return result;
+    }
+
+    /**
+     * 高速パスで変換できなかった文字列をIntegerに変換.
+     *
+     * @param val 変換する文字列(空白以外)
+     * @return 変換後
+     */
+    private static Integer toIntegerSlow(final String val) {
+
+        String str = NumberParser.normalize(val);
 
         if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
-            return Integer.valueOf(0);
+            return BoxCache.integerOf(0);
         }
 
-        BigDecimal decimal = new BigDecimal(val);
+        BigDecimal decimal = BigNumberParser.parseBigDecimal(str);
         double dbl = decimal.doubleValue();
         if (dbl > Integer.MAX_VALUE) {
-            return Integer.valueOf(Integer.MAX_VALUE);
+            return BoxCache.integerOf(Integer.MAX_VALUE);
         } else if (dbl < Integer.MIN_VALUE) {
-            return Integer.valueOf(Integer.MIN_VALUE);
+            return BoxCache.integerOf(Integer.MIN_VALUE);
+        }
+
+        return BoxCache.integerOf(decimal.intValue());
+    }
+
+    /**
+     * 文字列の指定範囲をNULLチェックしてIntegerにするだけ.<br>
+     * {@link #toInteger(String)}と同じ規則で、部分文字列を作らずに変換する.
+     *
+     * @param val 変換する文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後
+     */
+    public static Integer toInteger(final CharSequence val, final int start, final int end) {
+
+        if (val != null) {
+            long fast =
+                    NumberParser.parseLong(val, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.integerOf((int) fast);
+            }
+        }
+
+        return NumberUtils.toInteger(substring(val, start, end));
+    }
+
+    /**
+     * 文字配列の指定範囲をNULLチェックしてIntegerにするだけ.<br>
+     * {@link #toInteger(String)}と同じ規則で、文字列を作らずに変換する.
+     *
+     * @param val 変換する文字配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 変換後
+     */
+    public static Integer toInteger(final char[] val, final int offset, final int length) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, Integer.MIN_VALUE,
+                    Integer.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED) {
+                return BoxCache.integerOf((int) fast);
+            }
         }
 
-        return Integer.valueOf(decimal.intValue());
+        return NumberUtils.toInteger(substring(val, offset, length));
     }
 
     /**
@@ -714,7 +1515,7 @@ public class NumberUtils {
      * @return 変換後
      */
     public static Integer toInteger(final Byte val) {
-        return Optional.ofNullable(val).map(mapper -> Integer.valueOf(mapper.intValue()))
+        return Optional.ofNullable(val).map(mapper -> BoxCache.integerOf(mapper.intValue()))
                 .orElse(null);
     }
 
@@ -725,7 +1526,7 @@ public class NumberUtils {
      * @return 変換後
      */
     public static Integer toInteger(final Short val) {
-        return Optional.ofNullable(val).map(mapper -> Integer.valueOf(mapper.intValue()))
+        return Optional.ofNullable(val).map(mapper -> BoxCache.integerOf(mapper.intValue()))
                 .orElse(null);
     }
 
@@ -739,11 +1540,11 @@ public class NumberUtils {
     public static Integer toInteger(final BigDecimal val) {
         return Optional.ofNullable(val).map(mapper -> {
             if (mapper.longValue() > Integer.MAX_VALUE) {
-                return Integer.valueOf(Integer.MAX_VALUE);
+                return BoxCache.integerOf(Integer.MAX_VALUE);
             } else if (mapper.longValue() < Integer.MIN_VALUE) {
-                return Integer.valueOf(Integer.MIN_VALUE);
+                return BoxCache.integerOf(Integer.MIN_VALUE);
             }
-            return Integer.valueOf(val.intValue());
+            return BoxCache.integerOf(val.intValue());
         }).orElse(null);
     }
 
@@ -759,7 +1560,7 @@ public class NumberUtils {
             return null;
         }
 
-        return new Long(val.longValue());
+        return BoxCache.longOf(val.longValue());
     }
 
     /**
@@ -770,23 +1571,140 @@ public class NumberUtils {
      */
     public static Long toLong(final String val) {
 
+        if (val != null) {
+            // 範囲外の場合は0になるので、上下限と同じ値は従来処理で判定する
+            long fast =
+                    NumberParser.parseLong(val, 0, val.length(), Long.MIN_VALUE, Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && fast != Long.MAX_VALUE) {
+                return BoxCache.longOf(fast);
+            }
+        }
+
         if (StringUtils.isBlank(val)) {
             return null;
         }
 
-        String str = Normalizer.normalize(val, Normalizer.Form.NFKC);
+        ParseCache cache = parseCache;
+        if (cache == null) {
+            return toLongSlow(val);
+        }
+
+        Object cached = cache.get(ParseCache.LONG, val);
+        if (cached != ParseCache.MISS) {
+            return (Long) cached;
+        }
+
+        Long result = toLongSlow(val);
+        cache.put(ParseCache.LONG, val, result);
+        return result;
+    }
+
+    /**
+     * 高速パスで変換できなかった文字列をLongに変換.
+     *
+     * @param val 対象文字列(空白以外)
+     * @return 変換後
+     */
+    private static Long toLongSlow(final String val) {
+
+        String str = NumberParser.normalize(val);
 
         if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
             return null;
         }
 
         try {
-            return Long.valueOf(Long.parseLong(str));
+            return BoxCache.longOf(Long.parseLong(str));
         } catch (@SuppressWarnings("unused") NumberFormatException exc) {
-            return Long.valueOf(0);
+            return BoxCache.longOf(0);
         }
     }
 
+    /**
+     * 文字列の指定範囲をLongに変換するだけ.<br>
+     * {@link #toLong(String)}と同じ規則で、部分文字列を作らずに変換する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後
+     */
+    public static Long toLong(final CharSequence val, final int start, final int end) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && fast != Long.MAX_VALUE) {
+                return BoxCache.longOf(fast);
+            }
+        }
+
+        return NumberUtils.toLong(substring(val, start, end));
+    }
+
+    /**
+     * 文字配列の指定範囲をLongに変換するだけ.<br>
+     * {@link #toLong(String)}と同じ規則で、文字列を作らずに変換する.
+     *
+     * @param val 対象文字配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 変換後
+     */
+    public static Long toLong(final char[] val, final int offset, final int length) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, Long.MIN_VALUE,
+                    Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && fast != Long.MAX_VALUE) {
+                return BoxCache.longOf(fast);
+            }
+        }
+
+        return NumberUtils.toLong(substring(val, offset, length));
+    }
+
+    /**
+     * UTF-8のバイト配列の指定範囲をLongに変換.<br>
+     * {@link #toLong(String)}と同じ規則で、全角数字も含めて文字列にデコードせずに変換する.
+     *
+     * @param val 対象バイト配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 変換後
+     */
+    public static Long toLong(final byte[] val, final int offset, final int length) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, Long.MIN_VALUE,
+                    Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && fast != Long.MAX_VALUE) {
+                return BoxCache.longOf(fast);
+            }
+        }
+
+        return NumberUtils.toLong(decode(val, offset, length));
+    }
+
+    /**
+     * UTF-8のByteBufferのpositionからlimitまでをLongに変換.<br>
+     * {@link #toLong(String)}と同じ規則で、文字列にデコードせずに変換する. バッファの位置は変更しない.
+     *
+     * @param val 対象バッファ
+     * @return 変換後
+     */
+    public static Long toLong(final ByteBuffer val) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, val.position(), val.limit(), Long.MIN_VALUE,
+                    Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && fast != Long.MAX_VALUE) {
+                return BoxCache.longOf(fast);
+            }
+        }
+
+        return NumberUtils.toLong(decode(val));
+    }
+
     /**
      * ShortをNULLチェックしてByteに変換するだけ.
      *
@@ -813,17 +1731,24 @@ public class NumberUtils {
      */
     public static float toFloat(final String val) {
 
+        if (val != null) {
+            float fast = FloatParser.parseFloat(val, 0, val.length());
+            if (!Float.isNaN(fast)) {
+                return floatOf(fast);
+            }
+        }
+
         if (StringUtils.isBlank(val)) {
             return 0;
         }
 
-        String str = Normalizer.normalize(val, Normalizer.Form.NFKC);
+        String str = NumberParser.normalize(val);
 
         if (!org.apache.commons.lang3.math.NumberUtils.isCreatable(str)) {
             return 0;
         }
 
-        BigDecimal decimal = new BigDecimal(val);
+        BigDecimal decimal = BigNumberParser.parseBigDecimal(str);
         double dbl = decimal.doubleValue();
         if (dbl > Float.MAX_VALUE) {
             return Float.MAX_VALUE;
@@ -834,6 +1759,91 @@ public class NumberUtils {
         return decimal.floatValue();
     }
 
+    /**
+     * 文字列の指定範囲をNULLチェックしてfloatに変換するだけ.<br>
+     * {@link #toFloat(String)}と同じ規則で、単純な10進数の場合は部分文字列を作らずに変換する.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 変換後
+     */
+    public static float toFloat(final CharSequence val, final int start, final int end) {
+
+        if (val != null) {
+            float fast = FloatParser.parseFloat(val, start, end);
+            if (!Float.isNaN(fast)) {
+                return floatOf(fast);
+            }
+        }
+
+        return NumberUtils.toFloat(substring(val, start, end));
+    }
+
+    /**
+     * 文字配列の指定範囲をNULLチェックしてfloatに変換するだけ.<br>
+     * {@link #toFloat(String)}と同じ規則で、整数の場合は文字列を作らずに変換する.
+     *
+     * @param val 対象文字配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 変換後
+     */
+    public static float toFloat(final char[] val, final int offset, final int length) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, -Long.MAX_VALUE,
+                    Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && Math.abs(fast) != Long.MAX_VALUE) {
+                return floatOf(fast);
+            }
+        }
+
+        return NumberUtils.toFloat(substring(val, offset, length));
+    }
+
+    /**
+     * UTF-8のバイト配列の指定範囲をNULLチェックしてfloatに変換.<br>
+     * {@link #toFloat(String)}と同じ規則で、全角数字も含めて文字列にデコードせずに変換する.
+     *
+     * @param val 対象バイト配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 変換後
+     */
+    public static float toFloat(final byte[] val, final int offset, final int length) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, offset, offset + length, -Long.MAX_VALUE,
+                    Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && Math.abs(fast) != Long.MAX_VALUE) {
+                return floatOf(fast);
+            }
+        }
+
+        return NumberUtils.toFloat(decode(val, offset, length));
+    }
+
+    /**
+     * UTF-8のByteBufferのpositionからlimitまでをNULLチェックしてfloatに変換.<br>
+     * {@link #toFloat(String)}と同じ規則で、文字列にデコードせずに変換する. バッファの位置は変更しない.
+     *
+     * @param val 対象バッファ
+     * @return 変換後
+     */
+    public static float toFloat(final ByteBuffer val) {
+
+        if (val != null) {
+            long fast = NumberParser.parseLong(val, val.position(), val.limit(), -Long.MAX_VALUE,
+                    Long.MAX_VALUE);
+            if (fast != NumberParser.NOT_PARSED && Math.abs(fast) != Long.MAX_VALUE) {
+                return floatOf(fast);
+            }
+        }
+
+        return NumberUtils.toFloat(decode(val));
+    }
+
     /**
      * NULLチェックしてdoubleを返すだけ.
      *
@@ -849,51 +1859,617 @@ public class NumberUtils {
     }
 
     /**
-     * 文字列をIntegerに変換できるかどうかの判定.
+     * 文字列をNULLチェックしてdoubleに変換するだけ.<br>
+     * NULL、空白、数値でない場合は0、doubleに収まらない場合は±{@link Double#MAX_VALUE}.<br>
+     * 16進数などBigDecimalにできない数値も0とし、例外は発生させない.
      *
-     * @param val チェック対象文字列
-     * @return チェック結果
+     * @param val 対象文字列
+     * @return 変換後
      */
-    public static boolean isInteger(final String val) {
+    public static double toDouble(final String val) {
+        double value = NumberParser.parseDouble(val);
+        if (Double.isNaN(value)) {
+            return 0d;
+        }
 
-        try {
-            Integer.parseInt(val);
-        } catch (@SuppressWarnings("unused") NumberFormatException exc) {
-            return false;
+        return value;
+    }
+
+    /**
+     * 文字列をNULLチェックしてBigDecimalに変換するだけ.<br>
+     * 全角は半角として扱い、NULL、空白、数値でない場合はNULL.
+     * 16進数などBigDecimalにできない数値もNULLとし、例外は発生させない.<br>
+     * 桁数の多い文字列は分割して変換するので、数万桁でも桁数にほぼ比例する時間で変換できる.
+     *
+     * @param val 対象文字列
+     * @return 変換後
+     */
+    public static BigDecimal toBigDecimal(final String val) {
+        return NumberParser.toBigDecimal(val);
+    }
+
+    /**
+     * 文字列をNULLチェックしてBigIntegerに変換するだけ.<br>
+     * {@link #toBigDecimal(String)}と同じ規則で、小数部は切り捨てる.<br>
+     * 指数で桁が増える場合は、整数部の桁数が文字列の長さと{@value BigNumberParser#THRESHOLD}の
+     * 大きい方を超えるとNULLにする("1e999999999"のような短い入力で巨大な数を作らないため).
+     *
+     * @param val 対象文字列
+     * @return 変換後
+     */
+    public static BigInteger toBigInteger(final String val) {
+        BigDecimal decimal = NumberParser.toBigDecimal(val);
+        if (decimal == null) {
+            return null;
         }
 
-        return true;
+        // 整数部の桁数をビット長から見積もる(log10(2) < 0.30103なので最大1桁多くなる)
+        long digits = (long) (decimal.unscaledValue().bitLength() * 0.30103d) + 1
+                - decimal.scale();
+        if (digits > Math.max(val.length() + 1, BigNumberParser.THRESHOLD)) {
+            return null;
+        } else if (digits <= 0) {
+            // 1未満は10の巨大な累乗で割らずに0にする
+            return BigInteger.ZERO;
+        }
+
+        return decimal.toBigInteger();
     }
 
     /**
-     * 文字列をLongに変換できるかどうかの判定.
+     * 値を指定した型に変換する.<br>
+     * 変換先はByte、Short、Integer、Long、Float、Double、BigDecimal、BigIntegerとそのプリミティブ型.
+     * 変換元は文字列(CharSequence)、Boolean(1か0)、数値.{@link Decimal}はBigDecimalと同じく
+     * doubleを経由せずに変換する.<br>
+     * 規則は既存のメソッドに合わせ、文字列からShort、Integer、Longへは{@link #toShort(String)}、
+     * {@link #toInteger(String)}、{@link #toLong(String)}と同じ.Byteへは{@link #toShort(String)}の
+     * 結果を{@link #toByte(Short)}で丸める.数値から整数型へは小数部を切り捨て、範囲外は上下限に丸める.
+     * <br>
+     * 文字列から変換できない場合の結果は元のメソッドのままで、変換先によって異なる.
+     * Byte、Short、Long、BigDecimal、BigIntegerはNULL、Integerは0、Float、Doubleは0.0.
+     * 空文字と空白のみはどのラッパー型もNULL.プリミティブ型はNULLの代わりに0.
+     * 文字列からLongへは{@link #toLong(String)}と同じく、小数と範囲外は0になる.<br>
+     * 変換処理は変換元の型ごとに一度だけ作って保持するので、変換ごとの型の判定は
+     * ClassValueの参照1回だけになる(整数のラッパー型から整数型へは型の比較だけ).
+     *
+     * <pre>
+     * convert("１２３", Integer.class)   = 123
+     * convert(70000L, short.class)      = 32767
+     * convert(null, int.class)          = 0
+     * convert(null, Integer.class)      = null
+     * convert(1.9d, Long.class)         = 1
+     * convert(Boolean.TRUE, int.class)  = 1
+     * convert("abc", Integer.class)     = 0
+     * convert("abc", Long.class)        = null
+     * convert("abc", long.class)        = 0
+     * </pre>
+     *
+     * @param <T> 変換先の型
+     * @param value 変換元の値
+     * @param target 変換先の型
+     * @return 変換後の値
+     * @throws IllegalArgumentException 変換できない型の組み合わせの場合
+     */
+    public static <T> T convert(final Object value, final Class<T> target) {
+        return NumberConverter.convert(value, target);
+    }
+
+    /**
+     * 文字列をIntegerに変換できるかどうかの判定.<br>
+     * {@link Integer#parseInt(String)}と同じ規則で、例外を発生させずに判定する.
+     *
+     * @param val チェック対象文字列
+     * @return チェック結果
+     */
+    public static boolean isInteger(final String val) {
+        return NumberParser.parseStrict(val, Integer.MIN_VALUE, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * 文字列をLongに変換できるかどうかの判定.<br>
+     * {@link Long#parseLong(String)}と同じ規則で、例外を発生させずに判定する.
      *
      * @param val チェック対象文字列
      * @return チェック結果
      */
     public static boolean isLong(final String val) {
+        return NumberParser.parseStrict(val, Long.MIN_VALUE, Long.MAX_VALUE, null);
+    }
 
-        try {
-            Long.parseLong(val);
-        } catch (@SuppressWarnings("unused") NumberFormatException exc) {
-            return false;
+    /**
+     * 文字列をintに変換できるかを判定し、変換できればresultに値を設定する.<br>
+     * 判定は{@link #isInteger(String)}と同じ.
+     *
+     * <pre>
+     * "1"     = true  (1)
+     * "１"    = true  (1)
+     * "1.0"   = false (INVALID)
+     * null    = false (INVALID)
+     * </pre>
+     *
+     * @param val 対象文字列
+     * @param result 結果を受け取る{@link ParseResult}
+     * @return true:変換できた
+     */
+    public static boolean parseInt(final String val, final ParseResult result) {
+        return NumberParser.parseStrict(val, Integer.MIN_VALUE, Integer.MAX_VALUE, result);
+    }
+
+    /**
+     * 文字列をlongに変換できるかを判定し、変換できればresultに値を設定する.<br>
+     * 判定は{@link #isLong(String)}と同じ.
+     *
+     * @param val 対象文字列
+     * @param result 結果を受け取る{@link ParseResult}
+     * @return true:変換できた
+     */
+    public static boolean parseLong(final String val, final ParseResult result) {
+        return NumberParser.parseStrict(val, Long.MIN_VALUE, Long.MAX_VALUE, result);
+    }
+
+    /**
+     * 文字列をintに変換し、結果のステータスをresultに設定する.<br>
+     * {@link #toInteger(String)}と同じ規則で、NULLやボクシングなしで変換する.<br>
+     * 16進数など例外になっていた数値も{@link ParseResult#INVALID}とする.
+     *
+     * <pre>
+     * "1"           = 1          (OK)
+     * "1.9"         = 1          (OK)
+     * " "           = 0          (BLANK)
+     * "a"           = 0          (INVALID)
+     * "9999999999"  = 2147483647 (CLAMPED)
+     * </pre>
+     *
+     * @param val 対象文字列
+     * @param result 結果を受け取る{@link ParseResult}
+     * @return 変換後数値、値がない場合は0
+     */
+    public static int toInt(final String val, final ParseResult result) {
+        NumberParser.parseLenient(val, Integer.MIN_VALUE, Integer.MAX_VALUE, result);
+        return result.intValue();
+    }
+
+    /**
+     * 文字列をshortに変換し、結果のステータスをresultに設定する.<br>
+     * {@link #toInt(String, ParseResult)}と同じ規則で、shortの範囲に丸める.
+     *
+     * @param val 対象文字列
+     * @param result 結果を受け取る{@link ParseResult}
+     * @return 変換後数値、値がない場合は0
+     */
+    public static short toShort(final String val, final ParseResult result) {
+        NumberParser.parseLenient(val, Short.MIN_VALUE, Short.MAX_VALUE, result);
+        return result.shortValue();
+    }
+
+    /**
+     * 文字列をlongに変換し、結果のステータスをresultに設定する.<br>
+     * {@link #toInt(String, ParseResult)}と同じ規則で、longの範囲に丸める.<br>
+     * {@link #toLong(String)}は小数や範囲外を0にするが、こちらは小数部を切り捨て、
+     * 範囲外は上下限にして{@link ParseResult#CLAMPED}とする.
+     *
+     * @param val 対象文字列
+     * @param result 結果を受け取る{@link ParseResult}
+     * @return 変換後数値、値がない場合は0
+     */
+    public static long toLong(final String val, final ParseResult result) {
+        NumberParser.parseLenient(val, Long.MIN_VALUE, Long.MAX_VALUE, result);
+        return result.longValue();
+    }
+
+    /**
+     * 基数を指定して文字列をintに変換.<br>
+     * 全角は{@link #toInt(String)}と同じく半角として扱い、範囲外はintの上下限に丸める.
+     * 変換できなければ0で、例外は発生させない.<br>
+     * 基数が16なら"0x"、2なら"0b"の接頭辞があってもよい.{@link #RADIX_AUTO}の場合は接頭辞で基数を判定し、
+     * 接頭辞がなければ{@link #toInt(String, ParseResult)}と同じ規則の10進数として変換する.
+     *
+     * <pre>
+     * toIntRadix("ff", 16)            = 255
+     * toIntRadix("-0x80", 16)         = -128
+     * toIntRadix("０ｘＦＦ", 16)      = 255
+     * toIntRadix("0b101", RADIX_AUTO) = 5
+     * toIntRadix("12.5", RADIX_AUTO)  = 12
+     * toIntRadix("zz", 36)            = 1295
+     * toIntRadix("12", 2)             = 0
+     * </pre>
+     *
+     * @param val 変換する文字列
+     * @param radix 基数(2～36)、または{@link #RADIX_AUTO}
+     * @return 変換後数値
+     * @throws IllegalArgumentException 基数が不正な場合
+     */
+    public static int toIntRadix(final String val, final int radix) {
+        long value = parseRadix(val, radix, Integer.MIN_VALUE, Integer.MAX_VALUE, null);
+        return value == NumberParser.NOT_PARSED ? 0 : (int) value;
+    }
+
+    /**
+     * 基数を指定して文字列をIntegerに変換.<br>
+     * {@link #toIntRadix(String, int)}と同じ規則で、NULL、空白の場合はNULL、変換できなければ0.
+     *
+     * @param val 変換する文字列
+     * @param radix 基数(2～36)、または{@link #RADIX_AUTO}
+     * @return 変換後
+     * @throws IllegalArgumentException 基数が不正な場合
+     */
+    public static Integer toIntegerRadix(final String val, final int radix) {
+        long value = parseRadix(val, radix, Integer.MIN_VALUE, Integer.MAX_VALUE, null);
+        if (value != NumberParser.NOT_PARSED) {
+            return BoxCache.integerOf((int) value);
         }
+        return StringUtils.isBlank(val) ? null : BoxCache.integerOf(0);
+    }
 
-        return true;
+    /**
+     * 基数を指定して文字列をLongに変換.<br>
+     * {@link #toIntRadix(String, int)}と同じ規則で、範囲外はlongの上下限に丸める.
+     * NULL、空白、変換できない場合はNULL.<br>
+     * {@link #RADIX_AUTO}で接頭辞がない10進数は{@link #toLong(String)}と規則が異なり、
+     * {@link #toLong(String, ParseResult)}と同じく小数部は切り捨て、範囲外は上下限に丸める
+     * ({@link #toLong(String)}はどちらも0).
+     *
+     * <pre>
+     * toLongRadix("12.5", RADIX_AUTO) = 12             (toLong("12.5") = 0)
+     * toLongRadix("1e30", RADIX_AUTO) = Long.MAX_VALUE (toLong("1e30") = 0)
+     * toLongRadix("abc", RADIX_AUTO)  = null           (toLong("abc")  = null)
+     * </pre>
+     *
+     * @param val 変換する文字列
+     * @param radix 基数(2～36)、または{@link #RADIX_AUTO}
+     * @return 変換後
+     * @throws IllegalArgumentException 基数が不正な場合
+     */
+    public static Long toLongRadix(final String val, final int radix) {
+        long value = parseRadix(val, radix, Long.MIN_VALUE, Long.MAX_VALUE, null);
+        if (value != NumberParser.NOT_PARSED) {
+            return BoxCache.longOf(value);
+        }
+
+        // Long.MIN_VALUEは値がない場合と区別できないので、結果を受け取って判定し直す
+        ParseResult result = new ParseResult();
+        value = parseRadix(val, radix, Long.MIN_VALUE, Long.MAX_VALUE, result);
+        return result.hasValue() ? BoxCache.longOf(value) : null;
+    }
+
+    /**
+     * 基数を指定して文字列をlongに変換し、min～maxの範囲に丸める.<br>
+     * {@link #RADIX_AUTO}で接頭辞がない場合は10進数として小数や全角も扱う.
+     * resultを指定しない場合、高速パスで変換できればParseResultを作らない.<br>
+     * 下限が{@link Long#MIN_VALUE}の場合、下限の値と{@link NumberParser#NOT_PARSED}は
+     * 区別できないのでresultのステータスで判定する.
+     *
+     * @param val 変換する文字列
+     * @param radix 基数(2～36)、または{@link #RADIX_AUTO}
+     * @param min 下限
+     * @param max 上限
+     * @param result 結果を受け取る場合に指定(受け取らない場合はNULL)
+     * @return 変換後数値、値がない場合は{@link NumberParser#NOT_PARSED}
+     */
+    private static long parseRadix(final String val, final int radix, final long min,
+            final long max, final ParseResult result) {
+        if (radix == RADIX_AUTO) {
+            int actual = NumberParser.prefixRadix(val);
+            if (actual != 10) {
+                return NumberParser.parseRadix(val, actual, min, max, result);
+            }
+
+            // 上下限と同じ値は丸めたかどうか分からないので従来処理で判定する
+            if (result == null && val != null) {
+                long fast = NumberParser.parseLong(val, 0, val.length(), min, max);
+                if (fast != NumberParser.NOT_PARSED && fast != min && fast != max) {
+                    return fast;
+                }
+            }
+            ParseResult lenient = result != null ? result : new ParseResult();
+            return NumberParser.parseLenient(val, min, max, lenient) ? lenient.longValue()
+                    : NumberParser.NOT_PARSED;
+        }
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            throw new IllegalArgumentException("基数が不正: " + radix);
+        }
+        return NumberParser.parseRadix(val, radix, min, max, result);
     }
 
     /**
      * doubleの少数<i>degit</i>桁で四捨五入する.<br>
-     * java8ではdoubleの四捨五入に誤差が出るので念のための対応
+     * java8ではdoubleの四捨五入に誤差が出るので念のための対応.<br>
+     * BigDecimal.valueOf(val)を四捨五入した場合と同じ結果を、BigDecimalを作らずに返す.
      *
      * @param val 対象値
      * @param degit 四捨五入する桁
      * @return 変換後値
      */
     public static double decimalScale(double val, int degit) {
+        return DecimalScaler.scale(val, degit, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * doubleの少数<i>degit</i>桁で丸める.<br>
+     * BigDecimal.valueOf(val).setScale(degit, mode)と同じ結果を、BigDecimalを作らずに返す.
+     *
+     * @param val 対象値
+     * @param degit 丸める桁
+     * @param mode 丸めモード
+     * @return 変換後値
+     * @throws ArithmeticException {@link RoundingMode#UNNECESSARY}で丸めが必要な場合
+     */
+    public static double decimalScale(double val, int degit, RoundingMode mode) {
+        return DecimalScaler.scale(val, degit, mode);
+    }
+
+    /**
+     * doubleの配列をまとめて少数<i>degit</i>桁で四捨五入してoutに書き込む.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に処理する.
+     *
+     * @param in 対象値の配列
+     * @param out 変換後値を書き込む配列(inと同じ長さ以上、inと同じ配列でもよい)
+     * @param degit 四捨五入する桁
+     */
+    public static void decimalScale(final double[] in, final double[] out, final int degit) {
+        decimalScale(in, out, degit, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * doubleの配列をまとめて少数<i>degit</i>桁で丸めてoutに書き込む.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に処理する.
+     *
+     * @param in 対象値の配列
+     * @param out 変換後値を書き込む配列(inと同じ長さ以上、inと同じ配列でもよい)
+     * @param degit 丸める桁
+     * @param mode 丸めモード
+     */
+    public static void decimalScale(final double[] in, final double[] out, final int degit,
+            final RoundingMode mode) {
+
+        checkLength(in.length, out.length);
+        RangeTask.run(in.length, (start, end) -> {
+            for (int index = start; index < end; index++) {
+                out[index] = DecimalScaler.scale(in[index], degit, mode);
+            }
+        });
+    }
+
+    /**
+     * 文字列の配列をまとめてintに変換してoutに書き込む.<br>
+     * {@link #toInt(String)}と同じ規則で、小数部は切り捨て、intに収まらない場合は上下限に丸める.<br>
+     * NULL、空白、数値でない要素はdefaultValueを書き込み、戻り値のビットを立てる.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に変換する.
+     *
+     * @param in 変換する文字列の配列
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @param defaultValue 変換できなかった要素に書き込む値
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet toIntArray(final String[] in, final int[] out, final int defaultValue) {
+
+        checkLength(in.length, out.length);
+        long[] invalid = new long[(in.length + 63) >>> 6];
+        RangeTask.run(in.length, (start, end) -> {
+            ParseResult result = new ParseResult();
+            for (int index = start; index < end; index++) {
+                if (NumberParser.parseLenient(in[index], Integer.MIN_VALUE, Integer.MAX_VALUE,
+                        result)) {
+                    out[index] = (int) result.longValue();
+                } else {
+                    out[index] = defaultValue;
+                    invalid[index >>> 6] |= 1L << index;
+                }
+            }
+        });
 
-        BigDecimal bd = BigDecimal.valueOf(val);
+        return BitSet.valueOf(invalid);
+    }
 
-        return bd.setScale(degit, BigDecimal.ROUND_HALF_UP).doubleValue();
+    /**
+     * 文字列の配列をまとめてshortに変換してoutに書き込む.<br>
+     * {@link #toShort(String)}と同じ規則で、小数部は切り捨て、shortに収まらない場合は上下限に丸める.<br>
+     * NULL、空白、数値でない要素はdefaultValueを書き込み、戻り値のビットを立てる.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に変換する.
+     *
+     * @param in 変換する文字列の配列
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @param defaultValue 変換できなかった要素に書き込む値
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet toShortArray(final String[] in, final short[] out,
+            final short defaultValue) {
+
+        checkLength(in.length, out.length);
+        long[] invalid = new long[(in.length + 63) >>> 6];
+        RangeTask.run(in.length, (start, end) -> {
+            ParseResult result = new ParseResult();
+            for (int index = start; index < end; index++) {
+                if (NumberParser.parseLenient(in[index], Short.MIN_VALUE, Short.MAX_VALUE,
+                        result)) {
+                    out[index] = (short) result.longValue();
+                } else {
+                    out[index] = defaultValue;
+                    invalid[index >>> 6] |= 1L << index;
+                }
+            }
+        });
+
+        return BitSet.valueOf(invalid);
+    }
+
+    /**
+     * 文字列の配列をまとめてlongに変換してoutに書き込む.<br>
+     * {@link #toInt(String)}と同じ規則で、小数部は切り捨て、longに収まらない場合は上下限に丸める.<br>
+     * NULL、空白、数値でない要素はdefaultValueを書き込み、戻り値のビットを立てる.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に変換する.
+     *
+     * @param in 変換する文字列の配列
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @param defaultValue 変換できなかった要素に書き込む値
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet toLongArray(final String[] in, final long[] out, final long defaultValue) {
+
+        checkLength(in.length, out.length);
+        long[] invalid = new long[(in.length + 63) >>> 6];
+        RangeTask.run(in.length, (start, end) -> {
+            ParseResult result = new ParseResult();
+            for (int index = start; index < end; index++) {
+                if (NumberParser.parseLenient(in[index], Long.MIN_VALUE, Long.MAX_VALUE, result)) {
+                    out[index] = result.longValue();
+                } else {
+                    out[index] = defaultValue;
+                    invalid[index >>> 6] |= 1L << index;
+                }
+            }
+        });
+
+        return BitSet.valueOf(invalid);
+    }
+
+    /**
+     * 文字列の配列をまとめてfloatに変換してoutに書き込む.<br>
+     * floatに収まらない場合は±{@link Float#MAX_VALUE}に丸める.<br>
+     * NULL、空白、数値でない要素はdefaultValueを書き込み、戻り値のビットを立てる.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に変換する.
+     *
+     * @param in 変換する文字列の配列
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @param defaultValue 変換できなかった要素に書き込む値
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet toFloatArray(final String[] in, final float[] out,
+            final float defaultValue) {
+
+        checkLength(in.length, out.length);
+        long[] invalid = new long[(in.length + 63) >>> 6];
+        RangeTask.run(in.length, (start, end) -> {
+            for (int index = start; index < end; index++) {
+                float value = NumberParser.parseFloat(in[index]);
+                if (Float.isNaN(value)) {
+                    out[index] = defaultValue;
+                    invalid[index >>> 6] |= 1L << index;
+                } else {
+                    out[index] = value;
+                }
+            }
+        });
+
+        return BitSet.valueOf(invalid);
+    }
+
+    /**
+     * 文字列の配列をまとめてdoubleに変換してoutに書き込む.<br>
+     * doubleに収まらない場合は±{@link Double#MAX_VALUE}に丸める.<br>
+     * NULL、空白、数値でない要素はdefaultValueを書き込み、戻り値のビットを立てる.<br>
+     * 要素数が多い場合はForkJoinPoolで並列に変換する.
+     *
+     * @param in 変換する文字列の配列
+     * @param out 変換後の値を書き込む配列(inと同じ長さ以上)
+     * @param defaultValue 変換できなかった要素に書き込む値
+     * @return 変換できなかった要素の位置
+     */
+    public static BitSet toDoubleArray(final String[] in, final double[] out,
+            final double defaultValue) {
+
+        checkLength(in.length, out.length);
+        long[] invalid = new long[(in.length + 63) >>> 6];
+        RangeTask.run(in.length, (start, end) -> {
+            for (int index = start; index < end; index++) {
+                double value = NumberParser.parseDouble(in[index]);
+                if (Double.isNaN(value)) {
+                    out[index] = defaultValue;
+                    invalid[index >>> 6] |= 1L << index;
+                } else {
+                    out[index] = value;
+                }
+            }
+        });
+
+        return BitSet.valueOf(invalid);
+    }
+
+    /**
+     * 変換したfloatに{@link #toFloat(String)}と同じ上下限を適用する.
+     *
+     * @param val 対象数値
+     * @return 変換後
+     */
+    private static float floatOf(final float val) {
+        // toFloat(String)と同じく、Float.MIN_VALUE未満はFloat.MIN_VALUEに丸める
+        if (val < Float.MIN_VALUE) {
+            return Float.MIN_VALUE;
+        } else if (val > Float.MAX_VALUE) {
+            return Float.MAX_VALUE;
+        }
+
+        return val;
+    }
+
+    /**
+     * 文字列の指定範囲を切り出す.
+     *
+     * @param val 対象文字列
+     * @param start 開始位置
+     * @param end 終了位置(この位置の文字は含まない)
+     * @return 切り出した文字列、valがNULLの場合はNULL
+     */
+    private static String substring(final CharSequence val, final int start, final int end) {
+        if (val == null) {
+            return null;
+        }
+        return val.subSequence(start, end).toString();
+    }
+
+    /**
+     * 文字配列の指定範囲を文字列にする.
+     *
+     * @param val 対象文字配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 切り出した文字列、valがNULLの場合はNULL
+     */
+    private static String substring(final char[] val, final int offset, final int length) {
+        if (val == null) {
+            return null;
+        }
+        return new String(val, offset, length);
+    }
+
+    /**
+     * UTF-8のバイト配列の指定範囲を文字列にする.
+     *
+     * @param val 対象バイト配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return デコードした文字列、valがNULLの場合はNULL
+     */
+    private static String decode(final byte[] val, final int offset, final int length) {
+        if (val == null) {
+            return null;
+        }
+        return new String(val, offset, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * UTF-8のByteBufferのpositionからlimitまでを文字列にする.
+     *
+     * @param val 対象バッファ
+     * @return デコードした文字列、valがNULLの場合はNULL
+     */
+    private static String decode(final ByteBuffer val) {
+        if (val == null) {
+            return null;
+        }
+        return StandardCharsets.UTF_8.decode(val.duplicate()).toString();
+    }
+
+    /**
+     * 出力先の配列の長さをチェックする.
+     *
+     * @param inLength 入力の長さ
+     * @param outLength 出力先の長さ
+     */
+    private static void checkLength(final int inLength, final int outLength) {
+        if (outLength < inLength) {
+            throw new IllegalArgumentException(
+                    "出力先の配列が短い: in=" + inLength + ", out=" + outLength);
+        }
     }
 }
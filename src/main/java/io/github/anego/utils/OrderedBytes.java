@@ -0,0 +1,578 @@
+package io.github.anego.utils;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+/**
+ * 数値と日時の順序を保つ固定長のバイト表現.<br>
+ * 符号化したバイト列を先頭から符号なしで比較(memcmp)した順序が、元の値の順序と一致する.
+ * ソート済みのインデックスやキーバリューストアのキーに使い、範囲検索を復号せずに行える.<br>
+ * 形式はすべてビッグエンディアンで、ByteBufferのバイト順の設定には依存しない.
+ * <ul>
+ * <li>int、long:符号ビットを反転する(4、8バイト)</li>
+ * <li>float、double:正数は符号ビットを、負数は全ビットを反転する(4、8バイト).
+ * 順序は{@link Double#compare(double, double)}と同じで、-0.0は0.0より前、NaNは最後</li>
+ * <li>固定小数点数:スケールを揃えた整数をlongとして符号化する(8バイト)</li>
+ * <li>LocalDateTime:UTCとみなしたエポック秒(8バイト)とナノ秒(4バイト)の12バイト</li>
+ * <li>Date:エポックミリ秒をlongとして符号化する(8バイト)</li>
+ * </ul>
+ * 書き込みと読み込みはインスタンスを作らない(LocalDateTime、Decimalの復号結果を除く).
+ *
+ * <pre>
+ * byte[] key = new byte[OrderedBytes.LONG_BYTES + OrderedBytes.DATE_TIME_BYTES];
+ * int offset = OrderedBytes.write(userId, key, 0);
+ * OrderedBytes.write(createdAt, key, offset);
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class OrderedBytes {
+
+    /** int、floatの符号化後のバイト数. */
+    public static final int INT_BYTES = 4;
+
+    /** long、double、固定小数点数、Dateの符号化後のバイト数. */
+    public static final int LONG_BYTES = 8;
+
+    /** LocalDateTimeの符号化後のバイト数. */
+    public static final int DATE_TIME_BYTES = 12;
+
+    private OrderedBytes() {}
+
+    /**
+     * intを符号化してバイト配列に書き込む.
+     *
+     * @param val 対象数値
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    public static int write(final int val, final byte[] dest, final int offset) {
+        checkLength(dest.length, offset, INT_BYTES);
+        return writeInt(val ^ Integer.MIN_VALUE, dest, offset);
+    }
+
+    /**
+     * longを符号化してバイト配列に書き込む.<br>
+     * スケールを揃えた固定小数点数の整数(unscaled)もこのまま書き込める.
+     *
+     * @param val 対象数値
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    public static int write(final long val, final byte[] dest, final int offset) {
+        checkLength(dest.length, offset, LONG_BYTES);
+        return writeLong(val ^ Long.MIN_VALUE, dest, offset);
+    }
+
+    /**
+     * floatを符号化してバイト配列に書き込む.
+     *
+     * @param val 対象数値
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    public static int write(final float val, final byte[] dest, final int offset) {
+        checkLength(dest.length, offset, INT_BYTES);
+        return writeInt(sortable(val), dest, offset);
+    }
+
+    /**
+     * doubleを符号化してバイト配列に書き込む.
+     *
+     * @param val 対象数値
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    public static int write(final double val, final byte[] dest, final int offset) {
+        checkLength(dest.length, offset, LONG_BYTES);
+        return writeLong(sortable(val), dest, offset);
+    }
+
+    /**
+     * 固定小数点数を小数部<i>scale</i>桁に四捨五入して符号化し、バイト配列に書き込む.<br>
+     * 同じキーの列はすべて同じscaleで書き込むこと.
+     *
+     * @param val 対象数値
+     * @param scale 小数部の桁数
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     * @throws ArithmeticException scale桁にした整数がlongに収まらない場合
+     */
+    public static int write(final Decimal val, final int scale, final byte[] dest,
+            final int offset) {
+        return write(val.setScale(scale).unscaledLong(), dest, offset);
+    }
+
+    /**
+     * LocalDateTimeを符号化してバイト配列に書き込む.
+     *
+     * @param val 対象日時
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    public static int write(final LocalDateTime val, final byte[] dest, final int offset) {
+        checkLength(dest.length, offset, DATE_TIME_BYTES);
+        int end = writeLong(val.toEpochSecond(ZoneOffset.UTC) ^ Long.MIN_VALUE, dest, offset);
+        return writeInt(val.getNano(), dest, end);
+    }
+
+    /**
+     * Dateを符号化してバイト配列に書き込む.
+     *
+     * @param val 対象日時
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     * @throws IllegalArgumentException 書き込み先が短い場合
+     */
+    public static int write(final Date val, final byte[] dest, final int offset) {
+        return write(val.getTime(), dest, offset);
+    }
+
+    /**
+     * intを符号化してバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param val 対象数値
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final int val) {
+        return putInt(dest, val ^ Integer.MIN_VALUE);
+    }
+
+    /**
+     * longを符号化してバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param val 対象数値
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final long val) {
+        return putLong(dest, val ^ Long.MIN_VALUE);
+    }
+
+    /**
+     * floatを符号化してバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param val 対象数値
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final float val) {
+        return putInt(dest, sortable(val));
+    }
+
+    /**
+     * doubleを符号化してバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param val 対象数値
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final double val) {
+        return putLong(dest, sortable(val));
+    }
+
+    /**
+     * 固定小数点数を小数部<i>scale</i>桁に四捨五入して符号化し、バッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param val 対象数値
+     * @param scale 小数部の桁数
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     * @throws ArithmeticException scale桁にした整数がlongに収まらない場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final Decimal val, final int scale) {
+        return put(dest, val.setScale(scale).unscaledLong());
+    }
+
+    /**
+     * LocalDateTimeを符号化してバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param val 対象日時
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final LocalDateTime val) {
+        if (dest.remaining() < DATE_TIME_BYTES) {
+            throw new BufferOverflowException();
+        }
+        putLong(dest, val.toEpochSecond(ZoneOffset.UTC) ^ Long.MIN_VALUE);
+        return putInt(dest, val.getNano());
+    }
+
+    /**
+     * Dateを符号化してバッファの現在位置に書き込み、位置を進める.
+     *
+     * @param dest 書き込み先
+     * @param val 対象日時
+     * @return dest
+     * @throws BufferOverflowException バッファの残りが足りない場合
+     */
+    public static ByteBuffer put(final ByteBuffer dest, final Date val) {
+        return put(dest, val.getTime());
+    }
+
+    /**
+     * {@link #write(int, byte[], int)}で書き込んだintを読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @return 復号後
+     */
+    public static int readInt(final byte[] src, final int offset) {
+        return readIntBits(src, offset) ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * {@link #write(long, byte[], int)}で書き込んだlongを読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @return 復号後
+     */
+    public static long readLong(final byte[] src, final int offset) {
+        return readLongBits(src, offset) ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * {@link #write(float, byte[], int)}で書き込んだfloatを読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @return 復号後
+     */
+    public static float readFloat(final byte[] src, final int offset) {
+        return toFloat(readIntBits(src, offset));
+    }
+
+    /**
+     * {@link #write(double, byte[], int)}で書き込んだdoubleを読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @return 復号後
+     */
+    public static double readDouble(final byte[] src, final int offset) {
+        return toDouble(readLongBits(src, offset));
+    }
+
+    /**
+     * {@link #write(Decimal, int, byte[], int)}で書き込んだ固定小数点数を読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @param scale 書き込んだときの小数部の桁数
+     * @return 復号後
+     */
+    public static Decimal readDecimal(final byte[] src, final int offset, final int scale) {
+        return Decimal.of(readLong(src, offset), scale);
+    }
+
+    /**
+     * {@link #write(LocalDateTime, byte[], int)}で書き込んだLocalDateTimeを読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @return 復号後
+     */
+    public static LocalDateTime readLocalDateTime(final byte[] src, final int offset) {
+        return LocalDateTime.ofEpochSecond(readLong(src, offset),
+                readIntBits(src, offset + LONG_BYTES), ZoneOffset.UTC);
+    }
+
+    /**
+     * {@link #write(Date, byte[], int)}で書き込んだDateを読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @return 復号後
+     */
+    public static Date readDate(final byte[] src, final int offset) {
+        return new Date(readLong(src, offset));
+    }
+
+    /**
+     * {@link #put(ByteBuffer, int)}で書き込んだintをバッファの現在位置から読み込み、位置を進める.
+     *
+     * @param src 読み込み元
+     * @return 復号後
+     * @throws BufferUnderflowException バッファの残りが足りない場合
+     */
+    public static int getInt(final ByteBuffer src) {
+        return getIntBits(src) ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * {@link #put(ByteBuffer, long)}で書き込んだlongをバッファの現在位置から読み込み、位置を進める.
+     *
+     * @param src 読み込み元
+     * @return 復号後
+     * @throws BufferUnderflowException バッファの残りが足りない場合
+     */
+    public static long getLong(final ByteBuffer src) {
+        return getLongBits(src) ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * {@link #put(ByteBuffer, float)}で書き込んだfloatをバッファの現在位置から読み込み、位置を進める.
+     *
+     * @param src 読み込み元
+     * @return 復号後
+     * @throws BufferUnderflowException バッファの残りが足りない場合
+     */
+    public static float getFloat(final ByteBuffer src) {
+        return toFloat(getIntBits(src));
+    }
+
+    /**
+     * {@link #put(ByteBuffer, double)}で書き込んだdoubleをバッファの現在位置から読み込み、位置を進める.
+     *
+     * @param src 読み込み元
+     * @return 復号後
+     * @throws BufferUnderflowException バッファの残りが足りない場合
+     */
+    public static double getDouble(final ByteBuffer src) {
+        return toDouble(getLongBits(src));
+    }
+
+    /**
+     * {@link #put(ByteBuffer, Decimal, int)}で書き込んだ固定小数点数をバッファの現在位置から読み込み、位置を進める.
+     *
+     * @param src 読み込み元
+     * @param scale 書き込んだときの小数部の桁数
+     * @return 復号後
+     * @throws BufferUnderflowException バッファの残りが足りない場合
+     */
+    public static Decimal getDecimal(final ByteBuffer src, final int scale) {
+        return Decimal.of(getLong(src), scale);
+    }
+
+    /**
+     * {@link #put(ByteBuffer, LocalDateTime)}で書き込んだLocalDateTimeをバッファの現在位置から読み込み、
+     * 位置を進める.
+     *
+     * @param src 読み込み元
+     * @return 復号後
+     * @throws BufferUnderflowException バッファの残りが足りない場合
+     */
+    public static LocalDateTime getLocalDateTime(final ByteBuffer src) {
+        if (src.remaining() < DATE_TIME_BYTES) {
+            throw new BufferUnderflowException();
+        }
+        long second = getLong(src);
+        return LocalDateTime.ofEpochSecond(second, getIntBits(src), ZoneOffset.UTC);
+    }
+
+    /**
+     * {@link #put(ByteBuffer, Date)}で書き込んだDateをバッファの現在位置から読み込み、位置を進める.
+     *
+     * @param src 読み込み元
+     * @return 復号後
+     * @throws BufferUnderflowException バッファの残りが足りない場合
+     */
+    public static Date getDate(final ByteBuffer src) {
+        return new Date(getLong(src));
+    }
+
+    /**
+     * 符号化したバイト列を符号なしで辞書順に比較する.<br>
+     * 同じ形式で書き込んだ値同士なら、元の値の比較と同じ結果になる.
+     *
+     * @param left 比較元
+     * @param leftOffset 比較元の開始位置
+     * @param right 比較先
+     * @param rightOffset 比較先の開始位置
+     * @param length 比較するバイト数
+     * @return leftが小さければ負数、等しければ0、大きければ正数
+     */
+    public static int compare(final byte[] left, final int leftOffset, final byte[] right,
+            final int rightOffset, final int length) {
+        for (int index = 0; index < length; index++) {
+            int diff = (left[leftOffset + index] & 0xff) - (right[rightOffset + index] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * floatのビット列を符号なしの順序が数値の順序になるように変換する.
+     *
+     * @param val 対象数値
+     * @return 変換後
+     */
+    private static int sortable(final float val) {
+        int bits = Float.floatToIntBits(val);
+        return bits ^ (bits >> 31 | Integer.MIN_VALUE);
+    }
+
+    /**
+     * doubleのビット列を符号なしの順序が数値の順序になるように変換する.
+     *
+     * @param val 対象数値
+     * @return 変換後
+     */
+    private static long sortable(final double val) {
+        long bits = Double.doubleToLongBits(val);
+        return bits ^ (bits >> 63 | Long.MIN_VALUE);
+    }
+
+    /**
+     * {@link #sortable(float)}の逆変換.
+     *
+     * @param bits 変換後のビット列
+     * @return 対象数値
+     */
+    private static float toFloat(final int bits) {
+        return Float.intBitsToFloat(bits ^ (~bits >> 31 | Integer.MIN_VALUE));
+    }
+
+    /**
+     * {@link #sortable(double)}の逆変換.
+     *
+     * @param bits 変換後のビット列
+     * @return 対象数値
+     */
+    private static double toDouble(final long bits) {
+        return Double.longBitsToDouble(bits ^ (~bits >> 63 | Long.MIN_VALUE));
+    }
+
+    /**
+     * intをビッグエンディアンで書き込む.
+     *
+     * @param bits 書き込むビット列
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     */
+    private static int writeInt(final int bits, final byte[] dest, final int offset) {
+        dest[offset] = (byte) (bits >>> 24);
+        dest[offset + 1] = (byte) (bits >>> 16);
+        dest[offset + 2] = (byte) (bits >>> 8);
+        dest[offset + 3] = (byte) bits;
+        return offset + INT_BYTES;
+    }
+
+    /**
+     * longをビッグエンディアンで書き込む.
+     *
+     * @param bits 書き込むビット列
+     * @param dest 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込んだ末尾の次の位置
+     */
+    private static int writeLong(final long bits, final byte[] dest, final int offset) {
+        writeInt((int) (bits >>> 32), dest, offset);
+        return writeInt((int) bits, dest, offset + INT_BYTES);
+    }
+
+    /**
+     * ビッグエンディアンのintを読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @return ビット列
+     */
+    private static int readIntBits(final byte[] src, final int offset) {
+        return (src[offset] & 0xff) << 24 | (src[offset + 1] & 0xff) << 16
+                | (src[offset + 2] & 0xff) << 8 | src[offset + 3] & 0xff;
+    }
+
+    /**
+     * ビッグエンディアンのlongを読み込む.
+     *
+     * @param src 読み込み元
+     * @param offset 読み込み開始位置
+     * @return ビット列
+     */
+    private static long readLongBits(final byte[] src, final int offset) {
+        return (long) readIntBits(src, offset) << 32
+                | readIntBits(src, offset + INT_BYTES) & 0xffffffffL;
+    }
+
+    /**
+     * バッファのバイト順にかかわらずビッグエンディアンでintを書き込む.
+     *
+     * @param dest 書き込み先
+     * @param bits 書き込むビット列
+     * @return dest
+     */
+    private static ByteBuffer putInt(final ByteBuffer dest, final int bits) {
+        return dest.putInt(
+                dest.order() == ByteOrder.BIG_ENDIAN ? bits : Integer.reverseBytes(bits));
+    }
+
+    /**
+     * バッファのバイト順にかかわらずビッグエンディアンでlongを書き込む.
+     *
+     * @param dest 書き込み先
+     * @param bits 書き込むビット列
+     * @return dest
+     */
+    private static ByteBuffer putLong(final ByteBuffer dest, final long bits) {
+        return dest.putLong(dest.order() == ByteOrder.BIG_ENDIAN ? bits : Long.reverseBytes(bits));
+    }
+
+    /**
+     * バッファのバイト順にかかわらずビッグエンディアンでintを読み込む.
+     *
+     * @param src 読み込み元
+     * @return ビット列
+     */
+    private static int getIntBits(final ByteBuffer src) {
+        int bits = src.getInt();
+        return src.order() == ByteOrder.BIG_ENDIAN ? bits : Integer.reverseBytes(bits);
+    }
+
+    /**
+     * バッファのバイト順にかかわらずビッグエンディアンでlongを読み込む.
+     *
+     * @param src 読み込み元
+     * @return ビット列
+     */
+    private static long getLongBits(final ByteBuffer src) {
+        long bits = src.getLong();
+        return src.order() == ByteOrder.BIG_ENDIAN ? bits : Long.reverseBytes(bits);
+    }
+
+    /**
+     * 書き込み先の長さを確認する.
+     *
+     * @param destLength 書き込み先の長さ
+     * @param offset 書き込み開始位置
+     * @param length 書き込む長さ
+     */
+    private static void checkLength(final int destLength, final int offset, final int length) {
+        if (offset < 0 || destLength - offset < length) {
+            throw new IllegalArgumentException(
+                    "書き込み先の配列が短い: length=" + destLength + ", offset=" + offset + ", need="
+                            + length);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.anego.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文字列から数値への変換結果のキャッシュ.<br>
+ * {@link NumberUtils#enableParseCache(int)}で有効にすると、toShort、toInteger、toInt、toLongの
+ * 文字列版で、高速パスで変換できなかった文字列(全角、小数、指数表記など正規化やBigDecimalが必要なもの)の
+ * 変換結果を入力文字列をキーにして保持する.<br>
+ * 型ごとに最大件数までのLRUで、ロックはキーのハッシュで分割している.
+ * 分割ごとの件数の合計が最大件数になるように割り振るので、型ごとの件数は最大件数を超えない
+ * (LRUは分割ごとなので、分割に偏りがあると最大件数より前に消えることはある).ヒット数とミス数は
+ * ジョブごとの効果測定用.
+ *
+ * <pre>
+ * ParseCache cache = NumberUtils.enableParseCache(4096);
+ * try {
+ *     ...
+ * } finally {
+ *     NumberUtils.disableParseCache();
+ * }
+ * log.info(cache.toString());
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class ParseCache {
+
+    /** Shortの結果. */
+    static final int SHORT = 0;
+
+    /** Integerの結果. */
+    static final int INTEGER = 1;
+
+    /** Longの結果. */
+    static final int LONG = 2;
+
+    /** キャッシュに無いことを示す値. */
+    static final Object MISS = new Object();
+
+    /** NULLの結果を示す値. */
+    private static final Object NULL = new Object();
+
+    /** 型ごとのロックの最大分割数(2の累乗). */
+    private static final int STRIPES = 16;
+
+    /** 型ごとの最大件数. */
+    private final int maxSize;
+
+    /** 型ごとのロックの分割数(2の累乗、最大件数以下). */
+    private final int stripeCount;
+
+    /** 型ごと、分割ごとのLRU. */
+    private final Stripe[] stripes;
+
+    /** ヒット数. */
+    private final LongAdder hits = new LongAdder();
+
+    /** ミス数. */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * キャッシュを作る.
+     *
+     * @param maxSize 型ごとの最大件数
+     */
+    ParseCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("最大件数が不正: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        // 分割ごとに1件以上入るように、最大件数が少ない場合は分割数を減らす
+        this.stripeCount = Math.min(STRIPES, Integer.highestOneBit(maxSize));
+        this.stripes = new Stripe[this.stripeCount * 3];
+        for (int index = 0; index < this.stripes.length; index++) {
+            // 余りは先頭の分割から1件ずつ割り振る
+            int stripe = index % this.stripeCount;
+            int capacity = maxSize / this.stripeCount
+                    + (stripe < maxSize % this.stripeCount ? 1 : 0);
+            this.stripes[index] = new Stripe(capacity);
+        }
+    }
+
+    /**
+     * 型ごとの最大件数を取得する.
+     *
+     * @return 最大件数
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * ヒット数を取得する.
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * ミス数を取得する.
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * 保持している件数を取得する.
+     *
+     * @return 件数
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 保持している結果とヒット数、ミス数をクリアする.
+     */
+    public void clear() {
+        for (Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    /**
+     * 変換結果を取得する.
+     *
+     * @param kind 型
+     * @param key 入力文字列
+     * @return 変換結果、無い場合は{@link #MISS}
+     */
+    Object get(final int kind, final String key) {
+        Stripe stripe = stripe(kind, key);
+        Object value;
+        synchronized (stripe) {
+            value = stripe.get(key);
+        }
+        if (value == null) {
+            this.misses.increment();
+            return MISS;
+        }
+        this.hits.increment();
+        return value == NULL ? null : value;
+    }
+
+    /**
+     * 変換結果を保持する.
+     *
+     * @param kind 型
+     * @param key 入力文字列
+     * @param value 変換結果
+     */
+    void put(final int kind, final String key, final Object value) {
+        Stripe stripe = stripe(kind, key);
+        synchronized (stripe) {
+            stripe.put(key, value == null ? NULL : value);
+        }
+    }
+
+    /**
+     * キーの分割先を取得する.
+     *
+     * @param kind 型
+     * @param key 入力文字列
+     * @return 分割先
+     */
+    private Stripe stripe(final int kind, final String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return this.stripes[kind * this.stripeCount + (hash & (this.stripeCount - 1))];
+    }
+
+    @Override
+    public String toString() {
+        return "ParseCache [maxSize=" + this.maxSize + ", size=" + size() + ", hits="
+                + getHitCount() + ", misses=" + getMissCount() + "]";
+    }
+
+    /** アクセス順のLRU. */
+    private static final class Stripe extends LinkedHashMap<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        /** 最大件数. */
+        private final int capacity;
+
+        /**
+         * LRUを作る.
+         *
+         * @param capacity 最大件数
+         */
+        Stripe(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Object> eldest) {
+            return size() > this.capacity;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.anego.utils;
+
+/**
+ * 数値パースの結果.<br>
+ * 変換後の値とステータスを1回のパースで受け取るためのもので、使い回しができる.
+ *
+ * <pre>
+ * ParseResult result = new ParseResult();
+ * if (NumberUtils.parseInt(str, result)) {
+ *     int val = result.intValue();
+ * }
+ *
+ * int val = NumberUtils.toInt(str, result);
+ * switch (result.getStatus()) {
+ *     case ParseResult.OK:
+ *     case ParseResult.CLAMPED:
+ *         ...
+ * }
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class ParseResult {
+
+    /** 変換できた. */
+    public static final int OK = 0;
+
+    /** 数値として不正. */
+    public static final int INVALID = 1;
+
+    /** NULLまたは空白. */
+    public static final int BLANK = 2;
+
+    /** 範囲外のため上下限に丸めた. */
+    public static final int CLAMPED = 3;
+
+    /** ステータス. */
+    private int status = INVALID;
+
+    /** 変換後の値. */
+    private long value;
+
+    /**
+     * ステータスを取得する.
+     *
+     * @return ステータス
+     */
+    public int getStatus() {
+        return this.status;
+    }
+
+    /**
+     * 変換できたかどうか.
+     *
+     * @return true:変換できた
+     */
+    public boolean isOk() {
+        return this.status == OK;
+    }
+
+    /**
+     * 値があるかどうか.<br>
+     * {@link #OK}と{@link #CLAMPED}の場合に値がある.
+     *
+     * @return true:値がある
+     */
+    public boolean hasValue() {
+        return this.status == OK || this.status == CLAMPED;
+    }
+
+    /**
+     * 変換後の値をshortで取得する.
+     *
+     * @return 変換後の値
+     */
+    public short shortValue() {
+        return (short) this.value;
+    }
+
+    /**
+     * 変換後の値をintで取得する.
+     *
+     * @return 変換後の値
+     */
+    public int intValue() {
+        return (int) this.value;
+    }
+
+    /**
+     * 変換後の値をlongで取得する.
+     *
+     * @return 変換後の値
+     */
+    public long longValue() {
+        return this.value;
+    }
+
+    /**
+     * 結果を設定する.
+     *
+     * @param newStatus ステータス
+     * @param newValue 変換後の値
+     * @return this
+     */
+    ParseResult set(final int newStatus, final long newValue) {
+        this.status = newStatus;
+        this.value = newValue;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult[status=" + this.status + ", value=" + this.value + "]";
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.anego.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 配列の範囲処理をForkJoinPoolで分割実行する.<br>
+ * 分割位置は64要素単位なので、1要素1bitのlong[]ビットマップを各タスクが共有せずに書き込める.
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+final class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** これ以下の要素数は分割せずに処理する. 64の倍数. */
+    static final int THRESHOLD = 1 << 13;
+
+    /**
+     * 範囲の処理.
+     */
+    @FunctionalInterface
+    interface Body {
+
+        /**
+         * startからendまでを処理する.
+         *
+         * @param start 開始位置
+         * @param end 終了位置(この位置は含まない)
+         */
+        void run(int start, int end);
+    }
+
+    /** 範囲の処理. */
+    private final Body body;
+
+    /** 開始位置. */
+    private final int start;
+
+    /** 終了位置. */
+    private final int end;
+
+    private RangeTask(final Body body, final int start, final int end) {
+        this.body = body;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * 0からlengthまでを処理する.<br>
+     * {@link #THRESHOLD}を超える場合は共通プールで並列に処理する.
+     *
+     * @param length 要素数
+     * @param body 範囲の処理
+     */
+    static void run(final int length, final Body body) {
+        if (length <= THRESHOLD) {
+            body.run(0, length);
+            return;
+        }
+
+        ForkJoinPool.commonPool().invoke(new RangeTask(body, 0, length));
+    }
+
+    @Override
+    protected void compute() {
+        int length = this.end - this.start;
+        if (length <= THRESHOLD) {
+            this.body.run(this.start, this.end);
+            return;
+        }
+
+        int mid = this.start + ((length >>> 1) & ~63);
+        invokeAll(new RangeTask(this.body, this.start, mid),
+                new RangeTask(this.body, mid, this.end));
+    }
+}
@@ -0,0 +1,333 @@
+package io.github.anego.utils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * タイムゾーンのオフセット切り替え表.<br>
+ * 1900年～2100年のオフセットの切り替え(夏時間など)をエポック秒の配列に展開しておき、
+ * LocalDateTime、Date、エポックミリ秒の変換を二分探索で行う.
+ * {@code atZone(zone).toInstant()}のようにZonedDateTimeやInstantを作らない.
+ * 範囲外の日時は{@link ZoneRules}で変換する.<br>
+ * 夏時間の開始で存在しない時刻と終了で重複する時刻は、
+ * {@link LocalDateTime#atZone(ZoneId)}と同じく切り替え前のオフセットで変換する.<br>
+ * インスタンスはゾーンごとにキャッシュし、スレッドセーフ.
+ *
+ * <pre>
+ * long millis = ZoneOffsets.of(ZoneId.systemDefault()).toEpochMilli(ldt);
+ * LocalDateTime ldt = ZoneOffsets.of(ZoneId.of("Asia/Tokyo")).toLocalDateTime(millis);
+ * </pre>
+ *
+ * @author anego &#60;anego@project-life.net&#62;
+ *
+ */
+public final class ZoneOffsets {
+
+    /** 表の開始(1900-01-01T00:00Z). */
+    static final long MIN_SECOND = -2208988800L;
+
+    /** 表の終了(2100-01-01T00:00Z). */
+    static final long MAX_SECOND = 4102444800L;
+
+    /** デフォルトのタイムゾーンを確認し直す間隔(ナノ秒). */
+    static final long CHECK_INTERVAL_NANOS = 1_000_000_000L;
+
+    /** 1日の秒数(オフセットは最大18時間なので、ローカル日時の範囲の余裕に使う). */
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    /** ゾーンごとのキャッシュ. */
+    private static final ConcurrentMap<ZoneId, ZoneOffsets> CACHE = new ConcurrentHashMap<>();
+
+    /** デフォルトのタイムゾーン. */
+    private static volatile DefaultZone defaultZone;
+
+    /** ゾーン. */
+    private final ZoneId zone;
+
+    /** ゾーンのルール(表の範囲外で使う). */
+    private final ZoneRules rules;
+
+    /** オフセットが固定かどうか. */
+    private final boolean fixed;
+
+    /** 切り替えのエポック秒. */
+    private final long[] transitions;
+
+    /** 切り替えのローカル日時の境界(UTCとしたエポック秒). */
+    private final long[] localTransitions;
+
+    /** オフセット(i番目はi番目の切り替えの前、最後は最後の切り替えの後). */
+    private final ZoneOffset[] offsets;
+
+    /**
+     * 確認した時刻付きのデフォルトのタイムゾーン.
+     */
+    private static final class DefaultZone {
+
+        /** 切り替え表. */
+        private final ZoneOffsets offsets;
+
+        /** 確認した時刻({@link System#nanoTime()}). */
+        private final long checked;
+
+        DefaultZone(final ZoneOffsets offsets, final long checked) {
+            this.offsets = offsets;
+            this.checked = checked;
+        }
+    }
+
+    /**
+     * 切り替え表を作る.
+     *
+     * @param zone ゾーン
+     */
+    private ZoneOffsets(final ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.fixed = this.rules.isFixedOffset();
+
+        LongList instants = new LongList();
+        LongList locals = new LongList();
+        List<ZoneOffset> list = new ArrayList<>();
+        if (this.fixed) {
+            list.add(this.rules.getOffset(Instant.EPOCH));
+        } else {
+            Instant cursor = Instant.ofEpochSecond(MIN_SECOND);
+            list.add(this.rules.getOffset(cursor));
+            ZoneOffsetTransition transition;
+            while ((transition = this.rules.nextTransition(cursor)) != null
+                    && transition.toEpochSecond() < MAX_SECOND) {
+                long second = transition.toEpochSecond();
+                // ローカル日時の境界は、存在しない時刻と重複する時刻が切り替え前になる方
+                int offset = Math.max(transition.getOffsetBefore().getTotalSeconds(),
+                        transition.getOffsetAfter().getTotalSeconds());
+                instants.add(second);
+                locals.add(second + offset);
+                list.add(transition.getOffsetAfter());
+                cursor = transition.getInstant();
+            }
+        }
+        this.transitions = instants.toArray();
+        this.localTransitions = locals.toArray();
+        this.offsets = list.toArray(new ZoneOffset[list.size()]);
+    }
+
+    /**
+     * ゾーンの切り替え表を取得する.
+     *
+     * @param zone ゾーン
+     * @return 切り替え表
+     */
+    public static ZoneOffsets of(final ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+
+        ZoneOffsets cached = CACHE.get(zone);
+        if (cached == null) {
+            ZoneOffsets created = new ZoneOffsets(zone);
+            cached = CACHE.putIfAbsent(zone, created);
+            if (cached == null) {
+                cached = created;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * デフォルトのタイムゾーンの切り替え表を、確認を間引いて取得する.<br>
+     * {@link java.util.TimeZone#getDefault()}は呼び出しのたびに複製を作るので、
+     * デフォルトのタイムゾーンは1秒ごとにしか確認しない.
+     * そのため{@link java.util.TimeZone#setDefault(java.util.TimeZone)}の後、
+     * 最大1秒は前のタイムゾーンを返す.すぐに切り替える場合は{@link #invalidateDefault()}を呼ぶ.<br>
+     * 大量の変換を繰り返す呼び出し元向け.常に現在のデフォルトで変換する場合は
+     * {@code ZoneOffsets.of(ZoneId.systemDefault())}を使う
+     * ({@link DateUtils}のタイムゾーンを指定しないメソッドはこちら).
+     *
+     * @return 切り替え表
+     */
+    public static ZoneOffsets cachedDefault() {
+        DefaultZone current = defaultZone;
+        long now = System.nanoTime();
+        if (current != null && now - current.checked < CHECK_INTERVAL_NANOS) {
+            return current.offsets;
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        ZoneOffsets offsets = current != null && current.offsets.zone.equals(zone)
+                ? current.offsets
+                : of(zone);
+        defaultZone = new DefaultZone(offsets, now);
+        return offsets;
+    }
+
+    /**
+     * デフォルトのタイムゾーンを次の{@link #cachedDefault()}で確認し直す.
+     */
+    public static void invalidateDefault() {
+        defaultZone = null;
+    }
+
+    /**
+     * ゾーンを取得する.
+     *
+     * @return ゾーン
+     */
+    public ZoneId getZone() {
+        return this.zone;
+    }
+
+    /**
+     * エポック秒のオフセットを取得する.
+     *
+     * @param epochSecond エポック秒
+     * @return オフセット
+     */
+    public ZoneOffset getOffset(final long epochSecond) {
+        if (this.fixed) {
+            return this.offsets[0];
+        }
+        if (epochSecond < MIN_SECOND || epochSecond >= MAX_SECOND) {
+            return this.rules.getOffset(Instant.ofEpochSecond(epochSecond));
+        }
+        return this.offsets[count(this.transitions, epochSecond)];
+    }
+
+    /**
+     * ローカル日時のオフセットを取得する.<br>
+     * 存在しない時刻と重複する時刻は切り替え前のオフセット
+     * ({@link ZoneRules#getOffset(LocalDateTime)}と同じ).
+     *
+     * @param ldt ローカル日時
+     * @return オフセット
+     */
+    public ZoneOffset getOffset(final LocalDateTime ldt) {
+        return getLocalOffset(ldt.toEpochSecond(ZoneOffset.UTC), ldt);
+    }
+
+    /**
+     * ローカル日時をエポックミリ秒に変換する.<br>
+     * {@code ldt.atZone(zone).toInstant().toEpochMilli()}と同じ.
+     *
+     * @param ldt ローカル日時
+     * @return エポックミリ秒
+     * @throws ArithmeticException longに収まらない場合
+     */
+    public long toEpochMilli(final LocalDateTime ldt) {
+        long local = ldt.toEpochSecond(ZoneOffset.UTC);
+        return epochMilli(local - getLocalOffset(local, ldt).getTotalSeconds(), ldt.getNano());
+    }
+
+    /**
+     * ローカル日時をUTCとしたエポック秒とナノ秒をエポックミリ秒に変換する.<br>
+     * LocalDateTimeを作らずに{@link #toEpochMilli(LocalDateTime)}と同じ結果にする.
+     *
+     * @param localSecond ローカル日時をUTCとしたエポック秒
+     * @param nano ナノ秒
+     * @return エポックミリ秒
+     * @throws ArithmeticException longに収まらない場合
+     */
+    long toEpochMilli(final long localSecond, final int nano) {
+        return epochMilli(localSecond - getLocalOffset(localSecond, null).getTotalSeconds(),
+                nano);
+    }
+
+    /**
+     * エポックミリ秒をローカル日時に変換する.<br>
+     * {@code LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), zone)}と同じ.
+     *
+     * @param epochMilli エポックミリ秒
+     * @return ローカル日時
+     */
+    public LocalDateTime toLocalDateTime(final long epochMilli) {
+        long second = Math.floorDiv(epochMilli, 1000L);
+        int nano = (int) Math.floorMod(epochMilli, 1000L) * 1_000_000;
+        return LocalDateTime.ofEpochSecond(second, nano, getOffset(second));
+    }
+
+    /**
+     * ローカル日時をDateに変換する.
+     *
+     * @param ldt ローカル日時
+     * @return 変換後日時
+     * @throws IllegalArgumentException Dateの範囲外の場合({@link Date#from(Instant)}と同じ)
+     */
+    public Date toDate(final LocalDateTime ldt) {
+        try {
+            return new Date(toEpochMilli(ldt));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Dateをローカル日時に変換する.
+     *
+     * @param date 日時
+     * @return ローカル日時
+     */
+    public LocalDateTime toLocalDateTime(final Date date) {
+        return toLocalDateTime(date.getTime());
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneOffsets [zone=" + this.zone + ", transitions=" + this.transitions.length + "]";
+    }
+
+    /**
+     * ローカル日時のオフセットを取得する.
+     *
+     * @param local ローカル日時をUTCとしたエポック秒
+     * @param ldt ローカル日時、NULLの場合は表の範囲外のときだけlocalから作る
+     * @return オフセット
+     */
+    private ZoneOffset getLocalOffset(final long local, @Nullable final LocalDateTime ldt) {
+        if (this.fixed) {
+            return this.offsets[0];
+        }
+        if (local < MIN_SECOND + SECONDS_PER_DAY || local >= MAX_SECOND - SECONDS_PER_DAY) {
+            return this.rules.getOffset(
+                    ldt != null ? ldt : LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC));
+        }
+        return this.offsets[count(this.localTransitions, local)];
+    }
+
+    /**
+     * エポック秒とナノ秒をエポックミリ秒にする.<br>
+     * {@link Instant#toEpochMilli()}と同じく負の秒でオーバーフローしないようにする.
+     *
+     * @param second エポック秒
+     * @param nano ナノ秒
+     * @return エポックミリ秒
+     * @throws ArithmeticException longに収まらない場合
+     */
+    private static long epochMilli(final long second, final int nano) {
+        if (second < 0 && nano > 0) {
+            return Math.addExact(Math.multiplyExact(second + 1, 1000L), nano / 1_000_000 - 1000);
+        }
+        return Math.addExact(Math.multiplyExact(second, 1000L), nano / 1_000_000);
+    }
+
+    /**
+     * 値以下の要素の数を求める.
+     *
+     * @param sorted 昇順の配列
+     * @param val 値
+     * @return 要素の数
+     */
+    private static int count(final long[] sorted, final long val) {
+        int index = Arrays.binarySearch(sorted, val);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
@@ -6,7 +6,10 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @SuppressWarnings("javadoc")
 @RunWith(Suite.class)
-@SuiteClasses({NumberUtilsTest.class, DateUtilsTest.class, JsonUtilsTest.class})
+@SuiteClasses({NumberUtilsTest.class, NumberFormatUtilsTest.class, DecimalTest.class,
+        OrderedBytesTest.class, IntListTest.class, LongListTest.class, DoubleListTest.class,
+        DateUtilsTest.class, DatePatternTest.class, DateFormatsTest.class,
+        ZoneOffsetsTest.class, JsonUtilsTest.class})
 public class AllTests {
 
 }
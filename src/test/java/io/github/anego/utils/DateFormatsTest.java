@@ -0,0 +1,139 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Random;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class DateFormatsTest extends TestCase {
+
+    @Test
+    public void testOf() {
+        DateFormats formats = DateFormats.of("yyyyMMdd", "yyyy-M-d", "yyyy/MM/dd HH:mm:ss");
+        assertThat(formats.getPatterns(),
+                is(Arrays.asList("yyyyMMdd", "yyyy-M-d", "yyyy/MM/dd HH:mm:ss")));
+        assertThat(formats.toString(),
+                is("DateFormats [yyyyMMdd, yyyy-M-d, yyyy/MM/dd HH:mm:ss]"));
+
+        try {
+            DateFormats.of();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("パターンがない"));
+        }
+        try {
+            DateFormats.of("yyyyMMdd", "yyyy-MM-ddTHH");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("Unknown pattern letter: T"));
+        }
+    }
+
+    @Test
+    public void testTryParse() {
+        DateFormats formats = DateFormats.of("yyyyMMdd", "yyyy/MM/dd HH:mm:ss", "yyyy-M-d",
+                "uuuu-MM-dd'T'HH:mm", "yyyyMMddHHmm", "ddMMyyyy");
+
+        assertThat(formats.tryParse("20240229"), is(LocalDateTime.of(2024, 2, 29, 0, 0)));
+        assertThat(formats.tryParse("2024/02/29 12:34:56"),
+                is(LocalDateTime.of(2024, 2, 29, 12, 34, 56)));
+        assertThat(formats.tryParse("2024-2-9"), is(LocalDateTime.of(2024, 2, 9, 0, 0)));
+        assertThat(formats.tryParse("2024-02-09"), is(LocalDateTime.of(2024, 2, 9, 0, 0)));
+        assertThat(formats.tryParse("2024-02-09T10:11"), is(LocalDateTime.of(2024, 2, 9, 10, 11)));
+        assertThat(formats.tryParse("202402091011"), is(LocalDateTime.of(2024, 2, 9, 10, 11)));
+
+        // 同じ長さで先のパターンの値が範囲外なら次のパターン
+        assertThat(formats.tryParse("29022024"), is(LocalDateTime.of(2024, 2, 29, 0, 0)));
+
+        assertThat(formats.tryParse("02/29/2024"), is(nullValue()));
+        assertThat(formats.tryParse("2024/02/29"), is(nullValue()));
+        assertThat(formats.tryParse(""), is(nullValue()));
+        assertThat(formats.tryParse(null), is(nullValue()));
+    }
+
+    @Test
+    public void testTryParseOrder() {
+        // 固定長と固定長でないパターンが混在しても指定順で最初に変換できた結果
+        assertThat(DateFormats.of("yyyy-M-d", "yyyy-dd-MM").tryParse("2024-02-03"),
+                is(LocalDateTime.of(2024, 2, 3, 0, 0)));
+        assertThat(DateFormats.of("yyyy-dd-MM", "yyyy-M-d").tryParse("2024-02-03"),
+                is(LocalDateTime.of(2024, 3, 2, 0, 0)));
+
+        DateFormats formats = DateFormats.of("d.M.uuuu", "MM.dd.uuuu", "dd.MM.uuuu");
+        assertThat(formats.tryParse("03.02.2024"), is(LocalDateTime.of(2024, 2, 3, 0, 0)));
+        assertThat(formats.tryParse("3.2.2024"), is(LocalDateTime.of(2024, 2, 3, 0, 0)));
+        formats = DateFormats.of("MM.dd.uuuu", "d.M.uuuu", "dd.MM.uuuu");
+        assertThat(formats.tryParse("03.02.2024"), is(LocalDateTime.of(2024, 3, 2, 0, 0)));
+        assertThat(formats.tryParse("13.02.2024"), is(LocalDateTime.of(2024, 2, 13, 0, 0)));
+
+        // 固定長より長い符号付きの年
+        formats = DateFormats.of("uuuu-MM-dd", "yyyy-M-d");
+        assertThat(formats.tryParse("-2024-01-02"), is(LocalDateTime.of(-2024, 1, 2, 0, 0)));
+        assertThat(formats.tryParse("+12024-01-02"), is(LocalDateTime.of(12024, 1, 2, 0, 0)));
+        assertThat(formats.tryParse("12024-01-02"), is(nullValue()));
+    }
+
+    @Test
+    public void testParse() {
+        DateFormats formats = DateFormats.of("yyyyMMdd", "yyyy-M-d");
+        assertThat(formats.parse("20240229"), is(LocalDateTime.of(2024, 2, 29, 0, 0)));
+        try {
+            formats.parse("2024/02/29");
+            fail();
+        } catch (DateTimeParseException e) {
+            assertThat(e.getMessage(),
+                    is("Text '2024/02/29' could not be parsed with [yyyyMMdd, yyyy-M-d]"));
+            assertThat(e.getParsedString(), is("2024/02/29"));
+        }
+        try {
+            formats.parse(null);
+            fail();
+        } catch (NullPointerException e) {
+            assertThat(e.getMessage(), is("text"));
+        }
+    }
+
+    @Test
+    public void testTryParseMatchesPatterns() {
+        String[] patterns = {"yyyyMMddHHmmss", "yyyy/MM/dd HH:mm:ss", "uuuu-MM-dd", "yyyy-M-d",
+                "dd.MM.uuuu HH:mm", "yyyyMMdd", "yy/MM/dd"};
+        DateFormats formats = DateFormats.of(patterns);
+        DatePattern[] compiled = new DatePattern[patterns.length];
+        for (int index = 0; index < patterns.length; index++) {
+            compiled[index] = DatePattern.of(patterns[index]);
+        }
+
+        Random random = new Random(23);
+        String chars = "0123456789-+/.: ";
+        for (int count = 0; count < 20000; count++) {
+            LocalDateTime ldt = LocalDateTime.of(1 + random.nextInt(9999),
+                    1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                    random.nextInt(60), random.nextInt(60));
+            char[] val = compiled[random.nextInt(compiled.length)].getFormatter().format(ldt)
+                    .toCharArray();
+            if (count % 2 == 0) {
+                val[random.nextInt(val.length)] = chars.charAt(random.nextInt(chars.length()));
+            }
+            StringBuilder text = new StringBuilder(new String(val));
+            if (count % 3 == 0) {
+                text.insert(random.nextInt(text.length() + 1),
+                        chars.charAt(random.nextInt(chars.length())));
+            }
+
+            // 指定順に1つずつ試した結果と同じ
+            LocalDateTime expected = null;
+            for (DatePattern pattern : compiled) {
+                expected = pattern.tryParse(text);
+                if (expected != null) {
+                    break;
+                }
+            }
+            assertThat(text.toString(), formats.tryParse(text), is(expected));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Random;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class DatePatternTest extends TestCase {
+
+    private static final String[] FIXED = {"yyyyMMddHHmmss", "yyyy/MM/dd HH:mm:ss", "uuuu-MM-dd",
+            "yyyy-MM-dd'T'HH:mm:ss.SSS", "dd.MM.uuuu HH:mm", "yyyyMMddHH", "yyyy''MM''dd",
+            "uuuu-MM-dd HH:mm:ss.SSSSSSSSS", "yyyy年MM月dd日"};
+
+    private static final String[] IRREGULAR = {"yyyy-M-d", "yy/MM/dd", "yyyy-MM-dd[ HH:mm]",
+            "MMM dd yyyy", "yyyy-MM-dd HH:mm:ss.n", "yyyy-MM-dd mm:ss",
+            "yyyy-MM-dd hh:mm a", "yyyy-MM", "uuuu-MM-dd'o''clock'"};
+
+    @Test
+    public void testOf() {
+        DatePattern.clearCache();
+        DatePattern pattern = DatePattern.of("yyyyMMddHHmmss");
+        assertThat(DatePattern.of(new String("yyyyMMddHHmmss")), is(sameInstance(pattern)));
+        assertThat(DatePattern.cacheSize(), is(1));
+        assertThat(pattern.getPattern(), is("yyyyMMddHHmmss"));
+        assertThat(pattern.getFormatter().toString(),
+                is(DateTimeFormatter.ofPattern("yyyyMMddHHmmss").toString()));
+        assertThat(pattern.toString(),
+                is("DatePattern [pattern=yyyyMMddHHmmss, fixedLayout=true]"));
+
+        for (String fixed : FIXED) {
+            assertThat(fixed, DatePattern.of(fixed).isFixedLayout(), is(true));
+        }
+        for (String irregular : IRREGULAR) {
+            assertThat(irregular, DatePattern.of(irregular).isFixedLayout(), is(false));
+        }
+
+        try {
+            DatePattern.of("yyyy-MM-ddTHH");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("Unknown pattern letter: T"));
+        }
+
+        // 上限を超えた分はキャッシュしない
+        DatePattern.clearCache();
+        for (int count = 0; count < DatePattern.CACHE_LIMIT + 10; count++) {
+            DatePattern.of("yyyyMMdd'" + count + "'");
+        }
+        assertThat(DatePattern.cacheSize(), is(DatePattern.CACHE_LIMIT));
+        assertThat(DatePattern.of("yyyyMMdd'X'").parse("20240101X"),
+                is(LocalDateTime.of(2024, 1, 1, 0, 0)));
+        DatePattern.clearCache();
+    }
+
+    @Test
+    public void testParse() {
+        assertThat(DatePattern.of("yyyyMMddHHmmss").parse("20240229123456"),
+                is(LocalDateTime.of(2024, 2, 29, 12, 34, 56)));
+        assertThat(DatePattern.of("uuuu-MM-dd").parse("2024-02-29"),
+                is(LocalDateTime.of(2024, 2, 29, 0, 0)));
+        assertThat(
+                DatePattern.of("yyyy-MM-dd'T'HH:mm:ss.SSS").parse("2024-02-29T12:34:56.789"),
+                is(LocalDateTime.of(2024, 2, 29, 12, 34, 56, 789000000)));
+        assertThat(DatePattern.of("yyyy年MM月dd日").parse("2024年02月29日"),
+                is(LocalDateTime.of(2024, 2, 29, 0, 0)));
+
+        // 固定長でない場合
+        assertThat(DatePattern.of("yyyy-M-d").parse("2024-2-9"),
+                is(LocalDateTime.of(2024, 2, 9, 0, 0)));
+        assertThat(DatePattern.of("yyyy-MM-dd[ HH:mm]").parse("2024-02-09 10:11"),
+                is(LocalDateTime.of(2024, 2, 9, 10, 11)));
+
+        // ResolverStyle.SMARTの補正はフォーマッタと同じ
+        assertThat(DatePattern.of("yyyy/MM/dd HH:mm:ss").parse("2023/02/30 00:00:00"),
+                is(LocalDateTime.of(2023, 2, 28, 0, 0)));
+        assertThat(DatePattern.of("yyyy/MM/dd HH:mm:ss").parse("2023/02/28 24:00:00"),
+                is(LocalDateTime.of(2023, 3, 1, 0, 0)));
+
+        try {
+            DatePattern.of("yyyyMMddHHmmss").parse("2024022912345");
+            fail();
+        } catch (DateTimeParseException e) {
+            assertThat(e.getMessage(),
+                    is("Text '2024022912345' could not be parsed at index 12"));
+        }
+        try {
+            DatePattern.of("yyyyMMdd").parse(null);
+            fail();
+        } catch (NullPointerException e) {
+            assertThat(e.getMessage(), is("text"));
+        }
+    }
+
+    @Test
+    public void testTryParse() {
+        DatePattern fixed = DatePattern.of("yyyy/MM/dd HH:mm:ss");
+        assertThat(fixed.tryParse("2024/02/29 12:34:56"),
+                is(LocalDateTime.of(2024, 2, 29, 12, 34, 56)));
+        assertThat(fixed.tryParse("2023/02/28 24:00:00"), is(LocalDateTime.of(2023, 3, 1, 0, 0)));
+        assertThat(fixed.tryParse("2024/02/29 12:34:5"), is(nullValue()));
+        assertThat(fixed.tryParse("2024/02/29 12:34:56 "), is(nullValue()));
+        assertThat(fixed.tryParse("2024/13/01 00:00:00"), is(nullValue()));
+        assertThat(fixed.tryParse(""), is(nullValue()));
+        assertThat(fixed.tryParse(null), is(nullValue()));
+
+        DatePattern irregular = DatePattern.of("yyyy-M-d");
+        assertThat(irregular.tryParse("2024-2-9"), is(LocalDateTime.of(2024, 2, 9, 0, 0)));
+        assertThat(irregular.tryParse("2024-2-30"), is(LocalDateTime.of(2024, 2, 29, 0, 0)));
+        assertThat(irregular.tryParse("2024-13-1"), is(nullValue()));
+        assertThat(irregular.tryParse("2024/2/9"), is(nullValue()));
+
+        // 日付にならないパターンは例外ではなくNULL
+        assertThat(DatePattern.of("yyyy-MM").tryParse("2024-02"), is(nullValue()));
+    }
+
+    @Test
+    public void testParseMatchesFormatter() {
+        Random random = new Random(22);
+        String digits = "0123456789";
+        String[] patterns = new String[FIXED.length + IRREGULAR.length];
+        System.arraycopy(FIXED, 0, patterns, 0, FIXED.length);
+        System.arraycopy(IRREGULAR, 0, patterns, FIXED.length, IRREGULAR.length);
+
+        for (String pattern : patterns) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            DatePattern compiled = DatePattern.of(pattern);
+            for (int count = 0; count < 3000; count++) {
+                LocalDateTime ldt = LocalDateTime.of(random.nextInt(10000),
+                        1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                        random.nextInt(60), random.nextInt(60), random.nextInt(1000000000));
+                char[] val;
+                try {
+                    val = formatter.format(ldt).toCharArray();
+                } catch (RuntimeException e) {
+                    break;
+                }
+                if (count % 2 == 0 && val.length > 0) {
+                    // 数字を入れ替えて範囲外や紀元0年も作る
+                    val[random.nextInt(val.length)] = digits.charAt(random.nextInt(10));
+                }
+                if (count % 7 == 0 && val.length > 0) {
+                    val[random.nextInt(val.length)] = '-';
+                }
+                String text = new String(val);
+                assertParse(pattern, formatter, compiled, text);
+            }
+        }
+    }
+
+    private static void assertParse(final String pattern, final DateTimeFormatter formatter,
+            final DatePattern compiled, final String text) {
+        LocalDateTime expected;
+        try {
+            TemporalAccessor parsed = formatter.parse(text);
+            expected = parsed.query(TemporalQueries.localTime()) == null
+                    ? LocalDate.from(parsed).atStartOfDay()
+                    : LocalDateTime.from(parsed);
+        } catch (RuntimeException e) {
+            assertThat(pattern + ": " + text, compiled.tryParse(text), is(nullValue()));
+            try {
+                compiled.parse(text);
+                fail(pattern + ": " + text);
+            } catch (RuntimeException actual) {
+                assertThat(pattern + ": " + text, actual.getClass(), is((Object) e.getClass()));
+                assertThat(pattern + ": " + text, actual.getMessage(), is(e.getMessage()));
+            }
+            return;
+        }
+        assertThat(pattern + ": " + text, compiled.parse(text), is(expected));
+        assertThat(pattern + ": " + text, compiled.tryParse(text), is(expected));
+    }
+}
@@ -7,8 +7,11 @@ import java.lang.reflect.Modifier;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Random;
 import java.util.TimeZone;
 import junit.framework.TestCase;
 import org.junit.Test;
@@ -74,6 +77,117 @@ public class DateUtilsTest extends TestCase {
                 DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), is(ldt));
     }
 
+    @Test
+    public void testParseLocalDateTimeIso() {
+        assertThat(DateUtils.parseLocalDateTime("2024-02-29T23:59", null),
+                is(LocalDateTime.of(2024, 2, 29, 23, 59)));
+        assertThat(DateUtils.parseLocalDateTime("2024-02-29t23:59:58.5", null),
+                is(LocalDateTime.of(2024, 2, 29, 23, 59, 58, 500000000)));
+        assertThat(DateUtils.parseLocalDateTime("0000-01-01T00:00:00.000000001",
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME), is(LocalDateTime.of(0, 1, 1, 0, 0, 0, 1)));
+        assertThat(DateUtils.parseLocalDateTime("+12345-01-01T00:00", null),
+                is(LocalDateTime.of(12345, 1, 1, 0, 0)));
+
+        // JDKと同じ結果、同じ例外
+        String[] vals = {"2017-10-29T10:15:30", "2017-10-29T10:15:30.123", "2017-10-29T10:15",
+                "2017-10-29T10:15:30.", "2017-10-29T10:15:30.1234567890", "2023-02-29T00:00",
+                "2024-04-31T00:00", "2024-13-01T00:00", "2024-00-01T00:00", "2024-01-00T00:00",
+                "2024-01-01T24:00", "2024-01-01T23:60", "2024-01-01T23:59:60",
+                "2024-01-01 00:00", "2024-01-01T00:00Z", "２０２４-01-01T00:00", "-2024-01-01T00:00",
+                "2024-1-01T00:00", "20240101T0000", "", "2024-01-01T00:00:0", "2024-01-01T00:0"};
+        for (String val : vals) {
+            assertParseLocalDateTime(val);
+        }
+
+        Random random = new Random(21);
+        String chars = "0123456789-:T.";
+        for (int count = 0; count < 20000; count++) {
+            LocalDateTime ldt = LocalDateTime.of(random.nextInt(10000), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60),
+                    random.nextInt(60), random.nextInt(1000000000));
+            char[] val = ldt.toString().toCharArray();
+            if (count % 2 == 0) {
+                val[random.nextInt(val.length)] = chars.charAt(random.nextInt(chars.length()));
+            }
+            assertParseLocalDateTime(new String(val));
+        }
+
+        try {
+            DateUtils.parseLocalDateTime(null, null);
+            fail();
+        } catch (NullPointerException e) {
+            assertThat(e, is(notNullValue()));
+        }
+    }
+
+    @Test
+    public void testToLocalDateTime() {
+        LocalDateTime ldt = LocalDateTime.of(2017, 10, 29, 10, 15, 30);
+
+        assertThat(DateUtils.toLocalDateTime("20171029101530", "yyyyMMddHHmmss"), is(ldt));
+        assertThat(DateUtils.toLocalDateTime("2017/10/29 10:15:30", "yyyy/MM/dd HH:mm:ss"),
+                is(ldt));
+        assertThat(DateUtils.toLocalDateTime("2017-10-29", "uuuu-MM-dd"),
+                is(LocalDateTime.of(2017, 10, 29, 0, 0)));
+        assertThat(DateUtils.toLocalDateTime("2017-10-29T10:15:30", null), is(ldt));
+        try {
+            DateUtils.toLocalDateTime("2017/10/29 30:15:30", "yyyy/MM/dd HH:mm:ss");
+            fail("例外パターン");
+        } catch (DateTimeParseException e) {
+            assertThat(e, is(notNullValue()));
+        }
+    }
+
+    @Test
+    public void testToDate() {
+        LocalDateTime ldt = LocalDateTime.of(2017, 10, 29, 10, 15, 30);
+        Date dateTarget = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
+
+        assertThat(DateUtils.toDate("20171029101530", "yyyyMMddHHmmss"), is(dateTarget));
+        assertThat(DateUtils.toDate("2017-10-29T10:15:30", null), is(dateTarget));
+        assertThat(DateUtils.toDate("2017-10-29 10:15:30", "yyyy-MM-dd HH:mm:ss"),
+                is(DateUtils.parse("2017-10-29 10:15:30",
+                        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))));
+    }
+
+    @Test
+    public void testTryParse() {
+        LocalDateTime ldt = LocalDateTime.of(2017, 10, 29, 10, 15, 30);
+        Date dateTarget = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
+
+        assertThat(DateUtils.tryParseLocalDateTime("20171029101530", "yyyyMMddHHmmss"), is(ldt));
+        assertThat(DateUtils.tryParseLocalDateTime("2017-10-29T10:15:30", null), is(ldt));
+        assertThat(DateUtils.tryParseLocalDateTime("2017/10/29 30:15:30", "yyyy/MM/dd HH:mm:ss"),
+                is(nullValue()));
+        assertThat(DateUtils.tryParseLocalDateTime("2017-10-29", "yyyyMMdd"), is(nullValue()));
+        assertThat(DateUtils.tryParseLocalDateTime("2017-10-29", null), is(nullValue()));
+        assertThat(DateUtils.tryParseLocalDateTime(null, null), is(nullValue()));
+        assertThat(DateUtils.tryParseLocalDateTime(null, "yyyyMMdd"), is(nullValue()));
+
+        assertThat(DateUtils.tryParse("20171029101530", "yyyyMMddHHmmss"), is(dateTarget));
+        assertThat(DateUtils.tryParse("2017-10-29T10:15:30", null), is(dateTarget));
+        assertThat(DateUtils.tryParse("2017-10-29T10:15:3", null), is(nullValue()));
+    }
+
+    private static void assertParseLocalDateTime(final String val) {
+        LocalDateTime expected;
+        try {
+            expected = LocalDateTime.parse(val);
+        } catch (DateTimeParseException e) {
+            try {
+                DateUtils.parseLocalDateTime(val, null);
+                fail(val);
+            } catch (DateTimeParseException actual) {
+                assertThat(val, actual.getMessage(), is(e.getMessage()));
+                assertThat(val, actual.getErrorIndex(), is(e.getErrorIndex()));
+            }
+            assertThat(val, DateUtils.tryParseLocalDateTime(val, null), is(nullValue()));
+            return;
+        }
+        assertThat(val, DateUtils.parseLocalDateTime(val, null), is(expected));
+        assertThat(val, DateUtils.tryParseLocalDateTime(val, null), is(expected));
+    }
+
     @Test
     public void testLocalDateTime2Date() {
 
@@ -96,6 +210,101 @@ public class DateUtilsTest extends TestCase {
 
     }
 
+    @Test
+    public void testZoneOverloads() {
+        LocalDateTime ldt = LocalDateTime.of(2017, 10, 29, 10, 15, 30, 123000000);
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        ZoneId london = ZoneId.of("Europe/London");
+
+        assertThat(DateUtils.localDateTime2Date(ldt, tokyo).getTime(), is(1509239730123L));
+        assertThat(DateUtils.localDateTime2Date(ldt, london).getTime(), is(1509272130123L));
+        assertThat(DateUtils.date2LocalDateTime(new Date(1509239730123L), tokyo), is(ldt));
+        assertThat(DateUtils.localDateTime2EpochMilli(ldt, london), is(1509272130123L));
+        assertThat(DateUtils.epochMilli2LocalDateTime(1509272130123L, london), is(ldt));
+
+        long millis = ldt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        assertThat(DateUtils.localDateTime2EpochMilli(ldt), is(millis));
+        assertThat(DateUtils.epochMilli2LocalDateTime(millis), is(ldt));
+    }
+
+    @Test
+    public void testToEpochMilliArray() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        String[] in = {"2024/03/10 02:30:00", "2024/11/03 01:30:00", "1970/01/01 00:00:00", null,
+                "2024/02/30 00:00:00", "2024/02/29 24:00:00", "2024/13/01 00:00:00", "x"};
+        long[] out = new long[in.length + 1];
+        out[in.length] = -1;
+        BitSet invalid = DateUtils.toEpochMilliArray(in, "yyyy/MM/dd HH:mm:ss", newYork, out);
+        assertThat(invalid.toString(), is("{3, 6, 7}"));
+        assertThat(out, is(new long[] {1710055800000L, 1730611800000L, 18000000L, 0,
+                1709182800000L, 1709269200000L, 0, 0, -1}));
+
+        long[] iso = new long[3];
+        CharSequence[] chars = {"2017-10-29T10:15:30.123", new StringBuilder("2017-10-29T10:15"),
+                "2017-10-29"};
+        invalid = DateUtils.toEpochMilliArray(chars, null, iso);
+        assertThat(invalid.toString(), is("{2}"));
+        assertThat(iso[0], is(LocalDateTime.of(2017, 10, 29, 10, 15, 30, 123000000)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        assertThat(iso[1], is(DateUtils.localDateTime2EpochMilli(LocalDateTime.of(2017, 10, 29,
+                10, 15))));
+
+        try {
+            DateUtils.toEpochMilliArray(in, null, new long[1]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("出力先の配列が短い: in=8, out=1"));
+        }
+    }
+
+    @Test
+    public void testToEpochArrayMatchesParse() {
+        String[] patterns = {null, "yyyyMMddHHmmss", "uuuu-MM-dd HH:mm:ss.SSS", "yyyy-M-d H:m"};
+        ZoneId[] zones = {ZoneId.of("America/New_York"), ZoneId.of("Asia/Tokyo"),
+                ZoneId.of("Europe/London")};
+        Random random = new Random(25);
+        String chars = "0123456789-:T. ";
+        // ForkJoinPoolで分割される件数
+        String[] in = new String[RangeTask.THRESHOLD * 3 + 17];
+        long[] millis = new long[in.length];
+        int[] days = new int[in.length];
+        for (String pattern : patterns) {
+            DateTimeFormatter formatter = pattern == null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME
+                    : DateTimeFormatter.ofPattern(pattern);
+            for (int index = 0; index < in.length; index++) {
+                LocalDateTime ldt = LocalDateTime.of(
+                        index % 50 == 0 ? random.nextInt(10000) : 1850 + random.nextInt(300),
+                        1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                        random.nextInt(60), random.nextInt(60), random.nextInt(1000000000));
+                char[] val = formatter.format(ldt).toCharArray();
+                if (index % 3 == 0) {
+                    val[random.nextInt(val.length)] = chars.charAt(random.nextInt(chars.length()));
+                }
+                in[index] = index % 101 == 0 ? null : new String(val);
+            }
+
+            for (ZoneId zone : zones) {
+                BitSet invalid = DateUtils.toEpochMilliArray(in, pattern, zone, millis);
+                for (int index = 0; index < in.length; index++) {
+                    LocalDateTime expected = DateUtils.tryParseLocalDateTime(in[index], pattern);
+                    String message = pattern + ": " + in[index];
+                    assertThat(message, invalid.get(index), is(expected == null));
+                    assertThat(message, millis[index], is(expected == null ? 0
+                            : expected.atZone(zone).toInstant().toEpochMilli()));
+                }
+            }
+
+            BitSet invalid = DateUtils.toEpochDayArray(in, pattern, days);
+            for (int index = 0; index < in.length; index++) {
+                LocalDateTime expected = DateUtils.tryParseLocalDateTime(in[index], pattern);
+                String message = pattern + ": " + in[index];
+                assertThat(message, invalid.get(index), is(expected == null));
+                assertThat(message, (long) days[index],
+                        is(expected == null ? 0 : expected.toLocalDate().toEpochDay()));
+            }
+        }
+    }
+
     @Test
     public void testDate2LocalDateTime() {
 
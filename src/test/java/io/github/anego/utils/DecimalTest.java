@@ -0,0 +1,335 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.BitSet;
+import java.util.Random;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class DecimalTest extends TestCase {
+
+    @Test
+    public void testParseString() {
+        assertThat(Decimal.parse(null), is(nullValue()));
+        assertThat(Decimal.parse(""), is(nullValue()));
+        assertThat(Decimal.parse(" "), is(nullValue()));
+        assertThat(Decimal.parse("abc"), is(nullValue()));
+        assertThat(Decimal.parse("1.2.3"), is(nullValue()));
+        assertThat(Decimal.parse("08"), is(nullValue()));
+
+        assertThat(Decimal.parse("0"), is(sameInstance(Decimal.ZERO)));
+        assertThat(Decimal.parse("123.45").toString(), is("123.45"));
+        assertThat(Decimal.parse("123.45").scale(), is(2));
+        assertThat(Decimal.parse("123.45").unscaledLong(), is(12345L));
+        assertThat(Decimal.parse("-0.050").toString(), is("-0.050"));
+        assertThat(Decimal.parse("+1.").toString(), is("1"));
+        assertThat(Decimal.parse(".5").toString(), is("0.5"));
+        assertThat(Decimal.parse("１２３．４５").toString(), is("123.45"));
+        assertThat(Decimal.parse("1e3").toString(), is("1000"));
+        assertThat(Decimal.parse("1.5E-3").toString(), is("0.0015"));
+        assertThat(Decimal.parse("-9223372036854775808").unscaledLong(), is(Long.MIN_VALUE));
+
+        Decimal big = Decimal.parse("92233720368547758.08");
+        assertThat(big.isCompact(), is(false));
+        assertThat(big.toString(), is("92233720368547758.08"));
+        try {
+            big.unscaledLong();
+            fail();
+        } catch (ArithmeticException e) {
+            assertThat(e.getMessage(), is("longに収まらない: 92233720368547758.08"));
+        }
+
+        // NumberUtils.toBigDecimalと同じ結果
+        Random random = new Random(18);
+        String chars = "0123456789.-+e ";
+        for (int count = 0; count < 20000; count++) {
+            StringBuilder builder = new StringBuilder();
+            int length = 1 + random.nextInt(24);
+            for (int index = 0; index < length; index++) {
+                builder.append(chars.charAt(random.nextInt(index == 0 ? chars.length()
+                        : random.nextInt(4) == 0 ? chars.length() : 10)));
+            }
+            String val = builder.toString();
+            BigDecimal expected = NumberUtils.toBigDecimal(val);
+            Decimal actual = Decimal.parse(val);
+            if (expected == null) {
+                assertThat(val, actual, is(nullValue()));
+            } else {
+                assertThat(val, actual.toBigDecimal(), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testParseCharArrayIntInt() {
+        char[] val = "x=-12.50;".toCharArray();
+        assertThat(Decimal.parse(val, 2, 6).toString(), is("-12.50"));
+        assertThat(Decimal.parse(val, 0, 3), is(nullValue()));
+        assertThat(Decimal.parse((char[]) null, 0, 0), is(nullValue()));
+    }
+
+    @Test
+    public void testValueOf() {
+        assertThat(Decimal.valueOf(1), is(sameInstance(Decimal.ONE)));
+        assertThat(Decimal.valueOf(-5).toString(), is("-5"));
+        assertThat(Decimal.of(12345, 2).toString(), is("123.45"));
+        assertThat(Decimal.of(5, -2).toString(), is("500"));
+        assertThat(Decimal.of(Long.MIN_VALUE, 3).toString(), is("-9223372036854775.808"));
+        assertThat(Decimal.valueOf((BigDecimal) null), is(nullValue()));
+        assertThat(Decimal.valueOf(new BigDecimal("1.50")), is(Decimal.of(150, 2)));
+        assertThat(Decimal.valueOf(new BigDecimal("1e30")).isCompact(), is(true));
+        assertThat(Decimal.valueOf(new BigDecimal("1e30").setScale(0)).isCompact(), is(false));
+    }
+
+    @Test
+    public void testAddSubtract() {
+        assertThat(Decimal.parse("1.5").add(Decimal.parse("0.25")).toString(), is("1.75"));
+        assertThat(Decimal.parse("1.5").subtract(Decimal.parse("0.25")).toString(), is("1.25"));
+        assertThat(Decimal.parse("1").subtract(Decimal.parse("1.00")).toString(), is("0.00"));
+
+        // 桁あふれはBigDecimalに切り替わる
+        Decimal max = Decimal.valueOf(Long.MAX_VALUE);
+        assertThat(max.add(Decimal.ONE).toString(), is("9223372036854775808"));
+        assertThat(max.add(Decimal.ONE).subtract(Decimal.ONE), is(max));
+        assertThat(max.add(Decimal.ONE).subtract(Decimal.ONE).isCompact(), is(true));
+        assertThat(Decimal.ZERO.subtract(Decimal.valueOf(Long.MIN_VALUE)).toString(),
+                is("9223372036854775808"));
+        assertThat(Decimal.valueOf(Long.MAX_VALUE / 10).add(Decimal.parse("0.1")).toString(),
+                is("922337203685477580.1"));
+    }
+
+    @Test
+    public void testMultiply() {
+        assertThat(Decimal.parse("1.5").multiply(Decimal.parse("0.25")).toString(),
+                is("0.375"));
+        assertThat(Decimal.parse("1.5").multiply(Decimal.parse("0.25"), 2).toString(),
+                is("0.38"));
+        assertThat(Decimal.parse("-1.5").multiply(Decimal.parse("0.25"), 2).toString(),
+                is("-0.38"));
+        assertThat(Decimal.parse("370.45").multiply(Decimal.parse("0.08"), 0).toString(),
+                is("30"));
+
+        Decimal big = Decimal.valueOf(Long.MAX_VALUE).multiply(Decimal.valueOf(Long.MAX_VALUE));
+        assertThat(big.toBigDecimal(), is(BigDecimal.valueOf(Long.MAX_VALUE)
+                .multiply(BigDecimal.valueOf(Long.MAX_VALUE))));
+        assertThat(Decimal.valueOf(Long.MIN_VALUE).multiply(Decimal.valueOf(-1)).toString(),
+                is("9223372036854775808"));
+    }
+
+    @Test
+    public void testDivide() {
+        assertThat(Decimal.parse("10").divide(Decimal.parse("3"), 2).toString(), is("3.33"));
+        assertThat(Decimal.parse("2").divide(Decimal.parse("3"), 2).toString(), is("0.67"));
+        assertThat(Decimal.parse("-2").divide(Decimal.parse("3"), 2).toString(), is("-0.67"));
+        assertThat(Decimal.parse("1").divide(Decimal.parse("8"), 2).toString(), is("0.13"));
+        assertThat(Decimal.parse("-1").divide(Decimal.parse("-8"), 2).toString(), is("0.13"));
+        assertThat(Decimal.parse("1.50").divide(Decimal.parse("0.5"), 0).toString(), is("3"));
+        try {
+            Decimal.ONE.divide(Decimal.parse("0.00"), 2);
+            fail();
+        } catch (ArithmeticException e) {
+            assertThat(e.getMessage(), is("Division by zero"));
+        }
+    }
+
+    @Test
+    public void testSetScale() {
+        assertThat(Decimal.parse("1.25").setScale(1).toString(), is("1.3"));
+        assertThat(Decimal.parse("-1.25").setScale(1).toString(), is("-1.3"));
+        assertThat(Decimal.parse("1.24").setScale(1).toString(), is("1.2"));
+        assertThat(Decimal.parse("1.2").setScale(3).toString(), is("1.200"));
+        assertThat(Decimal.parse("125").setScale(-1).toString(), is("130"));
+        assertThat(Decimal.parse("1.2").setScale(30).isCompact(), is(false));
+        assertThat(Decimal.parse("9.5").setScale(-25).signum(), is(0));
+    }
+
+    @Test
+    public void testArithmeticMatchesBigDecimal() {
+        Random random = new Random(1018);
+        for (int count = 0; count < 20000; count++) {
+            Decimal left = randomDecimal(random);
+            Decimal right = randomDecimal(random);
+            BigDecimal bigLeft = left.toBigDecimal();
+            BigDecimal bigRight = right.toBigDecimal();
+            int scale = random.nextInt(8);
+            String message = left + ", " + right + ", " + scale;
+
+            assertThat(message, left.add(right).toBigDecimal(), is(bigLeft.add(bigRight)));
+            assertThat(message, left.subtract(right).toBigDecimal(),
+                    is(bigLeft.subtract(bigRight)));
+            assertThat(message, left.multiply(right).toBigDecimal(),
+                    is(bigLeft.multiply(bigRight)));
+            assertThat(message, left.multiply(right, scale).toBigDecimal(),
+                    is(bigLeft.multiply(bigRight).setScale(scale, RoundingMode.HALF_UP)));
+            assertThat(message, left.setScale(scale).toBigDecimal(),
+                    is(bigLeft.setScale(scale, RoundingMode.HALF_UP)));
+            assertThat(message, Integer.signum(left.compareTo(right)),
+                    is(bigLeft.compareTo(bigRight)));
+            assertThat(message, left.doubleValue(), is(bigLeft.doubleValue()));
+            assertThat(message, left.longValue(), is(bigLeft.longValue()));
+            if (right.signum() != 0) {
+                assertThat(message, left.divide(right, scale).toBigDecimal(),
+                        is(bigLeft.divide(bigRight, scale, RoundingMode.HALF_UP)));
+            }
+        }
+    }
+
+    @Test
+    public void testCompareToEqualsHashCode() {
+        Decimal one = Decimal.parse("1.5");
+        Decimal two = Decimal.parse("1.50");
+        assertThat(one.compareTo(two), is(0));
+        assertThat(one.equals(two), is(false));
+        assertThat(one.equals(Decimal.of(15, 1)), is(true));
+        assertThat(one.hashCode(), is(Decimal.of(15, 1).hashCode()));
+        assertThat(Decimal.parse("-2").compareTo(one) < 0, is(true));
+        assertThat(Decimal.valueOf(Long.MAX_VALUE).compareTo(Decimal.parse("0.1")) > 0,
+                is(true));
+
+        Decimal big = Decimal.parse("123456789012345678901234567890.5");
+        assertThat(big.equals(Decimal.valueOf(big.toBigDecimal())), is(true));
+        assertThat(big.hashCode(), is(Decimal.valueOf(big.toBigDecimal()).hashCode()));
+        assertThat(big.compareTo(one) > 0, is(true));
+        assertThat(big.equals(one), is(false));
+    }
+
+    @Test
+    public void testNumber() {
+        Decimal val = Decimal.parse("-123.75");
+        assertThat(val.intValue(), is(-123));
+        assertThat(val.longValue(), is(-123L));
+        assertThat(val.floatValue(), is(-123.75f));
+        assertThat(val.doubleValue(), is(-123.75d));
+        assertThat(Decimal.parse("0.1").doubleValue(), is(0.1d));
+        assertThat(Decimal.of(5, -2).longValue(), is(500L));
+        assertThat(Decimal.of(5, 30).longValue(), is(0L));
+    }
+
+    @Test
+    public void testAppend() {
+        StringBuilder builder = new StringBuilder("v=");
+        assertThat(Decimal.parse("-0.05").appendTo(builder), is(sameInstance(builder)));
+        assertThat(builder.toString(), is("v=-0.05"));
+
+        builder.setLength(0);
+        assertThat(Decimal.append(builder, 12345, 2).toString(), is("123.45"));
+        builder.setLength(0);
+        assertThat(Decimal.append(builder, -5, 3).toString(), is("-0.005"));
+        builder.setLength(0);
+        assertThat(Decimal.append(builder, Long.MIN_VALUE, 2).toString(),
+                is("-92233720368547758.08"));
+        builder.setLength(0);
+        assertThat(Decimal.append(builder, 5, -2).toString(), is("500"));
+    }
+
+    @Test
+    public void testParseStringArrayIntLongArray() {
+        String[] in = {"1.005", "-1.005", "２", null, "", "abc", "1e-2", "92233720368547758.07",
+                "92233720368547758.08", "1e100", "1e-999999999", "0.004"};
+        long[] out = new long[in.length];
+        BitSet invalid = Decimal.parse(in, 2, out);
+        assertThat(out[0], is(101L));
+        assertThat(out[1], is(-101L));
+        assertThat(out[2], is(200L));
+        assertThat(out[6], is(1L));
+        assertThat(out[7], is(Long.MAX_VALUE));
+        assertThat(out[10], is(0L));
+        assertThat(out[11], is(0L));
+        assertThat(invalid.toString(), is("{3, 4, 5, 8, 9}"));
+
+        try {
+            Decimal.parse(in, 2, new long[1]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("出力先の配列が短い: in=12, out=1"));
+        }
+
+        // 負のスケールでは20桁以上の整数もlongに収まる
+        String[] negative = {"14001979737614032891", "-581493021007513669171", "149.99", "-150",
+                "922337203685477580749", "922337203685477580750", "1e20"};
+        long[] scaled = new long[negative.length];
+        invalid = Decimal.parse(negative, -2, scaled);
+        assertThat(scaled, is(new long[] {140019797376140329L, -5814930210075136692L, 1, -2,
+                Long.MAX_VALUE, 0, 1000000000000000000L}));
+        assertThat(invalid.toString(), is("{5}"));
+
+        Random random = new Random(18);
+        String[] digits = new String[2000];
+        for (int index = 0; index < digits.length; index++) {
+            StringBuilder builder = new StringBuilder(random.nextBoolean() ? "-" : "");
+            builder.append(1 + random.nextInt(9));
+            for (int count = random.nextInt(24); count > 0; count--) {
+                builder.append(random.nextInt(10));
+            }
+            if (random.nextBoolean()) {
+                builder.append('.').append(random.nextInt(1000));
+            }
+            digits[index] = builder.toString();
+        }
+        for (int scale = -4; scale <= 4; scale++) {
+            long[] values = new long[digits.length];
+            invalid = Decimal.parse(digits, scale, values);
+            for (int index = 0; index < digits.length; index++) {
+                BigInteger expected = new BigDecimal(digits[index])
+                        .setScale(scale, RoundingMode.HALF_UP).unscaledValue();
+                String message = digits[index] + ", " + scale;
+                boolean fits = expected.bitLength() < Long.SIZE;
+                assertThat(message, invalid.get(index), is(!fits));
+                assertThat(message, values[index], is(fits ? expected.longValue() : 0L));
+            }
+        }
+
+        // 並列に変換される件数
+        int size = 100000;
+        String[] many = new String[size];
+        for (int index = 0; index < size; index++) {
+            many[index] = index % 1000 == 0 ? "x" : (index / 100) + "." + (index % 100);
+        }
+        long[] values = new long[size];
+        invalid = Decimal.parse(many, 1, values);
+        assertThat(invalid.cardinality(), is(size / 1000));
+        for (int index = 0; index < size; index++) {
+            if (index % 1000 == 0) {
+                assertThat(invalid.get(index), is(true));
+                assertThat(values[index], is(0L));
+            } else {
+                assertThat(values[index], is(new BigDecimal(many[index])
+                        .setScale(1, RoundingMode.HALF_UP).unscaledValue().longValue()));
+            }
+        }
+    }
+
+    @Test
+    public void testSum() {
+        assertThat(Decimal.sum(new long[0], 2).toString(), is("0.00"));
+        assertThat(Decimal.sum(new long[] {150, 275, -25}, 2).toString(), is("4.00"));
+        assertThat(Decimal.sum(new long[] {Long.MAX_VALUE, 1, 1}, 0).toString(),
+                is("9223372036854775809"));
+        assertThat(Decimal.sum(new long[] {Long.MAX_VALUE, 1, -1}, 0).isCompact(), is(true));
+    }
+
+    private static Decimal randomDecimal(final Random random) {
+        long unscaled;
+        switch (random.nextInt(4)) {
+            case 0:
+                unscaled = random.nextLong();
+                break;
+            case 1:
+                unscaled = random.nextInt();
+                break;
+            default:
+                unscaled = random.nextInt(20000) - 10000;
+                break;
+        }
+        Decimal val = Decimal.of(unscaled, random.nextInt(12) - 2);
+        if (random.nextInt(20) == 0) {
+            val = val.multiply(Decimal.valueOf(Long.MAX_VALUE));
+        }
+        return val;
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.util.Arrays;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class DoubleListTest extends TestCase {
+
+    @Test
+    public void testDoubleList() {
+        DoubleList list = new DoubleList(1);
+        for (int index = 0; index < 1000; index++) {
+            assertThat(list.add(index / 4d), is(sameInstance(list)));
+        }
+        assertThat(list.size(), is(1000));
+        assertThat(list.get(999), is(249.75d));
+        assertThat(list.set(0, -1), is(0d));
+        assertThat(list.toArray()[0], is(-1d));
+
+        try {
+            new DoubleList(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("初期容量が不正: -1"));
+        }
+        try {
+            list.get(-1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage(), is("index=-1, size=1000"));
+        }
+    }
+
+    @Test
+    public void testAppendParsed() {
+        String[] vals = {"1.5", "-0.1", "１２．５", "1e3", "a", "", " ", "1e400", "-1e400",
+                "0x10", "NaN", "123456789.123456789", "4.9e-324"};
+        DoubleList list = new DoubleList();
+        for (String val : vals) {
+            list.appendParsed(val);
+        }
+        list.appendParsed((CharSequence) null);
+        assertThat(list.size(), is(vals.length + 1));
+        for (int index = 0; index < vals.length; index++) {
+            assertThat(vals[index], list.get(index), is(NumberUtils.toDouble(vals[index])));
+        }
+        assertThat(list.get(vals.length), is(0d));
+
+        list.clear();
+        list.appendParsed("x=-4.25;", 2, 7).appendParsed("3.5,1,２.２５,", ',');
+        assertThat(list.toArray(), is(new double[] {-4.25, 3.5, 1, 2.25, 0}));
+    }
+
+    @Test
+    public void testAddAllSortStream() {
+        DoubleList list = DoubleList.of(0.5, -1).addAll(new double[] {0, 0.0, -0.0}, 1, 2)
+                .addAll(DoubleList.of(Double.NaN));
+        assertThat(list.sort().toString(), is("[-1.0, -0.0, 0.0, 0.5, NaN]"));
+        assertThat(list.stream().limit(4).sum(), is(-0.5d));
+        assertThat(list.equals(DoubleList.of(-1, -0.0, 0.0, 0.5, Double.NaN)), is(true));
+        assertThat(list.equals(DoubleList.of(-1, 0.0, 0.0, 0.5, Double.NaN)), is(false));
+        assertThat(list.hashCode(),
+                is(Arrays.hashCode(new double[] {-1, -0.0, 0.0, 0.5, Double.NaN})));
+        assertThat(list.equals(IntList.of(1)), is(false));
+    }
+}
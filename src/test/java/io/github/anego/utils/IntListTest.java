@@ -0,0 +1,118 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.util.Arrays;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class IntListTest extends TestCase {
+
+    @Test
+    public void testIntList() {
+        IntList list = new IntList();
+        assertThat(list.size(), is(0));
+        assertThat(list.isEmpty(), is(true));
+        assertThat(list.toString(), is("[]"));
+
+        assertThat(new IntList(0).add(1).add(2).toString(), is("[1, 2]"));
+        try {
+            new IntList(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("初期容量が不正: -1"));
+        }
+    }
+
+    @Test
+    public void testAddGetSet() {
+        IntList list = new IntList(1);
+        for (int index = 0; index < 1000; index++) {
+            assertThat(list.add(index * 3), is(sameInstance(list)));
+        }
+        assertThat(list.size(), is(1000));
+        assertThat(list.get(999), is(2997));
+        assertThat(list.set(999, -1), is(2997));
+        assertThat(list.get(999), is(-1));
+
+        try {
+            list.get(1000);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage(), is("index=1000, size=1000"));
+        }
+        try {
+            list.set(-1, 0);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage(), is("index=-1, size=1000"));
+        }
+
+        list.clear();
+        assertThat(list.isEmpty(), is(true));
+        try {
+            list.get(0);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage(), is("index=0, size=0"));
+        }
+    }
+
+    @Test
+    public void testAddAll() {
+        IntList list = IntList.of(1, 2);
+        list.addAll(3, 4).addAll(new int[] {9, 5, 6, 9}, 1, 2).addAll(IntList.of(7));
+        assertThat(list.toArray(), is(new int[] {1, 2, 3, 4, 5, 6, 7}));
+        list.addAll(list);
+        assertThat(list.size(), is(14));
+        assertThat(list.get(13), is(7));
+    }
+
+    @Test
+    public void testAppendParsed() {
+        IntList list = new IntList();
+        list.appendParsed("12").appendParsed("１２").appendParsed("1.9").appendParsed("a")
+                .appendParsed((CharSequence) null).appendParsed("9999999999");
+        assertThat(list.toArray(), is(new int[] {12, 12, 1, 0, 0, Integer.MAX_VALUE}));
+
+        list.clear();
+        list.appendParsed("x=-42;", 2, 5);
+        assertThat(list.toArray(), is(new int[] {-42}));
+
+        list.clear();
+        list.appendParsed(new StringBuilder("3,1,２,,a, 5"), ',');
+        assertThat(list.toArray(), is(new int[] {3, 1, 2, 0, 0, NumberUtils.toInt(" 5")}));
+
+        list.clear();
+        list.appendParsed("", ',').appendParsed(null, ',');
+        assertThat(list.isEmpty(), is(true));
+        list.appendParsed(",", ',');
+        assertThat(list.toArray(), is(new int[] {0, 0}));
+    }
+
+    @Test
+    public void testSortStream() {
+        IntList list = IntList.of(5, -1, 3, Integer.MIN_VALUE);
+        assertThat(list.sort(), is(sameInstance(list)));
+        assertThat(list.toString(), is("[-2147483648, -1, 3, 5]"));
+        assertThat(list.stream().skip(1).sum(), is(7));
+
+        // 容量の余りはストリームに含めない
+        IntList sized = new IntList(100).add(1).add(2);
+        assertThat(sized.stream().count(), is(2L));
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        IntList list = IntList.of(1, 2, 3);
+        IntList other = new IntList(100).addAll(1, 2, 3);
+        assertThat(list.equals(other), is(true));
+        assertThat(list.hashCode(), is(other.hashCode()));
+        assertThat(list.hashCode(), is(Arrays.hashCode(new int[] {1, 2, 3})));
+        assertThat(list.equals(IntList.of(1, 2)), is(false));
+        assertThat(list.equals(IntList.of(1, 2, 4)), is(false));
+        assertThat(list.equals(LongList.of(1, 2, 3)), is(false));
+        assertThat(list.equals(list), is(true));
+    }
+}
@@ -399,6 +399,33 @@ public class JsonUtilsTest extends TestCase {
         assertThat(model.getAry2(), is(Integer.valueOf(1)));
     }
 
+    public void testGetIntListLongListDoubleList() {
+        JsonArray array = new JsonArray();
+        array.add(Integer.valueOf(10));
+        array.add("x");
+        array.add(Double.valueOf(2.5));
+        array.add((JsonElement) null);
+        json.add("mixed", array);
+
+        assertThat(JsonUtils.getIntList(json, "ary", -1), is(IntList.of(10, 20)));
+        assertThat(JsonUtils.getIntList(json, "mixed", -1), is(IntList.of(10, -1, 2, -1)));
+        assertThat(JsonUtils.getLongList(json, "mixed", -1), is(LongList.of(10, -1, 2, -1)));
+        assertThat(JsonUtils.getDoubleList(json, "mixed", -1),
+                is(DoubleList.of(10, -1, 2.5, -1)));
+        assertThat(JsonUtils.getIntList(json, "age", -1), nullValue());
+        assertThat(JsonUtils.getLongList(json, "aaa", -1), nullValue());
+        assertThat(JsonUtils.getDoubleList(json, "null", -1), nullValue());
+    }
+
+    public void testBindJsonSetIntList() {
+        IntList[] holder = new IntList[1];
+        JsonUtils.bind(json).setIntList("ary", list -> holder[0] = list, 0);
+        assertThat(holder[0], is(IntList.of(10, 20)));
+
+        JsonUtils.bind(json).setIntList("aaa", list -> holder[0] = list, 0);
+        assertThat(holder[0], nullValue());
+    }
+
     public void testBindJsonSetDateString() {
 
         TestModel model = new TestModel();
@@ -0,0 +1,62 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.util.Arrays;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class LongListTest extends TestCase {
+
+    @Test
+    public void testLongList() {
+        LongList list = new LongList(1);
+        for (long index = 0; index < 1000; index++) {
+            assertThat(list.add(index << 32), is(sameInstance(list)));
+        }
+        assertThat(list.size(), is(1000));
+        assertThat(list.get(999), is(999L << 32));
+        assertThat(list.set(0, -1), is(0L));
+        assertThat(list.toArray()[0], is(-1L));
+
+        try {
+            new LongList(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("初期容量が不正: -1"));
+        }
+        try {
+            list.get(1000);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage(), is("index=1000, size=1000"));
+        }
+    }
+
+    @Test
+    public void testAppendParsed() {
+        LongList list = new LongList();
+        list.appendParsed("30000000000").appendParsed("１２").appendParsed("a")
+                .appendParsed((CharSequence) null).appendParsed("9223372036854775807")
+                .appendParsed("9223372036854775808").appendParsed("1.5");
+        // toLong(String)と同じく範囲外や小数は0
+        assertThat(list.toArray(), is(new long[] {30000000000L, 12, 0, 0, Long.MAX_VALUE, 0, 0}));
+
+        list.clear();
+        list.appendParsed("x=-42;", 2, 5).appendParsed("-9223372036854775808,,7", ',');
+        assertThat(list.toArray(), is(new long[] {-42, Long.MIN_VALUE, 0, 7}));
+    }
+
+    @Test
+    public void testAddAllSortStream() {
+        LongList list = LongList.of(5, -1).addAll(new long[] {0, 3, 0}, 1, 1)
+                .addAll(LongList.of(Long.MIN_VALUE));
+        assertThat(list.sort().toString(), is("[-9223372036854775808, -1, 3, 5]"));
+        assertThat(list.stream().skip(1).sum(), is(7L));
+        assertThat(list.equals(LongList.of(Long.MIN_VALUE, -1, 3, 5)), is(true));
+        assertThat(list.hashCode(), is(Arrays.hashCode(new long[] {Long.MIN_VALUE, -1, 3, 5})));
+        assertThat(list.equals(LongList.of(Long.MIN_VALUE, -1, 3)), is(false));
+        assertThat(list.equals(IntList.of(-1, 3, 5)), is(false));
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class NumberFormatUtilsTest extends TestCase {
+
+    @Test
+    public void testNumberFormatUtils() {
+        try {
+            Constructor<?>[] constructors = NumberFormatUtils.class.getDeclaredConstructors();
+
+            assertEquals(Integer.valueOf(constructors.length), Integer.valueOf(1));
+
+            Constructor<?> defaultConstructor = constructors[0];
+            assertEquals(Integer.valueOf(defaultConstructor.getParameterTypes().length),
+                    Integer.valueOf(0));
+            assertTrue(Modifier.isPrivate(defaultConstructor.getModifiers()));
+
+            defaultConstructor.setAccessible(true);
+            Object instance = defaultConstructor.newInstance();
+            assertNotNull(instance);
+            assertThat(instance, instanceOf(NumberFormatUtils.class));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testAppendStringBuilderLong() {
+        StringBuilder builder = new StringBuilder("id=");
+        assertThat(NumberFormatUtils.append(builder, 0), is(sameInstance(builder)));
+        assertThat(builder.toString(), is("id=0"));
+
+        long[] vals = {1, -1, 9, 10, 99, 100, -12345, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE, 1234567890123456789L};
+        for (long val : vals) {
+            builder.setLength(0);
+            assertThat(NumberFormatUtils.append(builder, val).toString(), is(Long.toString(val)));
+        }
+    }
+
+    @Test
+    public void testAppendStringBuilderDoubleInt() {
+        assertThat(NumberFormatUtils.append(new StringBuilder(), 1.005d, 2).toString(),
+                is("1.01"));
+        assertThat(NumberFormatUtils.append(new StringBuilder(), -0.5d, 0).toString(), is("-1"));
+        assertThat(NumberFormatUtils.append(new StringBuilder(), 2d, 3).toString(), is("2.000"));
+        assertThat(NumberFormatUtils.append(new StringBuilder(), 0.05d, 2).toString(), is("0.05"));
+        assertThat(NumberFormatUtils.append(new StringBuilder(), -0.004d, 2).toString(),
+                is("0.00"));
+        assertThat(NumberFormatUtils.append(new StringBuilder(), -0d, 1).toString(), is("0.0"));
+        assertThat(NumberFormatUtils.append(new StringBuilder(), 1e20d, 1).toString(),
+                is("100000000000000000000.0"));
+        assertThat(NumberFormatUtils.append(new StringBuilder(), 1234.5d, -1).toString(),
+                is("1230"));
+
+        double[] vals = {0.1d + 0.2d, 2.675d, -123.456d, 1e-10d, 99999999999999.5d};
+        for (double val : vals) {
+            for (int scale = 0; scale < 20; scale++) {
+                assertThat(NumberFormatUtils.append(new StringBuilder(), val, scale).toString(),
+                        is(BigDecimal.valueOf(val).setScale(scale, RoundingMode.HALF_UP)
+                                .toPlainString()));
+            }
+        }
+
+        try {
+            NumberFormatUtils.append(new StringBuilder(), Double.NaN, 1);
+            fail();
+        } catch (NumberFormatException e) {
+            // decimalScaleと同じ
+        }
+    }
+
+    @Test
+    public void testAppendAppendableLong() throws IOException {
+        StringWriter writer = new StringWriter();
+        assertThat(NumberFormatUtils.append((Appendable) writer, -123L),
+                is(sameInstance((Appendable) writer)));
+        NumberFormatUtils.append((Appendable) writer.append(','), Long.MIN_VALUE);
+        assertThat(writer.toString(), is("-123,-9223372036854775808"));
+
+        StringBuilder builder = new StringBuilder();
+        NumberFormatUtils.append((Appendable) builder, 45L);
+        assertThat(builder.toString(), is("45"));
+    }
+
+    @Test
+    public void testAppendAppendableDoubleInt() throws IOException {
+        StringWriter writer = new StringWriter();
+        NumberFormatUtils.append((Appendable) writer, 1.15d, 1);
+        NumberFormatUtils.append((Appendable) writer.append(','), 1e300d, 1);
+        assertThat(writer.toString(), is("1.2," + BigDecimal.valueOf(1e300d).setScale(1)
+                .toPlainString()));
+    }
+
+    @Test
+    public void testWriteLongCharArrayInt() {
+        char[] dest = "xxxxxxxxxxxxxxxxxxxxxxxx".toCharArray();
+        assertThat(NumberFormatUtils.write(-120L, dest, 1), is(5));
+        assertThat(new String(dest, 0, 6), is("x-120x"));
+        assertThat(NumberFormatUtils.write(Long.MIN_VALUE, dest, 0), is(20));
+        assertThat(new String(dest, 0, 20), is("-9223372036854775808"));
+
+        try {
+            NumberFormatUtils.write(12345L, new char[6], 2);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 書き込み先が短い
+        }
+    }
+
+    @Test
+    public void testWriteDoubleIntCharArrayInt() {
+        char[] dest = new char[8];
+        assertThat(NumberFormatUtils.write(-3.14159d, 3, dest, 1), is(7));
+        assertThat(new String(dest, 1, 6), is("-3.142"));
+
+        try {
+            NumberFormatUtils.write(1d, 8, dest, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 書き込み先が短い
+        }
+    }
+
+    @Test
+    public void testWriteLongByteArrayInt() {
+        byte[] dest = new byte[24];
+        int end = NumberFormatUtils.write(Long.MAX_VALUE, dest, 2);
+        assertThat(end, is(21));
+        assertThat(new String(dest, 2, end - 2, StandardCharsets.US_ASCII),
+                is(Long.toString(Long.MAX_VALUE)));
+        end = NumberFormatUtils.write(Long.MIN_VALUE, dest, 0);
+        assertThat(new String(dest, 0, end, StandardCharsets.US_ASCII),
+                is(Long.toString(Long.MIN_VALUE)));
+
+        try {
+            NumberFormatUtils.write(1L, dest, 24);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 書き込み先が短い
+        }
+    }
+
+    @Test
+    public void testWriteDoubleIntByteArrayInt() {
+        byte[] dest = new byte[24];
+        int end = NumberFormatUtils.write(2.675d, 2, dest, 0);
+        assertThat(new String(dest, 0, end, StandardCharsets.US_ASCII), is("2.68"));
+        end = NumberFormatUtils.write(-1e15d, 1, dest, 0);
+        assertThat(new String(dest, 0, end, StandardCharsets.US_ASCII), is("-1000000000000000.0"));
+    }
+
+    @Test
+    public void testPutByteBufferLong() {
+        ByteBuffer heap = ByteBuffer.allocate(32);
+        heap.put((byte) '[');
+        assertThat(NumberFormatUtils.put(heap, -42L), is(sameInstance(heap)));
+        heap.put((byte) ']');
+        assertThat(new String(heap.array(), 0, heap.position(), StandardCharsets.US_ASCII),
+                is("[-42]"));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(32);
+        NumberFormatUtils.put(direct, 1234567890L);
+        NumberFormatUtils.put(direct.put((byte) ','), Long.MIN_VALUE);
+        direct.flip();
+        assertThat(StandardCharsets.US_ASCII.decode(direct).toString(),
+                is("1234567890,-9223372036854775808"));
+
+        try {
+            NumberFormatUtils.put(ByteBuffer.allocate(2), 100L);
+            fail();
+        } catch (BufferOverflowException e) {
+            // バッファが足りない
+        }
+    }
+
+    @Test
+    public void testPutByteBufferDoubleInt() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(32);
+        NumberFormatUtils.put(direct, 0.125d, 2);
+        NumberFormatUtils.put(direct.put((byte) ','), -7d, 3);
+        direct.flip();
+        assertThat(StandardCharsets.US_ASCII.decode(direct).toString(), is("0.13,-7.000"));
+
+        ByteBuffer heap = ByteBuffer.allocate(32);
+        NumberFormatUtils.put(heap, 1.15d, 1);
+        heap.flip();
+        assertThat(StandardCharsets.US_ASCII.decode(heap).toString(), is("1.2"));
+    }
+}
@@ -5,6 +5,16 @@ import static org.hamcrest.MatcherAssert.*;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 import junit.framework.TestCase;
 import org.junit.Test;
 
@@ -152,6 +162,92 @@ public class NumberUtilsTest extends TestCase {
         assertTrue(NumberUtils.isNotBlank(Short.valueOf(Short.MAX_VALUE)));
     }
 
+    @Test
+    public void testEmptyMaskAndBlankMask() {
+        // 並列処理になる長さと64の倍数でない長さ
+        int[] lengths = {0, 1, 63, 64, 65, 1000, 20000};
+        Random random = new Random(15);
+        for (int length : lengths) {
+            Short[] shorts = new Short[length];
+            Integer[] ints = new Integer[length];
+            Long[] longs = new Long[length];
+            short[] shortPrims = new short[length];
+            int[] intPrims = new int[length];
+            long[] longPrims = new long[length];
+            for (int index = 0; index < length; index++) {
+                long val;
+                switch (random.nextInt(6)) {
+                    case 0:
+                        val = Long.MIN_VALUE;
+                        break;
+                    case 1:
+                        val = 0;
+                        break;
+                    case 2:
+                        val = -1;
+                        break;
+                    case 3:
+                        val = 99;
+                        break;
+                    default:
+                        val = random.nextLong();
+                        break;
+                }
+                boolean isNull = random.nextInt(5) == 0;
+                shorts[index] = isNull ? null : Short.valueOf((short) val);
+                ints[index] = isNull ? null : Integer.valueOf((int) val);
+                longs[index] = isNull ? null : Long.valueOf(val);
+                shortPrims[index] = isNull ? 99 : (short) val;
+                intPrims[index] = isNull ? 99 : (int) val;
+                longPrims[index] = isNull ? 99 : val;
+            }
+
+            BitSet shortEmpty = BitSet.valueOf(NumberUtils.emptyMask(shorts));
+            BitSet intEmpty = BitSet.valueOf(NumberUtils.emptyMask(ints));
+            BitSet longEmpty = BitSet.valueOf(NumberUtils.emptyMask(longs));
+            BitSet listEmpty = BitSet.valueOf(NumberUtils.emptyMask(Arrays.asList(longs)));
+            BitSet shortBlank = BitSet.valueOf(NumberUtils.blankMask(shorts));
+            BitSet intBlank = BitSet.valueOf(NumberUtils.blankMask(ints));
+            BitSet longBlank = BitSet.valueOf(NumberUtils.blankMask(longs));
+            BitSet listBlank = BitSet.valueOf(NumberUtils.blankMask(Arrays.asList(ints)));
+            for (int index = 0; index < length; index++) {
+                assertThat(shortEmpty.get(index), is(NumberUtils.isEmpty(shorts[index])));
+                assertThat(intEmpty.get(index), is(NumberUtils.isEmpty(ints[index])));
+                assertThat(longEmpty.get(index), is(NumberUtils.isEmpty(longs[index])));
+                assertThat(listEmpty.get(index), is(NumberUtils.isEmpty(longs[index])));
+                assertThat(shortBlank.get(index), is(NumberUtils.isBlank(shorts[index])));
+                assertThat(intBlank.get(index), is(NumberUtils.isBlank(ints[index])));
+                assertThat(longBlank.get(index), is(NumberUtils.isBlank(longs[index])));
+                assertThat(listBlank.get(index), is(NumberUtils.isBlank(ints[index])));
+            }
+            assertThat(shortEmpty.length() <= length, is(true));
+
+            // 99をNULLとみなすと、NULLの要素と99の要素のビットが立つ
+            BitSet shortPrimEmpty = BitSet.valueOf(NumberUtils.emptyMask(shortPrims, (short) 99));
+            BitSet intPrimBlank = BitSet.valueOf(NumberUtils.blankMask(intPrims, 99));
+            BitSet longPrimEmpty = BitSet.valueOf(NumberUtils.emptyMask(longPrims, 99L));
+            BitSet longPrimBlank = BitSet.valueOf(NumberUtils.blankMask(longPrims, 99L));
+            for (int index = 0; index < length; index++) {
+                assertThat(shortPrimEmpty.get(index), is(shortPrims[index] == 99
+                        || NumberUtils.isEmpty(Short.valueOf(shortPrims[index]))));
+                assertThat(intPrimBlank.get(index), is(intPrims[index] == 99
+                        || NumberUtils.isBlank(Integer.valueOf(intPrims[index]))));
+                assertThat(longPrimEmpty.get(index), is(longPrims[index] == 99
+                        || NumberUtils.isEmpty(Long.valueOf(longPrims[index]))));
+                assertThat(longPrimBlank.get(index), is(longPrims[index] == 99
+                        || NumberUtils.isBlank(Long.valueOf(longPrims[index]))));
+            }
+        }
+
+        // 整数以外は符号で判定
+        List<Number> numbers = Arrays.asList(new BigDecimal("-1E-400"), new BigDecimal("1E-400"),
+                BigDecimal.ZERO, -0.5d, 0d, 0.5f, Double.NaN, null);
+        assertThat(BitSet.valueOf(NumberUtils.emptyMask(numbers)).toString(), is("{0, 3, 7}"));
+        assertThat(BitSet.valueOf(NumberUtils.blankMask(numbers)).toString(),
+                is("{0, 2, 3, 4, 7}"));
+        assertThat(NumberUtils.emptyMask(new int[0], 0).length, is(0));
+    }
+
     @Test
     public void testToIntString() {
         assertEquals(NumberUtils.toInt((String) null), 0);
@@ -163,9 +259,71 @@ public class NumberUtilsTest extends TestCase {
         assertEquals(NumberUtils.toInt("" + Short.MAX_VALUE), Short.MAX_VALUE);
         assertEquals(NumberUtils.toInt("" + Long.MIN_VALUE), Integer.MIN_VALUE);
         assertEquals(NumberUtils.toInt("" + Long.MAX_VALUE), Integer.MAX_VALUE);
+        assertEquals(NumberUtils.toInt("99999999999999999999"), Integer.MAX_VALUE);
+        assertEquals(NumberUtils.toInt("-99999999999999999999"), Integer.MIN_VALUE);
+        assertEquals(NumberUtils.toInt("+1"), 1);
+        assertEquals(NumberUtils.toInt("-1"), -1);
+        assertEquals(NumberUtils.toInt("007"), 7);
+        assertEquals(NumberUtils.toInt("08"), 0);
+        assertEquals(NumberUtils.toInt("1.5"), 1);
+        assertEquals(NumberUtils.toInt("1e3"), 1000);
+        assertEquals(NumberUtils.toInt("-"), 0);
+        assertEquals(NumberUtils.toInt("１２３"), 123);
+        assertEquals(NumberUtils.toInt("－１２３"), -123);
+        assertEquals(NumberUtils.toInt("＋１２．５"), 12);
+        assertEquals(NumberUtils.toInt("١٢٣"), 123);
         assertEquals(NumberUtils.toInt("a"), 0);
     }
 
+    @Test
+    public void testToIntCharSequenceIntInt() {
+        assertEquals(NumberUtils.toInt((CharSequence) null, 0, 0), 0);
+        assertEquals(NumberUtils.toInt("a,123,b", 2, 5), 123);
+        assertEquals(NumberUtils.toInt(new StringBuilder("-１２,"), 0, 3), -12);
+        assertEquals(NumberUtils.toInt("x99999999999", 1, 12), Integer.MAX_VALUE);
+        assertEquals(NumberUtils.toInt("1.5", 0, 3), 1);
+        assertEquals(NumberUtils.toInt("1,,2", 2, 2), 0);
+        assertEquals(NumberUtils.toInt("a,b", 0, 1), 0);
+    }
+
+    @Test
+    public void testToIntCharArrayIntInt() {
+        char[] line = "10,-20,３０,x,1.5".toCharArray();
+        assertEquals(NumberUtils.toInt((char[]) null, 0, 0), 0);
+        assertEquals(NumberUtils.toInt(line, 0, 2), 10);
+        assertEquals(NumberUtils.toInt(line, 3, 3), -20);
+        assertEquals(NumberUtils.toInt(line, 7, 2), 30);
+        assertEquals(NumberUtils.toInt(line, 10, 1), 0);
+        assertEquals(NumberUtils.toInt(line, 12, 3), 1);
+        assertEquals(NumberUtils.toInt(line, 2, 0), 0);
+    }
+
+    @Test
+    public void testToIntByteArrayIntInt() {
+        byte[] line = "10,-20,３０,x,1.5".getBytes(StandardCharsets.UTF_8);
+        assertEquals(NumberUtils.toInt((byte[]) null, 0, 0), 0);
+        assertEquals(NumberUtils.toInt(line, 0, 2), 10);
+        assertEquals(NumberUtils.toInt(line, 3, 3), -20);
+        assertEquals(NumberUtils.toInt(line, 7, 6), 30);
+        assertEquals(NumberUtils.toInt(line, 14, 1), 0);
+        assertEquals(NumberUtils.toInt(line, 16, 3), 1);
+        assertEquals(NumberUtils.toInt(line, 2, 0), 0);
+        assertEquals(NumberUtils.toInt(new byte[] {'1', (byte) 0xEF, (byte) 0xBC}, 0, 3), 0);
+    }
+
+    @Test
+    public void testToIntByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("ab,－１２,cd".getBytes(StandardCharsets.UTF_8));
+        buffer.position(3).limit(12);
+        assertEquals(NumberUtils.toInt((ByteBuffer) null), 0);
+        assertEquals(NumberUtils.toInt(buffer), -12);
+        assertEquals(buffer.position(), 3);
+        assertEquals(NumberUtils.toInt(ByteBuffer.wrap("1.5".getBytes(StandardCharsets.UTF_8))),
+                1);
+        assertEquals(NumberUtils.toInt(ByteBuffer.wrap("a".getBytes(StandardCharsets.UTF_8))), 0);
+    }
+
     @Test
     public void testToIntShort() {
         assertEquals(NumberUtils.toInt((Short) null), 0);
@@ -281,10 +439,53 @@ public class NumberUtilsTest extends TestCase {
         assertEquals(NumberUtils.toShort("１"), Short.valueOf((short) 1));
         assertEquals(NumberUtils.toShort("" + Integer.MIN_VALUE), Short.valueOf(Short.MIN_VALUE));
         assertEquals(NumberUtils.toShort("" + Integer.MAX_VALUE), Short.valueOf(Short.MAX_VALUE));
+        assertEquals(NumberUtils.toShort("-1"), Short.valueOf((short) -1));
+        assertEquals(NumberUtils.toShort("－１"), Short.valueOf((short) -1));
+        assertEquals(NumberUtils.toShort("007"), Short.valueOf((short) 7));
+        assertNull(NumberUtils.toShort("08"));
+        assertEquals(NumberUtils.toShort("1.5"), Short.valueOf((short) 1));
         assertNull(NumberUtils.toShort("a"));
 
     }
 
+    @Test
+    public void testToShortCharSequenceIntInt() {
+        assertNull(NumberUtils.toShort((CharSequence) null, 0, 0));
+        assertNull(NumberUtils.toShort("a,,b", 2, 2));
+        assertNull(NumberUtils.toShort("a, ,b", 2, 3));
+        assertEquals(NumberUtils.toShort("a,12,b", 2, 4), Short.valueOf((short) 12));
+        assertEquals(NumberUtils.toShort("a,99999,b", 2, 7), Short.valueOf(Short.MAX_VALUE));
+        assertNull(NumberUtils.toShort("a,b", 0, 1));
+    }
+
+    @Test
+    public void testToShortCharArrayIntInt() {
+        char[] line = "12,-99999,a".toCharArray();
+        assertNull(NumberUtils.toShort((char[]) null, 0, 0));
+        assertEquals(NumberUtils.toShort(line, 0, 2), Short.valueOf((short) 12));
+        assertEquals(NumberUtils.toShort(line, 3, 6), Short.valueOf(Short.MIN_VALUE));
+        assertNull(NumberUtils.toShort(line, 10, 1));
+    }
+
+    @Test
+    public void testToShortByteArrayIntInt() {
+        byte[] line = "12,-99999,,a".getBytes(StandardCharsets.UTF_8);
+        assertNull(NumberUtils.toShort((byte[]) null, 0, 0));
+        assertEquals(NumberUtils.toShort(line, 0, 2), Short.valueOf((short) 12));
+        assertEquals(NumberUtils.toShort(line, 3, 6), Short.valueOf(Short.MIN_VALUE));
+        assertNull(NumberUtils.toShort(line, 10, 0));
+        assertNull(NumberUtils.toShort(line, 11, 1));
+    }
+
+    @Test
+    public void testToShortByteBuffer() {
+        assertNull(NumberUtils.toShort((ByteBuffer) null));
+        assertNull(NumberUtils.toShort(ByteBuffer.allocate(0)));
+        assertEquals(NumberUtils.toShort(ByteBuffer.wrap("１２".getBytes(StandardCharsets.UTF_8))),
+                Short.valueOf((short) 12));
+        assertNull(NumberUtils.toShort(ByteBuffer.wrap("a".getBytes(StandardCharsets.UTF_8))));
+    }
+
     @Test
     public void testToShortStringInt() {
         assertEquals(NumberUtils.toShort((String) null, 0), Short.valueOf((short) 0));
@@ -298,11 +499,49 @@ public class NumberUtilsTest extends TestCase {
                 Short.valueOf(Short.MIN_VALUE));
         assertEquals(NumberUtils.toShort("" + Integer.MAX_VALUE, 0),
                 Short.valueOf(Short.MAX_VALUE));
+        assertEquals(NumberUtils.toShort("-1", 0), Short.valueOf((short) -1));
+        assertEquals(NumberUtils.toShort("08", 1), Short.valueOf((short) 1));
         assertEquals(NumberUtils.toShort("a", 0), Short.valueOf((short) 0));
         assertEquals(NumberUtils.toShort("a", 1), Short.valueOf((short) 1));
 
     }
 
+    @Test
+    public void testToShortCharSequenceIntIntInt() {
+        assertEquals(NumberUtils.toShort((CharSequence) null, 0, 0, 1), Short.valueOf((short) 1));
+        assertEquals(NumberUtils.toShort("a,,b", 2, 2, 1), Short.valueOf((short) 1));
+        assertEquals(NumberUtils.toShort("a,12,b", 2, 4, 1), Short.valueOf((short) 12));
+        assertEquals(NumberUtils.toShort("a,b", 0, 1, 1), Short.valueOf((short) 1));
+    }
+
+    @Test
+    public void testToShortCharArrayIntIntInt() {
+        char[] line = "12,,a".toCharArray();
+        assertEquals(NumberUtils.toShort((char[]) null, 0, 0, 1), Short.valueOf((short) 1));
+        assertEquals(NumberUtils.toShort(line, 0, 2, 1), Short.valueOf((short) 12));
+        assertEquals(NumberUtils.toShort(line, 3, 0, 1), Short.valueOf((short) 1));
+        assertEquals(NumberUtils.toShort(line, 4, 1, 1), Short.valueOf((short) 1));
+    }
+
+    @Test
+    public void testToShortByteArrayIntIntInt() {
+        byte[] line = "12,,a".getBytes(StandardCharsets.UTF_8);
+        assertEquals(NumberUtils.toShort((byte[]) null, 0, 0, 1), Short.valueOf((short) 1));
+        assertEquals(NumberUtils.toShort(line, 0, 2, 1), Short.valueOf((short) 12));
+        assertEquals(NumberUtils.toShort(line, 3, 0, 1), Short.valueOf((short) 1));
+        assertEquals(NumberUtils.toShort(line, 4, 1, 1), Short.valueOf((short) 1));
+    }
+
+    @Test
+    public void testToShortByteBufferInt() {
+        assertEquals(NumberUtils.toShort((ByteBuffer) null, 1), Short.valueOf((short) 1));
+        assertEquals(NumberUtils.toShort(ByteBuffer.allocate(0), 1), Short.valueOf((short) 1));
+        assertEquals(NumberUtils.toShort(ByteBuffer.wrap("12".getBytes(StandardCharsets.UTF_8)), 1),
+                Short.valueOf((short) 12));
+        assertEquals(NumberUtils.toShort(ByteBuffer.wrap("a".getBytes(StandardCharsets.UTF_8)), 1),
+                Short.valueOf((short) 1));
+    }
+
     @Test
     public void testToIntegerShortInt() {
         assertEquals(NumberUtils.toInteger((Short) null, 0), Integer.valueOf(0));
@@ -351,9 +590,29 @@ public class NumberUtilsTest extends TestCase {
                 Integer.valueOf(Integer.MIN_VALUE));
         assertEquals(NumberUtils.toInteger("" + Long.MAX_VALUE),
                 Integer.valueOf(Integer.MAX_VALUE));
+        assertEquals(NumberUtils.toInteger("-1"), Integer.valueOf(-1));
+        assertEquals(NumberUtils.toInteger("+2147483647"), Integer.valueOf(Integer.MAX_VALUE));
+        assertEquals(NumberUtils.toInteger("08"), Integer.valueOf(0));
         assertEquals(NumberUtils.toInteger("a"), Integer.valueOf(0));
     }
 
+    @Test
+    public void testToIntegerCharSequenceIntInt() {
+        assertNull(NumberUtils.toInteger((CharSequence) null, 0, 0));
+        assertNull(NumberUtils.toInteger("a,,b", 2, 2));
+        assertEquals(NumberUtils.toInteger("a,-12,b", 2, 5), Integer.valueOf(-12));
+        assertEquals(NumberUtils.toInteger("a,b", 0, 1), Integer.valueOf(0));
+    }
+
+    @Test
+    public void testToIntegerCharArrayIntInt() {
+        char[] line = "12,,a".toCharArray();
+        assertNull(NumberUtils.toInteger((char[]) null, 0, 0));
+        assertEquals(NumberUtils.toInteger(line, 0, 2), Integer.valueOf(12));
+        assertNull(NumberUtils.toInteger(line, 3, 0));
+        assertEquals(NumberUtils.toInteger(line, 4, 1), Integer.valueOf(0));
+    }
+
     @Test
     public void testToIntegerByte() {
         assertNull(NumberUtils.toInteger((Byte) null));
@@ -398,6 +657,102 @@ public class NumberUtilsTest extends TestCase {
                 Long.valueOf(Integer.MAX_VALUE));
     }
 
+    @Test
+    public void testBoxCache() {
+        // -128～上限は同じインスタンスを返す
+        assertSame(NumberUtils.toLong(Integer.valueOf(1000)), NumberUtils.toLong("1000"));
+        assertSame(NumberUtils.toLong("-128"), Long.valueOf(-128));
+        assertSame(NumberUtils.toInteger("1023"), NumberUtils.toInteger(Long.valueOf(1023)));
+        assertSame(NumberUtils.toInteger(new Integer(500), 0), NumberUtils.toInteger("500"));
+        assertSame(NumberUtils.toShort("777"), NumberUtils.toShort(Integer.valueOf(777)));
+        assertSame(NumberUtils.toShort(new Short((short) 300), 0), NumberUtils.toShort("300"));
+        assertSame(NumberUtils.toInteger(Short.valueOf((short) 200)), NumberUtils.toInteger("200"));
+
+        // 範囲外は値だけ同じ
+        assertThat(NumberUtils.toLong("100000"), is(Long.valueOf(100000)));
+        assertThat(NumberUtils.toInteger("-129"), is(Integer.valueOf(-129)));
+        assertThat(NumberUtils.toShort(Integer.valueOf(Integer.MAX_VALUE)),
+                is(Short.valueOf(Short.MAX_VALUE)));
+    }
+
+    @Test
+    public void testParseCache() {
+        assertNull(NumberUtils.getParseCache());
+        ParseCache cache = NumberUtils.enableParseCache(32);
+        try {
+            assertSame(NumberUtils.getParseCache(), cache);
+            assertThat(cache.getMaxSize(), is(32));
+
+            // 高速パスで変換できるものはキャッシュしない
+            assertThat(NumberUtils.toInteger("123"), is(Integer.valueOf(123)));
+            assertThat(cache.getMissCount(), is(0L));
+
+            assertThat(NumberUtils.toInteger("１２３．４"), is(Integer.valueOf(123)));
+            assertThat(NumberUtils.toInteger("１２３．４"), is(Integer.valueOf(123)));
+            assertThat(NumberUtils.toInt("１２３．４"), is(123));
+            assertThat(cache.getMissCount(), is(1L));
+            assertThat(cache.getHitCount(), is(2L));
+
+            // 型ごとに別の結果を持つ
+            assertThat(NumberUtils.toInteger("abc"), is(Integer.valueOf(0)));
+            assertNull(NumberUtils.toShort("abc"));
+            assertNull(NumberUtils.toShort("abc"));
+            assertThat(NumberUtils.toShort("abc", 5), is(Short.valueOf((short) 5)));
+            assertNull(NumberUtils.toLong("abc"));
+            assertThat(NumberUtils.toLong("1.5e3"), is(Long.valueOf(0)));
+            assertThat(NumberUtils.toInt(" "), is(0));
+            assertThat(cache.getMissCount(), is(5L));
+            assertThat(cache.getHitCount(), is(4L));
+            assertThat(cache.size(), is(5));
+
+            // 変換できない場合の例外はキャッシュしない
+            for (int count = 0; count < 2; count++) {
+                try {
+                    NumberUtils.toShort("0x10");
+                    fail();
+                } catch (NumberFormatException e) {
+                    // 従来どおり
+                }
+            }
+            assertThat(cache.size(), is(5));
+
+            cache.clear();
+            assertThat(cache.size(), is(0));
+            assertThat(cache.getHitCount(), is(0L));
+            assertThat(cache.getMissCount(), is(0L));
+            assertThat(cache.toString(), is("ParseCache [maxSize=32, size=0, hits=0, misses=0]"));
+
+            // 最大件数を超えたら古いものから消える
+            for (int count = 0; count < 1000; count++) {
+                assertThat(NumberUtils.toInteger(count + ".0"), is(Integer.valueOf(count)));
+            }
+            assertThat(cache.size(), is(32));
+        } finally {
+            NumberUtils.disableParseCache();
+        }
+
+        // 最大件数が分割数より少なくても最大件数を超えない
+        cache = NumberUtils.enableParseCache(5);
+        try {
+            for (int count = 0; count < 1000; count++) {
+                assertThat(NumberUtils.toInteger(count + ".0"), is(Integer.valueOf(count)));
+                assertThat(NumberUtils.toLong(count + "e0"), is(Long.valueOf(0)));
+            }
+            assertThat(cache.size(), is(5 * 2));
+        } finally {
+            NumberUtils.disableParseCache();
+        }
+        assertNull(NumberUtils.getParseCache());
+        assertThat(NumberUtils.toInteger("１２３．４"), is(Integer.valueOf(123)));
+
+        try {
+            NumberUtils.enableParseCache(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 最大件数が不正
+        }
+    }
+
     @Test
     public void testToLongString() {
         assertNull(NumberUtils.toLong((String) null));
@@ -405,6 +760,7 @@ public class NumberUtilsTest extends TestCase {
         assertEquals(NumberUtils.toLong("0"), Long.valueOf(0L));
         assertEquals(NumberUtils.toLong("1"), Long.valueOf(1L));
         assertEquals(NumberUtils.toLong("１"), Long.valueOf(1L));
+        assertEquals(NumberUtils.toLong("－１"), Long.valueOf(-1L));
         assertEquals(NumberUtils.toLong("" + Long.MIN_VALUE), Long.valueOf(Long.MIN_VALUE));
         assertEquals(NumberUtils.toLong("" + Long.MAX_VALUE), Long.valueOf(Long.MAX_VALUE));
         assertEquals(NumberUtils.toLong("" + Double.MIN_VALUE), Long.valueOf(0L));
@@ -412,6 +768,70 @@ public class NumberUtilsTest extends TestCase {
         assertNull(NumberUtils.toLong("a"));
     }
 
+    @Test
+    public void testToLongCharSequenceIntInt() {
+        assertNull(NumberUtils.toLong((CharSequence) null, 0, 0));
+        assertNull(NumberUtils.toLong("a,,b", 2, 2));
+        assertEquals(NumberUtils.toLong("a,123456789012,b", 2, 14), Long.valueOf(123456789012L));
+        assertEquals(NumberUtils.toLong("a," + Long.MAX_VALUE, 2, 21),
+                Long.valueOf(Long.MAX_VALUE));
+        assertEquals(NumberUtils.toLong("a,99999999999999999999", 2, 22), Long.valueOf(0L));
+        assertNull(NumberUtils.toLong("a,b", 0, 1));
+    }
+
+    @Test
+    public void testToLongCharArrayIntInt() {
+        char[] line = ("12," + Long.MIN_VALUE + ",a").toCharArray();
+        assertNull(NumberUtils.toLong((char[]) null, 0, 0));
+        assertEquals(NumberUtils.toLong(line, 0, 2), Long.valueOf(12L));
+        assertEquals(NumberUtils.toLong(line, 3, 20), Long.valueOf(Long.MIN_VALUE));
+        assertNull(NumberUtils.toLong(line, 24, 1));
+    }
+
+    @Test
+    public void testToLongByteArrayIntInt() {
+        byte[] line = ("12," + Long.MIN_VALUE + ",a").getBytes(StandardCharsets.UTF_8);
+        assertNull(NumberUtils.toLong((byte[]) null, 0, 0));
+        assertEquals(NumberUtils.toLong(line, 0, 2), Long.valueOf(12L));
+        assertEquals(NumberUtils.toLong(line, 3, 20), Long.valueOf(Long.MIN_VALUE));
+        assertNull(NumberUtils.toLong(line, 24, 1));
+    }
+
+    @Test
+    public void testToLongByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+        buffer.put("id=123456789012345".getBytes(StandardCharsets.UTF_8));
+        buffer.flip().position(3);
+        assertNull(NumberUtils.toLong((ByteBuffer) null));
+        assertEquals(NumberUtils.toLong(buffer), Long.valueOf(123456789012345L));
+        assertEquals(buffer.position(), 3);
+        assertNull(NumberUtils.toLong(ByteBuffer.allocate(0)));
+    }
+
+    @Test
+    public void testToLongLongDigits() {
+        String[] vals = {"1234567890123456", "-1234567890123456789", "9223372036854775806",
+                "-9223372036854775808", "12345678１2345678", "1234567８9", "12345678.9",
+                "1234567890123456a", "00000000000000001", "99999999999999999999"};
+        Long[] expected = {1234567890123456L, -1234567890123456789L, 9223372036854775806L,
+                Long.MIN_VALUE, 1234567812345678L, 123456789L, 0L, null, 1L, 0L};
+        for (int i = 0; i < vals.length; i++) {
+            String val = vals[i];
+            byte[] bytes = val.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer big = ByteBuffer.allocateDirect(bytes.length);
+            big.put(bytes).flip();
+            ByteBuffer little = big.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(val, NumberUtils.toLong(val), expected[i]);
+            assertEquals(val, NumberUtils.toLong(val.toCharArray(), 0, val.length()), expected[i]);
+            assertEquals(val, NumberUtils.toLong(bytes, 0, bytes.length), expected[i]);
+            assertEquals(val, NumberUtils.toLong(big), expected[i]);
+            assertEquals(val, NumberUtils.toLong(little), expected[i]);
+        }
+        assertThat(NumberUtils.toInt("12345678901234567"), is(Integer.MAX_VALUE));
+        assertThat(NumberUtils.toInt("-12345678901234567".getBytes(StandardCharsets.UTF_8), 0, 18),
+                is(Integer.MIN_VALUE));
+    }
+
     @Test
     public void testToByte() {
         assertNull(NumberUtils.toByte((Short) null));
@@ -429,9 +849,254 @@ public class NumberUtilsTest extends TestCase {
         assertEquals(NumberUtils.toFloat(""), 0f, 0f);
         assertEquals(NumberUtils.toFloat("1"), 1f, 0f);
         assertEquals(NumberUtils.toFloat("１"), 1f, 0f);
+        assertEquals(NumberUtils.toFloat("１．５"), 1.5f, 0f);
         assertEquals(NumberUtils.toFloat("" + Double.MIN_VALUE), Float.MIN_VALUE, 0f);
         assertEquals(NumberUtils.toFloat("" + Double.MAX_VALUE), Float.MAX_VALUE, 0f);
         assertEquals(NumberUtils.toFloat("a"), 0f, 0f);
+        assertEquals(NumberUtils.toFloat("0.1"), 0.1f, 0f);
+        assertEquals(NumberUtils.toFloat("-1.5e3"), Float.MIN_VALUE, 0f);
+        assertEquals(NumberUtils.toFloat("3.4028235e38"), Float.MAX_VALUE, 0f);
+        assertEquals(NumberUtils.toFloat("1e39"), Float.MAX_VALUE, 0f);
+        assertEquals(NumberUtils.toFloat("1.17549435E-38"), Float.MIN_NORMAL, 0f);
+        assertEquals(NumberUtils.toFloat("16777217"), 16777216f, 0f);
+        assertEquals(NumberUtils.toFloat("08.5"), 8.5f, 0f);
+    }
+
+    @Test
+    public void testToBigDecimalString() {
+        assertNull(NumberUtils.toBigDecimal(null));
+        assertNull(NumberUtils.toBigDecimal(" "));
+        assertNull(NumberUtils.toBigDecimal("abc"));
+        assertNull(NumberUtils.toBigDecimal("0x1F"));
+        assertThat(NumberUtils.toBigDecimal("-12.50"), is(new BigDecimal("-12.50")));
+        assertThat(NumberUtils.toBigDecimal("１．５Ｅ３"), is(new BigDecimal("1.5E3")));
+
+        // 分割して変換する長さでも標準のコンストラクタと同じ結果
+        Random random = new Random(16);
+        int[] lengths = {1000, 1024, 1025, 2048, 5000, 20000};
+        for (int length : lengths) {
+            StringBuilder builder = new StringBuilder();
+            for (int index = 0; index < length; index++) {
+                builder.append((char) ('0' + random.nextInt(10)));
+            }
+            String digits = builder.toString();
+            String[] vals = {digits, "-" + digits, "+" + digits, digits.substring(1) + ".",
+                    "." + digits.substring(1), "-" + digits.substring(3, 10) + "."
+                            + digits.substring(10) + "E-17",
+                    digits.substring(2) + "e+2147483000", "0.00000" + digits.substring(5)};
+            for (String val : vals) {
+                assertThat(NumberUtils.toBigDecimal(val), is(new BigDecimal(val)));
+            }
+            assertThat(NumberUtils.toInt(digits.substring(1) + "." + digits), is(
+                    digits.charAt(1) == '0' ? NumberUtils.toInt(digits.substring(1) + ".0")
+                            : Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testToBigIntegerString() {
+        assertNull(NumberUtils.toBigInteger(null));
+        assertNull(NumberUtils.toBigInteger("abc"));
+        assertThat(NumberUtils.toBigInteger("-12.9"), is(BigInteger.valueOf(-12)));
+        assertThat(NumberUtils.toBigInteger("１２３"), is(BigInteger.valueOf(123)));
+        assertThat(NumberUtils.toBigInteger("1e3"), is(BigInteger.valueOf(1000)));
+        assertThat(NumberUtils.toBigInteger("1e-999999999"), is(BigInteger.ZERO));
+        assertThat(NumberUtils.toBigInteger("1e1000"), is(BigInteger.TEN.pow(1000)));
+
+        // 入力に比べて巨大になる指数はNULL
+        assertNull(NumberUtils.toBigInteger("1e999999999"));
+
+        StringBuilder builder = new StringBuilder("9");
+        for (int index = 0; index < 30000; index++) {
+            builder.append((char) ('0' + index % 10));
+        }
+        String digits = builder.toString();
+        assertThat(NumberUtils.toBigInteger(digits), is(new BigInteger(digits)));
+        assertThat(NumberUtils.toBigInteger("-" + digits + ".999"),
+                is(new BigInteger("-" + digits)));
+    }
+
+    @Test
+    public void testConvertObjectClass() {
+        // 文字列は既存のメソッドと同じ
+        String[] strings = {null, "", " ", "abc", "123", "-１２３", "12.9", "70000", "-70000",
+                "99999999999", "9223372036854775808", "1e3"};
+        for (String str : strings) {
+            assertThat(NumberUtils.convert(str, Byte.class),
+                    is(NumberUtils.toByte(NumberUtils.toShort(str))));
+            assertThat(NumberUtils.convert(str, Short.class), is(NumberUtils.toShort(str)));
+            assertThat(NumberUtils.convert(str, Integer.class), is(NumberUtils.toInteger(str)));
+            assertThat(NumberUtils.convert(str, int.class), is(NumberUtils.toInt(str)));
+            assertThat(NumberUtils.convert(str, Long.class), is(NumberUtils.toLong(str)));
+            assertThat(NumberUtils.convert(str, BigDecimal.class),
+                    is(NumberUtils.toBigDecimal(str)));
+            assertThat(NumberUtils.convert(str, double.class), is(NumberUtils.toDouble(str)));
+            assertThat(NumberUtils.convert(str, float.class), is(NumberUtils.toFloat(str)));
+        }
+        assertThat(NumberUtils.convert(new StringBuilder("42"), Integer.class),
+                is(Integer.valueOf(42)));
+        assertThat(NumberUtils.convert("300", Byte.class), is(Byte.valueOf(Byte.MAX_VALUE)));
+        assertThat(NumberUtils.convert("-5.5", byte.class), is(Byte.valueOf((byte) -5)));
+        assertNull(NumberUtils.convert(" ", Double.class));
+
+        // 変換できない文字列の結果は変換先ごとに元のメソッドのまま
+        assertNull(NumberUtils.convert("abc", Byte.class));
+        assertNull(NumberUtils.convert("abc", Short.class));
+        assertThat(NumberUtils.convert("abc", Integer.class), is(Integer.valueOf(0)));
+        assertNull(NumberUtils.convert("abc", Long.class));
+        assertThat(NumberUtils.convert("abc", Float.class), is(Float.valueOf(0)));
+        assertThat(NumberUtils.convert("abc", Double.class), is(Double.valueOf(0)));
+        assertNull(NumberUtils.convert("abc", BigDecimal.class));
+        assertNull(NumberUtils.convert("abc", BigInteger.class));
+        assertThat(NumberUtils.convert("abc", byte.class), is(Byte.valueOf((byte) 0)));
+        assertThat(NumberUtils.convert("abc", short.class), is(Short.valueOf((short) 0)));
+        assertThat(NumberUtils.convert("abc", int.class), is(Integer.valueOf(0)));
+        assertThat(NumberUtils.convert("abc", long.class), is(Long.valueOf(0)));
+        assertThat(NumberUtils.convert("abc", float.class), is(Float.valueOf(0)));
+        assertThat(NumberUtils.convert("abc", double.class), is(Double.valueOf(0)));
+
+        // 数値は既存のメソッドと同じく上下限に丸める
+        long[] longs = {0, 1, -1, 127, 128, -129, 32768, -32769, Integer.MAX_VALUE + 1L,
+                Integer.MIN_VALUE - 1L, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long val : longs) {
+            Long boxed = Long.valueOf(val);
+            assertThat(NumberUtils.convert(boxed, Short.class), is(NumberUtils.toShort(boxed)));
+            assertThat(NumberUtils.convert(boxed, Integer.class),
+                    is(NumberUtils.toInteger(boxed)));
+            assertThat(NumberUtils.convert(BigDecimal.valueOf(val), Integer.class),
+                    is(NumberUtils.toInteger(boxed)));
+            assertThat(NumberUtils.convert(BigInteger.valueOf(val), short.class),
+                    is(NumberUtils.toShort(boxed)));
+            assertThat(NumberUtils.convert((double) val, Integer.class),
+                    is(NumberUtils.toInteger(boxed)));
+            Short shortVal = NumberUtils.toShort(boxed);
+            assertThat(NumberUtils.convert(shortVal, Byte.class), is(NumberUtils.toByte(shortVal)));
+            assertThat(NumberUtils.convert(shortVal, Integer.class),
+                    is(NumberUtils.toInteger(shortVal)));
+            Integer intVal = NumberUtils.toInteger(boxed);
+            assertThat(NumberUtils.convert(intVal, Long.class), is(NumberUtils.toLong(intVal)));
+            assertThat(NumberUtils.convert(intVal, short.class), is(NumberUtils.toShort(intVal)));
+        }
+        assertSame(NumberUtils.convert(Long.valueOf(500), Integer.class),
+                NumberUtils.toInteger("500"));
+        Long same = Long.valueOf(123456789L);
+        assertSame(NumberUtils.convert(same, Long.class), same);
+        assertSame(NumberUtils.convert(same, long.class), same);
+        assertThat(NumberUtils.convert(1.9d, Long.class), is(Long.valueOf(1)));
+        assertThat(NumberUtils.convert(-1e300d, int.class), is(Integer.MIN_VALUE));
+        assertThat(NumberUtils.convert(Double.NaN, Integer.class), is(Integer.valueOf(0)));
+        assertThat(NumberUtils.convert(new BigDecimal("1e30"), Long.class),
+                is(Long.valueOf(Long.MAX_VALUE)));
+        assertThat(NumberUtils.convert(BigInteger.ONE.shiftLeft(100).negate(), Long.class),
+                is(Long.valueOf(Long.MIN_VALUE)));
+        assertThat(NumberUtils.convert(new AtomicLong(7), Integer.class), is(Integer.valueOf(7)));
+
+        // Decimalはdoubleを経由せずに変換する
+        Decimal big = Decimal.parse("12345678901234567.89");
+        assertThat(NumberUtils.convert(big, BigDecimal.class),
+                is(new BigDecimal("12345678901234567.89")));
+        assertThat(NumberUtils.convert(big, long.class), is(Long.valueOf(12345678901234567L)));
+        assertThat(NumberUtils.convert(big, BigInteger.class),
+                is(BigInteger.valueOf(12345678901234567L)));
+        assertThat(NumberUtils.convert(big, Integer.class), is(Integer.valueOf(Integer.MAX_VALUE)));
+        Decimal odd = Decimal.of(9007199254740993L, 0);
+        assertThat(NumberUtils.convert(odd, Long.class), is(Long.valueOf(9007199254740993L)));
+        assertThat(NumberUtils.convert(odd, BigDecimal.class),
+                is(BigDecimal.valueOf(9007199254740993L)));
+        assertThat(NumberUtils.convert(Decimal.parse("-1.99"), int.class), is(-1));
+        assertThat(NumberUtils.convert(Decimal.parse("1e30"), Long.class),
+                is(Long.valueOf(Long.MAX_VALUE)));
+        assertThat(NumberUtils.convert(Decimal.parse("0.1"), double.class), is(0.1d));
+        assertThat(NumberUtils.convert(0.1f, BigDecimal.class), is(new BigDecimal("0.1")));
+        assertThat(NumberUtils.convert(2.5d, BigInteger.class), is(BigInteger.valueOf(2)));
+        assertNull(NumberUtils.convert(Double.POSITIVE_INFINITY, BigDecimal.class));
+        assertThat(NumberUtils.convert(Integer.valueOf(3), double.class), is(Double.valueOf(3)));
+        assertThat(NumberUtils.convert(Boolean.TRUE, int.class), is(NumberUtils.toInt(true)));
+        assertThat(NumberUtils.convert(Boolean.FALSE, BigDecimal.class), is(BigDecimal.ZERO));
+
+        // NULLはプリミティブ型なら0
+        assertNull(NumberUtils.convert(null, Long.class));
+        assertThat(NumberUtils.convert(null, long.class), is(Long.valueOf(0)));
+        assertThat(NumberUtils.convert(null, short.class), is(Short.valueOf((short) 0)));
+        assertThat(NumberUtils.convert(null, float.class), is(Float.valueOf(0)));
+
+        Object[][] unsupported = {{new Object(), Integer.class}, {"1", String.class},
+                {null, String.class}, {1, boolean.class}, {new java.util.Date(), long.class}};
+        for (Object[] pair : unsupported) {
+            try {
+                NumberUtils.convert(pair[0], (Class<?>) pair[1]);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // 変換できない型
+            }
+        }
+    }
+
+    @Test
+    public void testToDoubleString() {
+        assertEquals(NumberUtils.toDouble((String) null), 0d, 0d);
+        assertEquals(NumberUtils.toDouble(" "), 0d, 0d);
+        assertEquals(NumberUtils.toDouble("a"), 0d, 0d);
+        assertEquals(NumberUtils.toDouble("0x10"), 0d, 0d);
+        assertEquals(NumberUtils.toDouble("1"), 1d, 0d);
+        assertEquals(NumberUtils.toDouble("－１．５"), -1.5d, 0d);
+        assertEquals(NumberUtils.toDouble("0.1"), 0.1d, 0d);
+        assertEquals(NumberUtils.toDouble("1e-3"), 0.001d, 0d);
+        assertEquals(NumberUtils.toDouble("9007199254740993"), 9007199254740992d, 0d);
+        assertEquals(NumberUtils.toDouble("" + Double.MIN_VALUE), Double.MIN_VALUE, 0d);
+        assertEquals(NumberUtils.toDouble("" + Double.MAX_VALUE), Double.MAX_VALUE, 0d);
+        assertEquals(NumberUtils.toDouble("2.2250738585072011e-308"),
+                Double.parseDouble("2.2250738585072011e-308"), 0d);
+        assertEquals(NumberUtils.toDouble("1e400"), Double.MAX_VALUE, 0d);
+        assertEquals(NumberUtils.toDouble("-1e400"), -Double.MAX_VALUE, 0d);
+        assertEquals(NumberUtils.toDouble("1.00000000000000000001"), 1d, 0d);
+        assertThat(Double.doubleToRawLongBits(NumberUtils.toDouble("-0.0")), is(0L));
+
+        String[] vals = {"1.7976931348623157e308", "4.9e-324", "2.4703282292062328e-324",
+                "0.30000000000000004", "123456.789e-7", "8.41e21", "5e-20", "1.5e+3"};
+        for (String val : vals) {
+            assertEquals(NumberUtils.toDouble(val), new BigDecimal(val).doubleValue(), 0d);
+            assertEquals(NumberUtils.toFloat(val),
+                    Math.max(Math.min(new BigDecimal(val).floatValue(), Float.MAX_VALUE),
+                            Float.MIN_VALUE),
+                    0f);
+        }
+    }
+
+    @Test
+    public void testToFloatCharSequenceIntInt() {
+        assertEquals(NumberUtils.toFloat((CharSequence) null, 0, 0), 0f, 0f);
+        assertEquals(NumberUtils.toFloat("a,,b", 2, 2), 0f, 0f);
+        assertEquals(NumberUtils.toFloat("a,12,b", 2, 4), 12f, 0f);
+        assertEquals(NumberUtils.toFloat("a,1.5,b", 2, 5), 1.5f, 0f);
+        assertEquals(NumberUtils.toFloat("a,b", 0, 1), 0f, 0f);
+    }
+
+    @Test
+    public void testToFloatCharArrayIntInt() {
+        char[] line = "12,1.5,a".toCharArray();
+        assertEquals(NumberUtils.toFloat((char[]) null, 0, 0), 0f, 0f);
+        assertEquals(NumberUtils.toFloat(line, 0, 2), 12f, 0f);
+        assertEquals(NumberUtils.toFloat(line, 3, 3), 1.5f, 0f);
+        assertEquals(NumberUtils.toFloat(line, 7, 1), 0f, 0f);
+    }
+
+    @Test
+    public void testToFloatByteArrayIntInt() {
+        byte[] line = "12,1.5,a".getBytes(StandardCharsets.UTF_8);
+        assertEquals(NumberUtils.toFloat((byte[]) null, 0, 0), 0f, 0f);
+        assertEquals(NumberUtils.toFloat(line, 0, 2), 12f, 0f);
+        assertEquals(NumberUtils.toFloat(line, 3, 3), 1.5f, 0f);
+        assertEquals(NumberUtils.toFloat(line, 7, 1), 0f, 0f);
+    }
+
+    @Test
+    public void testToFloatByteBuffer() {
+        assertEquals(NumberUtils.toFloat((ByteBuffer) null), 0f, 0f);
+        assertEquals(NumberUtils.toFloat(ByteBuffer.wrap("１．５".getBytes(StandardCharsets.UTF_8))),
+                1.5f, 0f);
+        assertEquals(NumberUtils.toFloat(ByteBuffer.wrap("a".getBytes(StandardCharsets.UTF_8))), 0f,
+                0f);
     }
 
     @Test
@@ -456,6 +1121,11 @@ public class NumberUtilsTest extends TestCase {
         assertFalse(NumberUtils.isInteger("" + Float.MIN_VALUE));
         assertFalse(NumberUtils.isInteger("" + Float.MAX_VALUE));
         assertFalse(NumberUtils.isInteger("ff"));
+        assertFalse(NumberUtils.isInteger("-"));
+        assertFalse(NumberUtils.isInteger("－１"));
+        assertTrue(NumberUtils.isInteger("+1"));
+        assertTrue(NumberUtils.isInteger("١٢٣"));
+        assertFalse(NumberUtils.isInteger("2147483648"));
     }
 
     @Test
@@ -469,6 +1139,288 @@ public class NumberUtilsTest extends TestCase {
         assertFalse(NumberUtils.isLong("" + Double.MIN_VALUE));
         assertFalse(NumberUtils.isLong("" + Double.MAX_VALUE));
         assertFalse(NumberUtils.isLong("aa"));
+        assertFalse(NumberUtils.isLong("9223372036854775808"));
+        assertFalse(NumberUtils.isLong("-9223372036854775809"));
+    }
+
+    @Test
+    public void testParseInt() {
+        ParseResult result = new ParseResult();
+        assertTrue(NumberUtils.parseInt("1", result));
+        assertEquals(result.getStatus(), ParseResult.OK);
+        assertEquals(result.intValue(), 1);
+        assertTrue(NumberUtils.parseInt("１", result));
+        assertEquals(result.intValue(), 1);
+        assertTrue(NumberUtils.parseInt("" + Integer.MIN_VALUE, result));
+        assertEquals(result.intValue(), Integer.MIN_VALUE);
+        assertTrue(NumberUtils.parseInt("+" + Integer.MAX_VALUE, result));
+        assertEquals(result.intValue(), Integer.MAX_VALUE);
+
+        assertFalse(NumberUtils.parseInt((String) null, result));
+        assertEquals(result.getStatus(), ParseResult.INVALID);
+        assertEquals(result.intValue(), 0);
+        assertFalse(NumberUtils.parseInt("", result));
+        assertFalse(NumberUtils.parseInt("-", result));
+        assertFalse(NumberUtils.parseInt("－１", result));
+        assertFalse(NumberUtils.parseInt("1.0", result));
+        assertFalse(NumberUtils.parseInt("" + Long.MAX_VALUE, result));
+        assertFalse(result.isOk());
+    }
+
+    @Test
+    public void testParseLong() {
+        ParseResult result = new ParseResult();
+        assertTrue(NumberUtils.parseLong("１２", result));
+        assertEquals(result.longValue(), 12L);
+        assertTrue(NumberUtils.parseLong("" + Long.MIN_VALUE, result));
+        assertEquals(result.longValue(), Long.MIN_VALUE);
+        assertTrue(NumberUtils.parseLong("" + Long.MAX_VALUE, result));
+        assertEquals(result.longValue(), Long.MAX_VALUE);
+
+        assertFalse(NumberUtils.parseLong((String) null, result));
+        assertFalse(NumberUtils.parseLong("9223372036854775808", result));
+        assertFalse(NumberUtils.parseLong("ff", result));
+        assertEquals(result.getStatus(), ParseResult.INVALID);
+    }
+
+    @Test
+    public void testToIntRadix() {
+        assertThat(NumberUtils.toIntRadix("ff", 16), is(255));
+        assertThat(NumberUtils.toIntRadix("FF", 16), is(255));
+        assertThat(NumberUtils.toIntRadix("0xff", 16), is(255));
+        assertThat(NumberUtils.toIntRadix("-0X80", 16), is(-128));
+        assertThat(NumberUtils.toIntRadix("０ｘＦＦ", 16), is(255));
+        assertThat(NumberUtils.toIntRadix("－ｆｆ", 16), is(-255));
+        assertThat(NumberUtils.toIntRadix("0b1", 16), is(0xb1));
+        assertThat(NumberUtils.toIntRadix("777", 8), is(511));
+        assertThat(NumberUtils.toIntRadix("1010", 2), is(10));
+        assertThat(NumberUtils.toIntRadix("0b1010", 2), is(10));
+        assertThat(NumberUtils.toIntRadix("zz", 36), is(1295));
+        assertThat(NumberUtils.toIntRadix("7fffffff", 16), is(Integer.MAX_VALUE));
+        assertThat(NumberUtils.toIntRadix("80000000", 16), is(Integer.MAX_VALUE));
+        assertThat(NumberUtils.toIntRadix("-80000001", 16), is(Integer.MIN_VALUE));
+        assertThat(NumberUtils.toIntRadix("ffffffffffffffffffff", 16), is(Integer.MAX_VALUE));
+
+        // 変換できなければ0
+        assertThat(NumberUtils.toIntRadix((String) null, 16), is(0));
+        assertThat(NumberUtils.toIntRadix(" ", 16), is(0));
+        assertThat(NumberUtils.toIntRadix("0x", 16), is(0));
+        assertThat(NumberUtils.toIntRadix("-", 16), is(0));
+        assertThat(NumberUtils.toIntRadix("12", 2), is(0));
+        assertThat(NumberUtils.toIntRadix("1.5", 16), is(0));
+        assertThat(NumberUtils.toIntRadix(" ff", 16), is(0));
+
+        // 接頭辞で判定
+        assertThat(NumberUtils.toIntRadix("0x1F", NumberUtils.RADIX_AUTO), is(31));
+        assertThat(NumberUtils.toIntRadix("-0b11", NumberUtils.RADIX_AUTO), is(-3));
+        assertThat(NumberUtils.toIntRadix("12.5", NumberUtils.RADIX_AUTO), is(12));
+        assertThat(NumberUtils.toIntRadix("０１２", NumberUtils.RADIX_AUTO), is(12));
+        assertThat(NumberUtils.toIntRadix("1f", NumberUtils.RADIX_AUTO), is(0));
+
+        try {
+            NumberUtils.toIntRadix("1", 37);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 基数が不正
+        }
+
+        // Integer.parseIntと同じ結果
+        int[] radixes = {2, 8, 10, 16, 36};
+        for (int radix : radixes) {
+            for (int val = -100000; val < 100000; val += 7) {
+                assertThat(NumberUtils.toIntRadix(Integer.toString(val, radix), radix), is(val));
+            }
+            assertThat(NumberUtils.toIntRadix(Integer.toString(Integer.MIN_VALUE, radix), radix),
+                    is(Integer.MIN_VALUE));
+        }
+    }
+
+    @Test
+    public void testToIntegerRadix() {
+        assertThat(NumberUtils.toIntegerRadix("7f", 16), is(Integer.valueOf(127)));
+        assertThat(NumberUtils.toIntegerRadix("0b11111111", NumberUtils.RADIX_AUTO),
+                is(Integer.valueOf(255)));
+        assertThat(NumberUtils.toIntegerRadix("-80000000", 16),
+                is(Integer.valueOf(Integer.MIN_VALUE)));
+        assertThat(NumberUtils.toIntegerRadix("100000000", 16),
+                is(Integer.valueOf(Integer.MAX_VALUE)));
+        assertThat(NumberUtils.toIntegerRadix("xyz", 16), is(Integer.valueOf(0)));
+        assertThat(NumberUtils.toIntegerRadix("abc", NumberUtils.RADIX_AUTO),
+                is(Integer.valueOf(0)));
+        assertNull(NumberUtils.toIntegerRadix((String) null, 16));
+        assertNull(NumberUtils.toIntegerRadix("", 16));
+        assertNull(NumberUtils.toIntegerRadix(" ", NumberUtils.RADIX_AUTO));
+    }
+
+    @Test
+    public void testToLongRadix() {
+        assertThat(NumberUtils.toLongRadix("7fffffffffffffff", 16),
+                is(Long.valueOf(Long.MAX_VALUE)));
+        assertThat(NumberUtils.toLongRadix("-8000000000000000", 16),
+                is(Long.valueOf(Long.MIN_VALUE)));
+        assertThat(NumberUtils.toLongRadix("8000000000000000", 16),
+                is(Long.valueOf(Long.MAX_VALUE)));
+        assertThat(NumberUtils.toLongRadix("-0x8000000000000001", 16),
+                is(Long.valueOf(Long.MIN_VALUE)));
+        assertThat(NumberUtils.toLongRadix("0xCAFEBABE", NumberUtils.RADIX_AUTO),
+                is(Long.valueOf(0xCAFEBABEL)));
+        assertThat(NumberUtils.toLongRadix("1y2p0ij32e8e7", 36), is(Long.valueOf(Long.MAX_VALUE)));
+        assertThat(NumberUtils.toLongRadix("1y2p0ij32e8e8", 36), is(Long.valueOf(Long.MAX_VALUE)));
+        assertThat(NumberUtils.toLongRadix("123", NumberUtils.RADIX_AUTO), is(Long.valueOf(123)));
+        assertThat(NumberUtils.toLongRadix("-9223372036854775808", NumberUtils.RADIX_AUTO),
+                is(Long.valueOf(Long.MIN_VALUE)));
+        assertThat(NumberUtils.toLongRadix("-1e30", NumberUtils.RADIX_AUTO),
+                is(Long.valueOf(Long.MIN_VALUE)));
+        assertNull(NumberUtils.toLongRadix("0xg", 16));
+        assertNull(NumberUtils.toLongRadix((String) null, 2));
+        assertNull(NumberUtils.toLongRadix("abc", NumberUtils.RADIX_AUTO));
+
+        // 10進数の小数と範囲外はtoLong(String)と違い、切り捨てと上下限
+        assertThat(NumberUtils.toLongRadix("12.5", NumberUtils.RADIX_AUTO), is(Long.valueOf(12)));
+        assertThat(NumberUtils.toLong("12.5"), is(Long.valueOf(0)));
+        assertThat(NumberUtils.toLongRadix("1e30", NumberUtils.RADIX_AUTO),
+                is(Long.valueOf(Long.MAX_VALUE)));
+        assertThat(NumberUtils.toLong("1e30"), is(Long.valueOf(0)));
+
+        int[] radixes = {2, 8, 16, 36};
+        long[] vals =
+                {0, 1, -1, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+        for (int radix : radixes) {
+            for (long val : vals) {
+                assertThat(NumberUtils.toLongRadix(Long.toString(val, radix), radix),
+                        is(Long.valueOf(val)));
+            }
+        }
+    }
+
+    @Test
+    public void testToIntStringParseResult() {
+        ParseResult result = new ParseResult();
+        assertThat(NumberUtils.toInt("1", result), is(1));
+        assertThat(result.getStatus(), is(ParseResult.OK));
+        assertThat(NumberUtils.toInt("－１.９", result), is(-1));
+        assertThat(result.getStatus(), is(ParseResult.OK));
+        assertThat(NumberUtils.toInt("" + Integer.MAX_VALUE, result), is(Integer.MAX_VALUE));
+        assertThat(result.getStatus(), is(ParseResult.OK));
+
+        assertThat(NumberUtils.toInt("" + Long.MAX_VALUE, result), is(Integer.MAX_VALUE));
+        assertThat(result.getStatus(), is(ParseResult.CLAMPED));
+        assertTrue(result.hasValue());
+        assertThat(NumberUtils.toInt("-2147483649", result), is(Integer.MIN_VALUE));
+        assertThat(result.getStatus(), is(ParseResult.CLAMPED));
+
+        assertThat(NumberUtils.toInt((String) null, result), is(0));
+        assertThat(result.getStatus(), is(ParseResult.BLANK));
+        assertThat(NumberUtils.toInt(" ", result), is(0));
+        assertThat(result.getStatus(), is(ParseResult.BLANK));
+        assertFalse(result.hasValue());
+        assertThat(NumberUtils.toInt("a", result), is(0));
+        assertThat(result.getStatus(), is(ParseResult.INVALID));
+        assertThat(NumberUtils.toInt("0x10", result), is(0));
+        assertThat(result.getStatus(), is(ParseResult.INVALID));
+    }
+
+    @Test
+    public void testToShortStringParseResult() {
+        ParseResult result = new ParseResult();
+        assertThat(NumberUtils.toShort("１２", result), is((short) 12));
+        assertThat(result.getStatus(), is(ParseResult.OK));
+        assertThat(NumberUtils.toShort("" + Short.MIN_VALUE, result), is(Short.MIN_VALUE));
+        assertThat(result.getStatus(), is(ParseResult.OK));
+        assertThat(NumberUtils.toShort("32768", result), is(Short.MAX_VALUE));
+        assertThat(result.getStatus(), is(ParseResult.CLAMPED));
+        assertThat(NumberUtils.toShort("", result), is((short) 0));
+        assertThat(result.getStatus(), is(ParseResult.BLANK));
+        assertThat(NumberUtils.toShort("08", result), is((short) 0));
+        assertThat(result.getStatus(), is(ParseResult.INVALID));
+    }
+
+    @Test
+    public void testToLongStringParseResult() {
+        ParseResult result = new ParseResult();
+        assertThat(NumberUtils.toLong("-12", result), is(-12L));
+        assertThat(result.getStatus(), is(ParseResult.OK));
+        assertThat(NumberUtils.toLong("" + Long.MAX_VALUE, result), is(Long.MAX_VALUE));
+        assertThat(result.getStatus(), is(ParseResult.OK));
+        assertThat(NumberUtils.toLong("9223372036854775808", result), is(Long.MAX_VALUE));
+        assertThat(result.getStatus(), is(ParseResult.CLAMPED));
+        assertThat(NumberUtils.toLong("-1e30", result), is(Long.MIN_VALUE));
+        assertThat(result.getStatus(), is(ParseResult.CLAMPED));
+        assertThat(NumberUtils.toLong("1.5", result), is(1L));
+        assertThat(result.getStatus(), is(ParseResult.OK));
+        assertThat(NumberUtils.toLong((String) null, result), is(0L));
+        assertThat(result.getStatus(), is(ParseResult.BLANK));
+        assertThat(NumberUtils.toLong("1-", result), is(0L));
+        assertThat(result.getStatus(), is(ParseResult.INVALID));
+    }
+
+    @Test
+    public void testToIntArray() {
+        String[] in = {"1", null, "", "a", "－２", "3.9", "" + Long.MAX_VALUE, "08"};
+        int[] out = new int[in.length];
+        BitSet invalid = NumberUtils.toIntArray(in, out, -1);
+        assertThat(out, is(new int[] {1, -1, -1, -1, -2, 3, Integer.MAX_VALUE, -1}));
+        assertThat(invalid.toString(), is("{1, 2, 3, 7}"));
+
+        // 並列処理される件数
+        String[] large = new String[100_000];
+        for (int index = 0; index < large.length; index++) {
+            large[index] = index % 3 == 0 ? null : String.valueOf(index);
+        }
+        int[] largeOut = new int[large.length];
+        BitSet largeInvalid = NumberUtils.toIntArray(large, largeOut, -1);
+        for (int index = 0; index < large.length; index++) {
+            assertEquals(largeOut[index], index % 3 == 0 ? -1 : index);
+            assertEquals(largeInvalid.get(index), index % 3 == 0);
+        }
+
+        try {
+            NumberUtils.toIntArray(in, new int[1], 0);
+            fail("例外パターン");
+        } catch (IllegalArgumentException exc) {
+            assertNotNull(exc);
+        }
+    }
+
+    @Test
+    public void testToShortArray() {
+        String[] in = {"1", null, "99999", "-99999", "x"};
+        short[] out = new short[in.length];
+        BitSet invalid = NumberUtils.toShortArray(in, out, (short) 0);
+        assertThat(out, is(new short[] {1, 0, Short.MAX_VALUE, Short.MIN_VALUE, 0}));
+        assertThat(invalid.toString(), is("{1, 4}"));
+    }
+
+    @Test
+    public void testToLongArray() {
+        String[] in = {"123456789012", null, "99999999999999999999", "" + Long.MIN_VALUE, "1.5"};
+        long[] out = new long[in.length];
+        BitSet invalid = NumberUtils.toLongArray(in, out, -1L);
+        assertThat(out,
+                is(new long[] {123456789012L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L}));
+        assertThat(invalid.toString(), is("{1}"));
+    }
+
+    @Test
+    public void testToFloatArray() {
+        String[] in = {"1.5", null, "-2", "1e39", "a"};
+        float[] out = new float[in.length];
+        BitSet invalid = NumberUtils.toFloatArray(in, out, Float.NaN);
+        assertEquals(out[0], 1.5f, 0f);
+        assertEquals(out[1], Float.NaN, 0f);
+        assertEquals(out[2], -2f, 0f);
+        assertEquals(out[3], Float.MAX_VALUE, 0f);
+        assertEquals(out[4], Float.NaN, 0f);
+        assertThat(invalid.toString(), is("{1, 4}"));
+    }
+
+    @Test
+    public void testToDoubleArray() {
+        String[] in = {"0.1", " ", "-1e400", "１２．５"};
+        double[] out = new double[in.length];
+        BitSet invalid = NumberUtils.toDoubleArray(in, out, 0d);
+        assertThat(out, is(new double[] {0.1d, 0d, -Double.MAX_VALUE, 12.5d}));
+        assertThat(invalid.toString(), is("{1}"));
     }
 
     @Test
@@ -478,6 +1430,81 @@ public class NumberUtilsTest extends TestCase {
         assertEquals(NumberUtils.decimalScale(1.15d, 1), 1.2d, 0f);
         assertEquals(NumberUtils.decimalScale(1.123456d, 5), 1.12346d, 0f);
         assertEquals(NumberUtils.decimalScale(1.1234d, 5), 1.12340d, 0f);
+        assertEquals(NumberUtils.decimalScale(1.005d, 2), 1.01d, 0f);
+        assertEquals(NumberUtils.decimalScale(2.675d, 2), 2.68d, 0f);
+        assertEquals(NumberUtils.decimalScale(-1.15d, 1), -1.2d, 0f);
+        assertEquals(NumberUtils.decimalScale(0.1d + 0.2d, 1), 0.3d, 0f);
+        assertEquals(NumberUtils.decimalScale(1234.5d, -1), 1230d, 0f);
+        assertEquals(NumberUtils.decimalScale(1e20d, 2), 1e20d, 0f);
+        assertThat(Double.doubleToRawLongBits(NumberUtils.decimalScale(-0.04d, 1)), is(0L));
+        assertThat(Double.doubleToRawLongBits(NumberUtils.decimalScale(-0d, 1)), is(0L));
+        try {
+            NumberUtils.decimalScale(Double.NaN, 1);
+            fail();
+        } catch (NumberFormatException e) {
+            // BigDecimal.valueOfと同じ
+        }
+    }
+
+    @Test
+    public void testDecimalScaleDoubleIntRoundingMode() {
+        assertEquals(NumberUtils.decimalScale(1.15d, 1, RoundingMode.HALF_DOWN), 1.1d, 0f);
+        assertEquals(NumberUtils.decimalScale(1.151d, 1, RoundingMode.HALF_DOWN), 1.2d, 0f);
+        assertEquals(NumberUtils.decimalScale(1.25d, 1, RoundingMode.HALF_EVEN), 1.2d, 0f);
+        assertEquals(NumberUtils.decimalScale(1.35d, 1, RoundingMode.HALF_EVEN), 1.4d, 0f);
+        assertEquals(NumberUtils.decimalScale(1.11d, 1, RoundingMode.UP), 1.2d, 0f);
+        assertEquals(NumberUtils.decimalScale(1.19d, 1, RoundingMode.DOWN), 1.1d, 0f);
+        assertEquals(NumberUtils.decimalScale(-1.11d, 1, RoundingMode.CEILING), -1.1d, 0f);
+        assertEquals(NumberUtils.decimalScale(-1.11d, 1, RoundingMode.FLOOR), -1.2d, 0f);
+        assertEquals(NumberUtils.decimalScale(1.1d, 1, RoundingMode.UP), 1.1d, 0f);
+        assertEquals(NumberUtils.decimalScale(1.1d, 3, RoundingMode.UNNECESSARY), 1.1d, 0f);
+        try {
+            NumberUtils.decimalScale(1.15d, 1, RoundingMode.UNNECESSARY);
+            fail();
+        } catch (ArithmeticException e) {
+            // BigDecimal.setScaleと同じ
+        }
+
+        double[] vals = {0.5d, 1.005d, 2.675d, -2.5d, 0.045d, 1e13d + 0.5d, 123.456789d, 1e-20d};
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (double val : vals) {
+                for (int degit = 0; degit < 18; degit++) {
+                    assertEquals(NumberUtils.decimalScale(val, degit, mode),
+                            BigDecimal.valueOf(val).setScale(degit, mode).doubleValue(), 0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDecimalScaleDoubleArrayDoubleArrayInt() {
+        double[] in = {1.14d, 1.15d, -1.15d, 2.675d};
+        double[] out = new double[in.length];
+        NumberUtils.decimalScale(in, out, 1);
+        assertThat(out, is(new double[] {1.1d, 1.2d, -1.2d, 2.7d}));
+
+        NumberUtils.decimalScale(in, in, 1, RoundingMode.DOWN);
+        assertThat(in, is(new double[] {1.1d, 1.1d, -1.1d, 2.6d}));
+
+        double[] large = new double[100_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i / 1000d + 0.0005d;
+        }
+        double[] scaled = new double[large.length];
+        NumberUtils.decimalScale(large, scaled, 3);
+        for (int i = 0; i < large.length; i++) {
+            assertEquals(scaled[i], NumberUtils.decimalScale(large[i], 3), 0f);
+        }
+
+        try {
+            NumberUtils.decimalScale(new double[2], new double[1], 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 出力先が短い
+        }
     }
 
 }
@@ -0,0 +1,248 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Random;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class OrderedBytesTest extends TestCase {
+
+    @Test
+    public void testOrderedBytes() {
+        try {
+            Constructor<?>[] constructors = OrderedBytes.class.getDeclaredConstructors();
+
+            assertEquals(Integer.valueOf(constructors.length), Integer.valueOf(1));
+
+            Constructor<?> defaultConstructor = constructors[0];
+            assertEquals(Integer.valueOf(defaultConstructor.getParameterTypes().length),
+                    Integer.valueOf(0));
+            assertTrue(Modifier.isPrivate(defaultConstructor.getModifiers()));
+
+            defaultConstructor.setAccessible(true);
+            Object instance = defaultConstructor.newInstance();
+            assertNotNull(instance);
+            assertThat(instance, instanceOf(OrderedBytes.class));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInt() {
+        int[] vals = {Integer.MIN_VALUE, -65536, -256, -1, 0, 1, 255, 256, 65536,
+                Integer.MAX_VALUE};
+        byte[] prev = null;
+        for (int val : vals) {
+            byte[] bytes = new byte[OrderedBytes.INT_BYTES + 1];
+            assertThat(OrderedBytes.write(val, bytes, 1), is(5));
+            assertThat(OrderedBytes.readInt(bytes, 1), is(val));
+            if (prev != null) {
+                assertThat(OrderedBytes.compare(prev, 1, bytes, 1, 4) < 0, is(true));
+            }
+            prev = bytes;
+        }
+        byte[] bytes = new byte[4];
+        OrderedBytes.write(0x01020304, bytes, 0);
+        assertThat(bytes, is(new byte[] {(byte) 0x81, 2, 3, 4}));
+
+        Random random = new Random(19);
+        byte[] left = new byte[4];
+        byte[] right = new byte[4];
+        for (int count = 0; count < 10000; count++) {
+            int one = random.nextInt();
+            int two = count % 2 == 0 ? random.nextInt() : one + random.nextInt(3) - 1;
+            OrderedBytes.write(one, left, 0);
+            OrderedBytes.write(two, right, 0);
+            assertThat(Integer.signum(OrderedBytes.compare(left, 0, right, 0, 4)),
+                    is(Integer.signum(Integer.compare(one, two))));
+        }
+    }
+
+    @Test
+    public void testLong() {
+        Random random = new Random(1019);
+        byte[] left = new byte[8];
+        byte[] right = new byte[8];
+        for (int count = 0; count < 10000; count++) {
+            long one = random.nextLong();
+            long two = count % 2 == 0 ? random.nextLong() : one + random.nextInt(3) - 1;
+            OrderedBytes.write(one, left, 0);
+            OrderedBytes.write(two, right, 0);
+            assertThat(OrderedBytes.readLong(left, 0), is(one));
+            assertThat(Integer.signum(OrderedBytes.compare(left, 0, right, 0, 8)),
+                    is(Long.signum(Long.compare(one, two))));
+        }
+        OrderedBytes.write(Long.MIN_VALUE, left, 0);
+        assertThat(left, is(new byte[8]));
+    }
+
+    @Test
+    public void testFloatDouble() {
+        double[] vals = {Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.5d, -Double.MIN_VALUE,
+                -0.0d, 0.0d, Double.MIN_VALUE, 1d, 1.5d, Double.MAX_VALUE,
+                Double.POSITIVE_INFINITY, Double.NaN};
+        byte[] prev = null;
+        byte[] prevFloat = null;
+        for (double val : vals) {
+            byte[] bytes = new byte[8];
+            OrderedBytes.write(val, bytes, 0);
+            assertThat(Double.compare(OrderedBytes.readDouble(bytes, 0), val), is(0));
+            byte[] floats = new byte[4];
+            OrderedBytes.write((float) val, floats, 0);
+            assertThat(Float.compare(OrderedBytes.readFloat(floats, 0), (float) val), is(0));
+            if (prev != null) {
+                assertThat(String.valueOf(val), OrderedBytes.compare(prev, 0, bytes, 0, 8) < 0,
+                        is(true));
+                assertThat(String.valueOf(val),
+                        OrderedBytes.compare(prevFloat, 0, floats, 0, 4) <= 0, is(true));
+            }
+            prev = bytes;
+            prevFloat = floats;
+        }
+
+        Random random = new Random(2019);
+        byte[] left = new byte[8];
+        byte[] right = new byte[8];
+        for (int count = 0; count < 10000; count++) {
+            double one = Double.longBitsToDouble(random.nextLong());
+            double two = count % 2 == 0 ? Double.longBitsToDouble(random.nextLong())
+                    : random.nextGaussian();
+            OrderedBytes.write(one, left, 0);
+            OrderedBytes.write(two, right, 0);
+            assertThat(Double.compare(OrderedBytes.readDouble(left, 0), one), is(0));
+            assertThat(Integer.signum(OrderedBytes.compare(left, 0, right, 0, 8)),
+                    is(Integer.signum(Double.compare(one, two))));
+
+            OrderedBytes.write((float) one, left, 0);
+            OrderedBytes.write((float) two, right, 0);
+            assertThat(Integer.signum(OrderedBytes.compare(left, 0, right, 0, 4)),
+                    is(Integer.signum(Float.compare((float) one, (float) two))));
+        }
+    }
+
+    @Test
+    public void testDecimal() {
+        byte[] left = new byte[8];
+        byte[] right = new byte[8];
+        OrderedBytes.write(Decimal.parse("-1.5"), 2, left, 0);
+        OrderedBytes.write(Decimal.parse("1.005"), 2, right, 0);
+        assertThat(OrderedBytes.readDecimal(left, 0, 2).toString(), is("-1.50"));
+        assertThat(OrderedBytes.readDecimal(right, 0, 2).toString(), is("1.01"));
+        assertThat(OrderedBytes.compare(left, 0, right, 0, 8) < 0, is(true));
+        try {
+            OrderedBytes.write(Decimal.parse("1e30"), 2, left, 0);
+            fail();
+        } catch (ArithmeticException e) {
+            assertThat(e.getMessage(), is("longに収まらない: 1000000000000000000000000000000.00"));
+        }
+    }
+
+    @Test
+    public void testLocalDateTimeDate() {
+        LocalDateTime[] vals = {LocalDateTime.MIN, LocalDateTime.of(1, 1, 1, 0, 0),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999999),
+                LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(1970, 1, 1, 0, 0, 0, 1),
+                LocalDateTime.of(2024, 2, 29, 12, 34, 56, 789000000), LocalDateTime.MAX};
+        byte[] prev = null;
+        for (LocalDateTime val : vals) {
+            byte[] bytes = new byte[OrderedBytes.DATE_TIME_BYTES];
+            assertThat(OrderedBytes.write(val, bytes, 0), is(12));
+            assertThat(OrderedBytes.readLocalDateTime(bytes, 0), is(val));
+            if (prev != null) {
+                assertThat(val.toString(), OrderedBytes.compare(prev, 0, bytes, 0, 12) < 0,
+                        is(true));
+            }
+            prev = bytes;
+        }
+
+        byte[] left = new byte[8];
+        byte[] right = new byte[8];
+        OrderedBytes.write(new Date(-1), left, 0);
+        OrderedBytes.write(new Date(0), right, 0);
+        assertThat(OrderedBytes.readDate(left, 0), is(new Date(-1)));
+        assertThat(OrderedBytes.compare(left, 0, right, 0, 8) < 0, is(true));
+    }
+
+    @Test
+    public void testByteBuffer() {
+        LocalDateTime time = LocalDateTime.of(2024, 2, 29, 12, 34, 56, 789);
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(64),
+                    ByteBuffer.allocateDirect(64)}) {
+                buffer.order(order);
+                assertThat(OrderedBytes.put(buffer, -5), is(sameInstance(buffer)));
+                OrderedBytes.put(buffer, 7L);
+                OrderedBytes.put(buffer, -1.5f);
+                OrderedBytes.put(buffer, 2.5d);
+                OrderedBytes.put(buffer, Decimal.parse("1.25"), 1);
+                OrderedBytes.put(buffer, time);
+                OrderedBytes.put(buffer, new Date(123));
+                assertThat(buffer.position(), is(4 + 8 + 4 + 8 + 8 + 12 + 8));
+
+                // byte[]版と同じ形式
+                byte[] expected = new byte[buffer.position()];
+                int offset = OrderedBytes.write(-5, expected, 0);
+                offset = OrderedBytes.write(7L, expected, offset);
+                offset = OrderedBytes.write(-1.5f, expected, offset);
+                offset = OrderedBytes.write(2.5d, expected, offset);
+                offset = OrderedBytes.write(Decimal.parse("1.25"), 1, expected, offset);
+                offset = OrderedBytes.write(time, expected, offset);
+                OrderedBytes.write(new Date(123), expected, offset);
+                byte[] actual = new byte[expected.length];
+                buffer.flip();
+                buffer.duplicate().get(actual);
+                assertThat(actual, is(expected));
+
+                assertThat(OrderedBytes.getInt(buffer), is(-5));
+                assertThat(OrderedBytes.getLong(buffer), is(7L));
+                assertThat(OrderedBytes.getFloat(buffer), is(-1.5f));
+                assertThat(OrderedBytes.getDouble(buffer), is(2.5d));
+                assertThat(OrderedBytes.getDecimal(buffer, 1).toString(), is("1.3"));
+                assertThat(OrderedBytes.getLocalDateTime(buffer), is(time));
+                assertThat(OrderedBytes.getDate(buffer), is(new Date(123)));
+                assertThat(buffer.hasRemaining(), is(false));
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(11);
+        try {
+            OrderedBytes.put(buffer, time);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertThat(buffer.position(), is(0));
+        }
+        try {
+            OrderedBytes.getLocalDateTime(buffer);
+            fail();
+        } catch (BufferUnderflowException e) {
+            assertThat(buffer.position(), is(0));
+        }
+    }
+
+    @Test
+    public void testWriteShortArray() {
+        try {
+            OrderedBytes.write(1L, new byte[10], 3);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("書き込み先の配列が短い: length=10, offset=3, need=8"));
+        }
+        try {
+            OrderedBytes.write(LocalDateTime.MIN, new byte[12], -1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("書き込み先の配列が短い: length=12, offset=-1, need=12"));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.anego.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ZoneOffsetsTest extends TestCase {
+
+    private static final String[] ZONES = {"Asia/Tokyo", "America/New_York", "Europe/London",
+            "Australia/Lord_Howe", "Pacific/Apia", "America/Sao_Paulo", "Europe/Dublin",
+            "Africa/Casablanca", "UTC", "GMT", "+05:30", "-09:00"};
+
+    @Test
+    public void testOf() {
+        ZoneOffsets tokyo = ZoneOffsets.of(ZoneId.of("Asia/Tokyo"));
+        assertThat(ZoneOffsets.of(ZoneId.of("Asia/Tokyo")), is(sameInstance(tokyo)));
+        assertThat(tokyo.getZone(), is(ZoneId.of("Asia/Tokyo")));
+        assertThat(tokyo.toString(), is("ZoneOffsets [zone=Asia/Tokyo, transitions=8]"));
+        assertThat(ZoneOffsets.of(ZoneOffset.ofHours(9)).toString(),
+                is("ZoneOffsets [zone=+09:00, transitions=0]"));
+        try {
+            ZoneOffsets.of(null);
+            fail();
+        } catch (NullPointerException e) {
+            assertThat(e.getMessage(), is("zone"));
+        }
+    }
+
+    @Test
+    public void testCachedDefault() {
+        TimeZone saved = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            ZoneOffsets.invalidateDefault();
+            ZoneOffsets tokyo = ZoneOffsets.cachedDefault();
+            assertThat(tokyo.getZone(), is(ZoneId.of("Asia/Tokyo")));
+            assertThat(ZoneOffsets.cachedDefault(), is(sameInstance(tokyo)));
+
+            // invalidateDefaultの後は次の呼び出しで反映する
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            ZoneOffsets.invalidateDefault();
+            assertThat(ZoneOffsets.cachedDefault().getZone(), is(ZoneId.of("America/New_York")));
+        } finally {
+            TimeZone.setDefault(saved);
+            ZoneOffsets.invalidateDefault();
+        }
+    }
+
+    @Test
+    public void testDateUtilsDefault() {
+        TimeZone saved = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            ZoneOffsets.invalidateDefault();
+            ZoneOffsets.cachedDefault();
+
+            // タイムゾーンを指定しないDateUtilsのメソッドはinvalidateDefaultなしですぐに反映する
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            LocalDateTime ldt = LocalDateTime.of(2024, 7, 1, 0, 0);
+            assertThat(DateUtils.localDateTime2Date(ldt).getTime(), is(1719806400000L));
+            assertThat(DateUtils.localDateTime2EpochMilli(ldt), is(1719806400000L));
+            assertThat(DateUtils.date2LocalDateTime(new Date(1719806400000L)), is(ldt));
+            assertThat(DateUtils.epochMilli2LocalDateTime(1719806400000L), is(ldt));
+            assertThat(DateUtils.toDate("2024-07-01T00:00:00", null).getTime(),
+                    is(1719806400000L));
+            assertThat(DateUtils.tryParse("2024-07-01", "yyyy-MM-dd").getTime(),
+                    is(1719806400000L));
+            long[] out = new long[1];
+            DateUtils.toEpochMilliArray(new String[] {"2024-07-01T00:00"}, null, out);
+            assertThat(out[0], is(1719806400000L));
+        } finally {
+            TimeZone.setDefault(saved);
+            ZoneOffsets.invalidateDefault();
+        }
+    }
+
+    @Test
+    public void testGap() {
+        ZoneOffsets zone = ZoneOffsets.of(ZoneId.of("America/New_York"));
+
+        // 2024-03-10T02:30は存在しないので切り替え前の-05:00
+        LocalDateTime gap = LocalDateTime.of(2024, 3, 10, 2, 30);
+        assertThat(zone.getOffset(gap), is(ZoneOffset.ofHours(-5)));
+        assertThat(zone.toEpochMilli(gap), is(1710055800000L));
+        assertThat(zone.toLocalDateTime(1710055800000L), is(LocalDateTime.of(2024, 3, 10, 3, 30)));
+
+        // 2024-11-03T01:30は重複するので切り替え前の-04:00
+        LocalDateTime overlap = LocalDateTime.of(2024, 11, 3, 1, 30);
+        assertThat(zone.getOffset(overlap), is(ZoneOffset.ofHours(-4)));
+        assertThat(zone.toEpochMilli(overlap), is(1730611800000L));
+        assertThat(zone.getOffset(1730611800L + 3600), is(ZoneOffset.ofHours(-5)));
+    }
+
+    @Test
+    public void testMatchesJdk() {
+        Random random = new Random(24);
+        for (String id : ZONES) {
+            ZoneId zoneId = ZoneId.of(id);
+            ZoneOffsets zone = ZoneOffsets.of(zoneId);
+
+            // 切り替えの前後
+            Instant cursor = Instant.ofEpochSecond(ZoneOffsets.MIN_SECOND - 86400L * 400);
+            ZoneOffsetTransition transition;
+            while ((transition = zoneId.getRules().nextTransition(cursor)) != null
+                    && transition.toEpochSecond() < ZoneOffsets.MAX_SECOND + 86400L * 400) {
+                for (long delta = -2; delta <= 2; delta++) {
+                    long second = transition.toEpochSecond() + delta;
+                    assertEpochMilli(zoneId, zone, second * 1000 + random.nextInt(1000));
+                    assertLocalDateTime(zoneId, zone,
+                            transition.getDateTimeBefore().plusSeconds(delta));
+                    assertLocalDateTime(zoneId, zone,
+                            transition.getDateTimeAfter().plusSeconds(delta));
+                }
+                cursor = transition.getInstant();
+            }
+
+            // 範囲内と範囲外
+            for (int count = 0; count < 5000; count++) {
+                long millis = count % 10 == 0 ? random.nextLong() / 1000
+                        : (ZoneOffsets.MIN_SECOND - 86400L * 365 + (long) (random.nextDouble()
+                                * (ZoneOffsets.MAX_SECOND - ZoneOffsets.MIN_SECOND
+                                        + 86400L * 730))) * 1000 + random.nextInt(1000);
+                assertEpochMilli(zoneId, zone, millis);
+                LocalDateTime ldt = LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), 0,
+                        ZoneOffset.UTC).withNano(random.nextInt(1000000000));
+                assertLocalDateTime(zoneId, zone, ldt);
+            }
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        ZoneOffsets zone = ZoneOffsets.of(ZoneId.of("Asia/Tokyo"));
+        assertThat(zone.toLocalDateTime(Long.MAX_VALUE),
+                is(LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.MAX_VALUE), zone.getZone())));
+        assertThat(zone.toLocalDateTime(Long.MIN_VALUE),
+                is(LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.MIN_VALUE), zone.getZone())));
+        try {
+            zone.toEpochMilli(LocalDateTime.MAX);
+            fail();
+        } catch (ArithmeticException e) {
+            assertThat(e.getMessage(), is("long overflow"));
+        }
+        try {
+            zone.toDate(LocalDateTime.MIN);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getCause(), is(instanceOf(ArithmeticException.class)));
+        }
+    }
+
+    private static void assertEpochMilli(final ZoneId zoneId, final ZoneOffsets zone,
+            final long millis) {
+        LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zoneId);
+        assertThat(zoneId + ": " + millis, zone.toLocalDateTime(millis), is(expected));
+        assertThat(zoneId + ": " + millis, zone.toLocalDateTime(new Date(millis)), is(expected));
+    }
+
+    private static void assertLocalDateTime(final ZoneId zoneId, final ZoneOffsets zone,
+            final LocalDateTime ldt) {
+        long expected = ldt.atZone(zoneId).toInstant().toEpochMilli();
+        assertThat(zoneId + ": " + ldt, zone.getOffset(ldt), is(zoneId.getRules().getOffset(ldt)));
+        assertThat(zoneId + ": " + ldt, zone.toEpochMilli(ldt), is(expected));
+        assertThat(zoneId + ": " + ldt, zone.toDate(ldt),
+                is(Date.from(ldt.atZone(zoneId).toInstant())));
+    }
+}